@@ -0,0 +1,120 @@
+package com.challenge.algorithms;
+
+import com.challenge.algorithms.stats.StatsCounter;
+
+/**
+ * LRU Cache thread-safe com lock striping.
+ * As chaves são distribuídas em segmentos independentes, cada um com seu próprio
+ * {@link LRUCache} e seu próprio lock; threads que acessam segmentos diferentes
+ * não disputam o mesmo monitor. A ordem LRU (e a remoção) é mantida por segmento,
+ * uma aproximação da LRU global que escala com o número de núcleos.
+ */
+public class ConcurrentLRUCache<K, V> {
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 64;
+    private static final int MAX_SEGMENTS = 1 << 16;
+
+    private final LRUCache<K, V>[] segments;
+    private final int segmentShift;
+    private final int capacity;
+
+    public ConcurrentLRUCache(int capacity) {
+        this(capacity, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    public ConcurrentLRUCache(int capacity, int concurrencyLevel) {
+        this(capacity, concurrencyLevel, StatsCounter.disabled());
+    }
+
+    /** Todos os segmentos registram no mesmo {@link StatsCounter}, que deve ser thread-safe. */
+    public ConcurrentLRUCache(int capacity, int concurrencyLevel, StatsCounter stats) {
+        if (capacity <= 0 || concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("capacity e concurrencyLevel devem ser positivos");
+        }
+        // Potência de 2 ≤ capacity, para que nenhum segmento fique com capacidade zero
+        int segmentCount = Math.min(
+                ceilingPowerOfTwo(Math.min(concurrencyLevel, MAX_SEGMENTS)),
+                Integer.highestOneBit(capacity));
+        // As fatias somam exatamente capacity: as primeiras capacity % segmentCount levam uma a mais
+        int segmentCapacity = capacity / segmentCount;
+        int larger = capacity % segmentCount;
+
+        this.capacity = capacity;
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        LRUCache<K, V>[] segments = new LRUCache[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new LRUCache<>(i < larger ? segmentCapacity + 1 : segmentCapacity, stats);
+        }
+        this.segments = segments;
+    }
+
+    public V get(K key) {
+        LRUCache<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    public V put(K key, V value) {
+        LRUCache<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.put(key, value);
+        }
+    }
+
+    /** Troca o valor só se o atual for {@code oldValue} (por {@code equals}), sob o lock do segmento. */
+    public boolean replace(K key, V oldValue, V newValue) {
+        LRUCache<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.replace(key, oldValue, newValue);
+        }
+    }
+
+    public V remove(K key) {
+        LRUCache<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    public boolean containsKey(K key) {
+        LRUCache<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.containsKey(key);
+        }
+    }
+
+    /** Soma dos tamanhos dos segmentos; não é um snapshot atômico. */
+    public int size() {
+        int size = 0;
+        for (LRUCache<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (LRUCache<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private LRUCache<K, V> segmentFor(K key) {
+        // Usa os bits altos de um hash multiplicativo: os bits baixos continuam
+        // livres para a distribuição em buckets do HashMap de cada segmento.
+        int h = key.hashCode() * 0x9E3779B9;
+        return segments[segmentShift == 32 ? 0 : h >>> segmentShift];
+    }
+
+    private static int ceilingPowerOfTwo(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+}
@@ -0,0 +1,179 @@
+package com.challenge.algorithms;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * LRU Cache com TTL por entrada e limite por peso.
+ * A expiração usa um {@link TimingWheel} hierárquico avançado a cada operação: o custo
+ * de limpeza é O(1) amortizado, sem varrer o mapa e sem thread de limpeza.
+ * Quando o peso total passa de {@code maxWeight}, saem as entradas menos recentes.
+ * Os métodos são {@code synchronized}.
+ */
+public class ExpiringLRUCache<K, V> {
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    private final long maxWeight;
+    private final Weigher<? super K, ? super V> weigher;
+    private final long defaultTtlNanos;
+    private final LongSupplier ticker;
+    private final long origin;
+    private final LinkedHashMap<K, Node<K, V>> data = new LinkedHashMap<>(16, 0.75f, true);
+    private final TimingWheel<Node<K, V>> wheel;
+    private long weightedSize;
+
+    /** Limite por quantidade, como {@code cache.users.max-size} e {@code cache.users.ttl}. */
+    public ExpiringLRUCache(int maxSize, long ttl, TimeUnit unit) {
+        this(maxSize, Weigher.singleton(), ttl, unit);
+    }
+
+    /** {@code ttl <= 0} desativa a expiração padrão. */
+    public ExpiringLRUCache(long maxWeight, Weigher<? super K, ? super V> weigher, long ttl, TimeUnit unit) {
+        this(maxWeight, weigher, ttl, unit, System::nanoTime);
+    }
+
+    ExpiringLRUCache(long maxWeight, Weigher<? super K, ? super V> weigher, long ttl, TimeUnit unit,
+            LongSupplier ticker) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("maxWeight deve ser positivo");
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.defaultTtlNanos = unit.toNanos(ttl);
+        this.ticker = ticker;
+        this.origin = ticker.getAsLong();
+        this.wheel = new TimingWheel<>(0, this::expire);
+    }
+
+    public synchronized V get(K key) {
+        long now = advance();
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            return null;
+        }
+        if (node.isExpiredAt(now)) {
+            removeNode(node);
+            return null;
+        }
+        return node.value;
+    }
+
+    public synchronized V put(K key, V value) {
+        return put(key, value, defaultTtlNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Insere com TTL próprio; {@code ttl <= 0} significa sem expiração. */
+    public synchronized V put(K key, V value, long ttl, TimeUnit unit) {
+        long now = advance();
+        int weight = weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("peso negativo: " + weight);
+        }
+
+        Node<K, V> previous = data.remove(key);
+        if (previous != null) {
+            detach(previous);
+        }
+        if (weight > maxWeight) {
+            // Nunca caberia: não armazena
+            return live(previous, now);
+        }
+
+        long ttlNanos = unit.toNanos(ttl);
+        Node<K, V> node = new Node<>(key, value, weight, ttlNanos > 0 ? now + ttlNanos : NO_EXPIRY);
+        data.put(key, node);
+        weightedSize += weight;
+        if (ttlNanos > 0) {
+            wheel.schedule(node, ceilTick(node.expiresAt));
+        }
+        evictIfNeeded();
+        return live(previous, now);
+    }
+
+    public synchronized V remove(K key) {
+        long now = advance();
+        Node<K, V> node = data.remove(key);
+        if (node == null) {
+            return null;
+        }
+        detach(node);
+        return live(node, now);
+    }
+
+    /** Número de entradas, incluindo as vencidas que ainda não passaram pela roda. */
+    public synchronized int size() {
+        advance();
+        return data.size();
+    }
+
+    public synchronized long weightedSize() {
+        advance();
+        return weightedSize;
+    }
+
+    /** Processa expirações pendentes sem outra operação. */
+    public synchronized void cleanUp() {
+        advance();
+    }
+
+    private long advance() {
+        long now = ticker.getAsLong();
+        wheel.advance((now - origin) / TICK_NANOS);
+        return now;
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Node<K, V>> eldest = data.values().iterator();
+        while (weightedSize > maxWeight && eldest.hasNext()) {
+            Node<K, V> node = eldest.next();
+            eldest.remove();
+            detach(node);
+        }
+    }
+
+    private void expire(Node<K, V> node) {
+        data.remove(node.key, node);
+        weightedSize -= node.weight;
+    }
+
+    private void removeNode(Node<K, V> node) {
+        data.remove(node.key);
+        detach(node);
+    }
+
+    private void detach(Node<K, V> node) {
+        wheel.cancel(node);
+        weightedSize -= node.weight;
+    }
+
+    private long ceilTick(long deadlineNanos) {
+        long elapsed = deadlineNanos - origin;
+        return (elapsed + TICK_NANOS - 1) / TICK_NANOS;
+    }
+
+    private V live(Node<K, V> node, long now) {
+        return node == null || node.isExpiredAt(now) ? null : node.value;
+    }
+
+    private static final class Node<K, V> extends TimingWheel.Timer {
+        final K key;
+        final V value;
+        final int weight;
+        final long expiresAt;
+
+        Node(K key, V value, int weight, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpiredAt(long now) {
+            return expiresAt != NO_EXPIRY && now - expiresAt >= 0;
+        }
+    }
+}
@@ -3,17 +3,63 @@ package com.challenge.algorithms;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import com.challenge.algorithms.stats.StatsCounter;
+
+/**
+ * LRU pura sobre um {@link LinkedHashMap} em ordem de acesso. Para SLRU ou W-TinyLFU, use
+ * {@link com.challenge.algorithms.eviction.PolicyCache}.
+ */
 public class LRUCache<K, V> extends LinkedHashMap<K, V> {
     private final int capacity;
+    private final transient StatsCounter stats;
+    private final boolean recordingStats;
 
     public LRUCache(int capacity) {
+        this(capacity, StatsCounter.disabled());
+    }
+
+    /** Registra hits, misses, remoções e latências em {@code stats}; com {@code disabled()} o custo é um branch. */
+    public LRUCache(int capacity, StatsCounter stats) {
         super(capacity, 0.75f, true);
         this.capacity = capacity;
+        this.stats = stats;
+        this.recordingStats = stats != StatsCounter.disabled();
+    }
+
+    @Override
+    public V get(Object key) {
+        if (!recordingStats) {
+            return super.get(key);
+        }
+        long start = System.nanoTime();
+        V value = super.get(key);
+        stats.recordGetLatency(System.nanoTime() - start);
+        if (value != null) {
+            stats.recordHits(1);
+        } else {
+            stats.recordMisses(1);
+        }
+        return value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (!recordingStats) {
+            return super.put(key, value);
+        }
+        long start = System.nanoTime();
+        V previous = super.put(key, value);
+        stats.recordPutLatency(System.nanoTime() - start);
+        return previous;
     }
 
     @Override
     protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
-        return size() > capacity;
+        boolean evict = size() > capacity;
+        if (evict && recordingStats) {
+            stats.recordEviction();
+        }
+        return evict;
     }
 
-}
\ No newline at end of file
+}
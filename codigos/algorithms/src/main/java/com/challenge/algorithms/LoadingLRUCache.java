@@ -0,0 +1,281 @@
+package com.challenge.algorithms;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import com.challenge.algorithms.stats.CacheStats;
+import com.challenge.algorithms.stats.StatsCounter;
+
+/**
+ * Cache com carregamento sob demanda ({@code get(key, loader)}) sobre um {@link ConcurrentLRUCache}.
+ * <ul>
+ * <li><b>Coalescência</b>: misses simultâneos na mesma chave compartilham um único
+ * {@link CompletableFuture} em voo — o loader roda uma vez, não uma vez por thread
+ * (evita o <i>thundering herd</i>).</li>
+ * <li><b>Expiração</b>: entradas mais velhas que {@code expireAfterWrite} são recarregadas.</li>
+ * <li><b>Refresh-ahead</b>: depois de {@code refreshAfterWrite}, a leitura devolve o valor atual
+ * e dispara uma recarga assíncrona no {@link Executor}, antes de a entrada expirar.</li>
+ * </ul>
+ * Valores {@code null} devolvidos pelo loader não são cacheados.
+ */
+public class LoadingLRUCache<K, V> {
+    private final ConcurrentLRUCache<K, Entry<V>> cache;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Set<K> refreshing = ConcurrentHashMap.newKeySet();
+    private final long expireAfterWriteNanos;
+    private final long refreshAfterWriteNanos;
+    private final Executor executor;
+    private final StatsCounter stats;
+    private final LongSupplier ticker;
+
+    public LoadingLRUCache(int capacity) {
+        this(capacity, 0, 0, TimeUnit.NANOSECONDS, ForkJoinPool.commonPool());
+    }
+
+    /** Durações {@code <= 0} desativam a expiração e/ou o refresh. */
+    public LoadingLRUCache(int capacity, long expireAfterWrite, long refreshAfterWrite, TimeUnit unit,
+            Executor executor) {
+        this(capacity, expireAfterWrite, refreshAfterWrite, unit, executor, StatsCounter.disabled());
+    }
+
+    public LoadingLRUCache(int capacity, long expireAfterWrite, long refreshAfterWrite, TimeUnit unit,
+            Executor executor, StatsCounter stats) {
+        this(capacity, expireAfterWrite, refreshAfterWrite, unit, executor, stats, System::nanoTime);
+    }
+
+    LoadingLRUCache(int capacity, long expireAfterWrite, long refreshAfterWrite, TimeUnit unit,
+            Executor executor, StatsCounter stats, LongSupplier ticker) {
+        StatsCounter segmentStats = stats == StatsCounter.disabled() ? stats : new EvictionStats(stats);
+        this.cache = new ConcurrentLRUCache<>(capacity, 64, segmentStats);
+        this.expireAfterWriteNanos = expireAfterWrite > 0 ? unit.toNanos(expireAfterWrite) : Long.MAX_VALUE;
+        this.refreshAfterWriteNanos = refreshAfterWrite > 0 ? unit.toNanos(refreshAfterWrite) : Long.MAX_VALUE;
+        this.executor = executor;
+        this.stats = stats;
+        this.ticker = ticker;
+    }
+
+    /**
+     * Retorna o valor cacheado ou o carrega na thread chamadora. Threads que chegam
+     * enquanto a carga está em andamento esperam pelo mesmo resultado.
+     * Exceções do loader são relançadas para todas as threads que esperavam.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = getIfFresh(key, loader);
+        if (value != null) {
+            return value;
+        }
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return join(existing);
+        }
+        load(key, loader, future);
+        return join(future);
+    }
+
+    /**
+     * Como {@link #get}, mas a carga roda no {@link Executor} do cache. Se o executor recusar a
+     * tarefa, o future volta completado com a exceção e a chave fica livre para a próxima carga.
+     */
+    public CompletableFuture<V> getAsync(K key, Function<? super K, ? extends V> loader) {
+        V value = getIfFresh(key, loader);
+        if (value != null) {
+            return CompletableFuture.completedFuture(value);
+        }
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing.copy();
+        }
+        try {
+            executor.execute(() -> load(key, loader, future));
+        } catch (RuntimeException rejected) {
+            // Sem isso quem se juntou a este future esperaria para sempre
+            future.completeExceptionally(rejected);
+            inFlight.remove(key, future);
+        }
+        // Cópia: quem chamou não consegue completar/cancelar o future compartilhado
+        return future.copy();
+    }
+
+    /** Valor cacheado e ainda não expirado, sem carregar nem disparar refresh. */
+    public V getIfPresent(K key) {
+        Entry<V> entry = cache.get(key);
+        if (entry == null || isExpired(entry, ticker.getAsLong())) {
+            stats.recordMisses(1);
+            return null;
+        }
+        stats.recordHits(1);
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        cache.put(key, new Entry<>(value, ticker.getAsLong()));
+    }
+
+    public void invalidate(K key) {
+        cache.remove(key);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public CacheStats stats() {
+        return stats.snapshot();
+    }
+
+    private V getIfFresh(K key, Function<? super K, ? extends V> loader) {
+        Entry<V> entry = cache.get(key);
+        long now = ticker.getAsLong();
+        if (entry == null || isExpired(entry, now)) {
+            stats.recordMisses(1);
+            return null;
+        }
+        stats.recordHits(1);
+        if (now - entry.writeTime >= refreshAfterWriteNanos) {
+            refreshAsync(key, entry, loader);
+        }
+        return entry.value;
+    }
+
+    private void load(K key, Function<? super K, ? extends V> loader, CompletableFuture<V> future) {
+        try {
+            // Outra carga pode ter terminado entre o miss e a reserva do future
+            Entry<V> cached = cache.get(key);
+            if (cached != null && !isExpired(cached, ticker.getAsLong())) {
+                future.complete(cached.value);
+                return;
+            }
+            long start = ticker.getAsLong();
+            V value;
+            try {
+                value = loader.apply(key);
+            } catch (Throwable e) {
+                stats.recordLoadFailure(ticker.getAsLong() - start);
+                future.completeExceptionally(e);
+                return;
+            }
+            long end = ticker.getAsLong();
+            stats.recordLoadSuccess(end - start);
+            if (value != null) {
+                cache.put(key, new Entry<>(value, end));
+            }
+            future.complete(value);
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Recarrega em background e só troca se a entrada ainda for {@code stale}: um {@link #put}
+     * ou {@link #invalidate} durante a recarga vence o valor recarregado.
+     */
+    private void refreshAsync(K key, Entry<V> stale, Function<? super K, ? extends V> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                long start = ticker.getAsLong();
+                try {
+                    V value = loader.apply(key);
+                    long end = ticker.getAsLong();
+                    stats.recordLoadSuccess(end - start);
+                    if (value != null) {
+                        cache.replace(key, stale, new Entry<>(value, end));
+                    }
+                } catch (RuntimeException e) {
+                    // Mantém o valor antigo; a próxima leitura tenta de novo
+                    stats.recordLoadFailure(ticker.getAsLong() - start);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RuntimeException rejected) {
+            refreshing.remove(key);
+        }
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return now - entry.writeTime >= expireAfterWriteNanos;
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long writeTime;
+
+        Entry(V value, long writeTime) {
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+
+    /**
+     * Repassa ao contador do cache só as remoções do {@link ConcurrentLRUCache} interno;
+     * hits e misses são contados aqui, já considerando a expiração.
+     */
+    private static final class EvictionStats implements StatsCounter {
+        private final StatsCounter delegate;
+
+        EvictionStats(StatsCounter delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void recordHits(int count) {
+        }
+
+        @Override
+        public void recordMisses(int count) {
+        }
+
+        @Override
+        public void recordEviction() {
+            delegate.recordEviction();
+        }
+
+        @Override
+        public void recordLoadSuccess(long loadTimeNanos) {
+        }
+
+        @Override
+        public void recordLoadFailure(long loadTimeNanos) {
+        }
+
+        @Override
+        public void recordGetLatency(long nanos) {
+        }
+
+        @Override
+        public void recordPutLatency(long nanos) {
+        }
+
+        @Override
+        public CacheStats snapshot() {
+            return delegate.snapshot();
+        }
+    }
+}
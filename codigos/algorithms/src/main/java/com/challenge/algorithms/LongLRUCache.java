@@ -0,0 +1,196 @@
+package com.challenge.algorithms;
+
+/**
+ * LRU Cache especializado para chaves {@code long} e valores objeto, sem boxing da chave.
+ * As entradas vivem em arrays paralelos ({@code keys}, {@code values}, {@code prev}, {@code next})
+ * indexados por nó, formando uma lista duplamente ligada por índices; a busca usa uma tabela
+ * hash de endereçamento aberto (linear probing) que guarda o índice do nó.
+ * Depois da construção, {@code get}/{@code put} não alocam nada. Não é thread-safe.
+ */
+public class LongLRUCache<V> {
+    private static final int NIL = -1;
+
+    private final int capacity;
+    private final long[] keys;
+    private final Object[] values;
+    private final int[] prev;
+    private final int[] next;
+    /** Índice do nó + 1; 0 indica slot vazio. */
+    private final int[] table;
+    private final int mask;
+
+    private int head = NIL; // mais recentemente usado
+    private int tail = NIL; // menos recentemente usado
+    private int freeHead;
+    private int size;
+
+    public LongLRUCache(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 28) {
+            throw new IllegalArgumentException("capacity fora do intervalo: " + capacity);
+        }
+        this.capacity = capacity;
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.prev = new int[capacity];
+        this.next = new int[capacity];
+        // Fator de carga ≤ 0.5 mantém as sequências de probing curtas
+        this.table = new int[Integer.highestOneBit(capacity) << 2];
+        this.mask = table.length - 1;
+
+        // Lista de nós livres encadeada pelo próprio array next
+        for (int i = 0; i < capacity - 1; i++) {
+            next[i] = i + 1;
+        }
+        next[capacity - 1] = NIL;
+        this.freeHead = 0;
+    }
+
+    /** Retorna o valor associado à chave, ou {@code null} se ausente. */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int slot = findSlot(key);
+        if (slot == NIL) {
+            return null;
+        }
+        int node = table[slot] - 1;
+        moveToHead(node);
+        return (V) values[node];
+    }
+
+    public boolean containsKey(long key) {
+        return findSlot(key) != NIL;
+    }
+
+    public void put(long key, V value) {
+        int slot = findSlot(key);
+        if (slot != NIL) {
+            int node = table[slot] - 1;
+            values[node] = value;
+            moveToHead(node);
+            return;
+        }
+        if (freeHead == NIL) {
+            evictEldest();
+        }
+        int node = freeHead;
+        freeHead = next[node];
+
+        keys[node] = key;
+        values[node] = value;
+        linkAtHead(node);
+        size++;
+
+        int i = indexFor(key);
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = node + 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int slot = findSlot(key);
+        if (slot == NIL) {
+            return null;
+        }
+        int node = table[slot] - 1;
+        V value = (V) values[node];
+        deleteSlot(slot);
+        release(node);
+        return value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private void evictEldest() {
+        int node = tail;
+        deleteSlot(findSlot(keys[node]));
+        release(node);
+    }
+
+    private void release(int node) {
+        unlink(node);
+        values[node] = null; // libera o valor para o GC
+        next[node] = freeHead;
+        freeHead = node;
+        size--;
+    }
+
+    private int findSlot(long key) {
+        int i = indexFor(key);
+        int t;
+        while ((t = table[i]) != 0) {
+            if (keys[t - 1] == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return NIL;
+    }
+
+    /**
+     * Remoção com backward shift: em vez de deixar uma lápide, puxa para trás as
+     * entradas seguintes do cluster que podem ocupar o buraco.
+     */
+    private void deleteSlot(int slot) {
+        int hole = slot;
+        int i = slot;
+        while (true) {
+            i = (i + 1) & mask;
+            int t = table[i];
+            if (t == 0) {
+                break;
+            }
+            int home = indexFor(keys[t - 1]);
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                table[hole] = t;
+                hole = i;
+            }
+        }
+        table[hole] = 0;
+    }
+
+    private int indexFor(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    private void moveToHead(int node) {
+        if (node != head) {
+            unlink(node);
+            linkAtHead(node);
+        }
+    }
+
+    private void linkAtHead(int node) {
+        prev[node] = NIL;
+        next[node] = head;
+        if (head != NIL) {
+            prev[head] = node;
+        }
+        head = node;
+        if (tail == NIL) {
+            tail = node;
+        }
+    }
+
+    private void unlink(int node) {
+        int p = prev[node];
+        int n = next[node];
+        if (p != NIL) {
+            next[p] = n;
+        } else {
+            head = n;
+        }
+        if (n != NIL) {
+            prev[n] = p;
+        } else {
+            tail = p;
+        }
+    }
+}
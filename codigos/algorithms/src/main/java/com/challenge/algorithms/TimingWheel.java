@@ -0,0 +1,165 @@
+package com.challenge.algorithms;
+
+import java.util.function.Consumer;
+
+/**
+ * Timing wheel hierárquico (5 níveis × 64 buckets) para expiração em O(1).
+ * O nível 0 tem um bucket por tick; cada nível acima cobre 64× o intervalo do anterior.
+ * Timers distantes ficam nos níveis altos e descem em cascata quando o tempo chega
+ * perto do prazo. Um bitmap de ocupação por nível permite pular trechos vazios, então
+ * o custo de {@link #advance} é proporcional aos timers vencidos, não ao tempo decorrido.
+ * Os timers são intrusivos (o próprio elemento é o nó da lista): agendar e cancelar
+ * não alocam. Não é thread-safe.
+ */
+class TimingWheel<T extends TimingWheel.Timer> {
+    private static final int BUCKET_BITS = 6;
+    private static final int BUCKETS = 1 << BUCKET_BITS;
+    private static final int LEVELS = 5;
+    private static final long MAX_DELAY_TICKS = (1L << (BUCKET_BITS * LEVELS)) - 1;
+
+    /** Nó intrusivo: quem quiser ser agendado estende esta classe. */
+    abstract static class Timer {
+        long deadlineTick;
+        Timer prev;
+        Timer next;
+        int level = -1;
+        int bucket;
+
+        boolean isScheduled() {
+            return level >= 0;
+        }
+    }
+
+    private static final class Sentinel extends Timer {
+    }
+
+    private final Timer[][] buckets = new Timer[LEVELS][BUCKETS];
+    private final long[] occupancy = new long[LEVELS];
+    private final Consumer<T> onExpire;
+    private long currentTick;
+
+    TimingWheel(long startTick, Consumer<T> onExpire) {
+        this.currentTick = startTick;
+        this.onExpire = onExpire;
+        for (Timer[] level : buckets) {
+            for (int i = 0; i < BUCKETS; i++) {
+                Timer sentinel = new Sentinel();
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                level[i] = sentinel;
+            }
+        }
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    /** Agenda o timer para {@code deadlineTick}; prazos já vencidos expiram na hora. */
+    void schedule(T timer, long deadlineTick) {
+        cancel(timer);
+        timer.deadlineTick = deadlineTick;
+        place(timer);
+    }
+
+    void cancel(Timer timer) {
+        if (!timer.isScheduled()) {
+            return;
+        }
+        timer.prev.next = timer.next;
+        timer.next.prev = timer.prev;
+        Timer sentinel = buckets[timer.level][timer.bucket];
+        if (sentinel.next == sentinel) {
+            occupancy[timer.level] &= ~(1L << timer.bucket);
+        }
+        timer.prev = null;
+        timer.next = null;
+        timer.level = -1;
+    }
+
+    /** Avança o relógio até {@code nowTick}, expirando os timers vencidos. */
+    void advance(long nowTick) {
+        while (currentTick < nowTick) {
+            long next = currentTick + 1;
+            // Pula de fronteira em fronteira enquanto os níveis de baixo estiverem vazios
+            int level = 0;
+            while (level < LEVELS && occupancy[level] == 0) {
+                level++;
+            }
+            if (level == LEVELS) {
+                currentTick = nowTick;
+                return;
+            }
+            if (level > 0) {
+                long span = 1L << (BUCKET_BITS * level);
+                next = Math.min(nowTick, (currentTick & -span) + span);
+            }
+            currentTick = next;
+            if (next == nowTick && level > 0 && (next & ((1L << (BUCKET_BITS * level)) - 1)) != 0) {
+                return;
+            }
+            processTick(next);
+        }
+    }
+
+    private void processTick(long tick) {
+        // Cascata dos níveis altos para os baixos, depois expira o bucket do nível 0
+        for (int level = LEVELS - 1; level > 0; level--) {
+            long span = 1L << (BUCKET_BITS * level);
+            if ((tick & (span - 1)) == 0) {
+                cascade(level, (int) ((tick >>> (BUCKET_BITS * level)) & (BUCKETS - 1)));
+            }
+        }
+        expireBucket((int) (tick & (BUCKETS - 1)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void cascade(int level, int bucket) {
+        Timer sentinel = buckets[level][bucket];
+        Timer timer = sentinel.next;
+        sentinel.prev = sentinel;
+        sentinel.next = sentinel;
+        occupancy[level] &= ~(1L << bucket);
+        while (timer != sentinel) {
+            Timer next = timer.next;
+            timer.level = -1;
+            place((T) timer);
+            timer = next;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void expireBucket(int bucket) {
+        Timer sentinel = buckets[0][bucket];
+        while (sentinel.next != sentinel) {
+            Timer timer = sentinel.next;
+            cancel(timer);
+            onExpire.accept((T) timer);
+        }
+    }
+
+    private void place(T timer) {
+        long delay = timer.deadlineTick - currentTick;
+        if (delay <= 0) {
+            timer.level = -1;
+            onExpire.accept(timer);
+            return;
+        }
+        // Prazos além do alcance da roda ficam no último nível e são reposicionados na cascata
+        long tick = currentTick + Math.min(delay, MAX_DELAY_TICKS);
+        int level = 0;
+        while (delay >= 1L << (BUCKET_BITS * (level + 1)) && level < LEVELS - 1) {
+            level++;
+        }
+        int bucket = (int) ((tick >>> (BUCKET_BITS * level)) & (BUCKETS - 1));
+
+        Timer sentinel = buckets[level][bucket];
+        timer.level = level;
+        timer.bucket = bucket;
+        timer.prev = sentinel.prev;
+        timer.next = sentinel;
+        sentinel.prev.next = timer;
+        sentinel.prev = timer;
+        occupancy[level] |= 1L << bucket;
+    }
+}
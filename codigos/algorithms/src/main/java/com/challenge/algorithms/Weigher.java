@@ -0,0 +1,13 @@
+package com.challenge.algorithms;
+
+/** Calcula o peso de uma entrada para caches limitados por peso em vez de quantidade. */
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    int weigh(K key, V value);
+
+    /** Cada entrada pesa 1: o limite de peso vira limite de quantidade. */
+    static <K, V> Weigher<K, V> singleton() {
+        return (key, value) -> 1;
+    }
+}
@@ -0,0 +1,106 @@
+package com.challenge.algorithms.eviction;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Simulador dirigido por trace: reproduz uma sequência de acessos em cada política e
+ * reporta a taxa de acerto (hit ratio). Em cada miss a chave é inserida, como faria
+ * um cache-aside.
+ *
+ * <pre>
+ * java com.challenge.algorithms.eviction.CacheSimulator &lt;capacidade&gt; [trace.txt ...]
+ * </pre>
+ *
+ * O trace tem uma chave por linha (o primeiro campo da linha; linhas com {@code #} são
+ * ignoradas). Sem arquivos, usa um trace sintético Zipf intercalado com varreduras.
+ */
+public class CacheSimulator {
+
+    public static void main(String[] args) throws IOException {
+        int capacity = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        List<String> trace = new ArrayList<>();
+        if (args.length > 1) {
+            for (int i = 1; i < args.length; i++) {
+                trace.addAll(readTrace(Path.of(args[i])));
+            }
+        } else {
+            trace = syntheticTrace(1_000_000, capacity * 10, 42);
+        }
+
+        System.out.printf("Trace: %,d acessos, capacidade %,d%n", trace.size(), capacity);
+        System.out.printf("%-12s %12s %12s %10s%n", "Política", "Hits", "Misses", "Hit ratio");
+        for (Map.Entry<String, IntFunction<EvictionPolicy<String>>> policy : policies().entrySet()) {
+            long hits = replay(trace, new PolicyCache<>(policy.getValue().apply(capacity)));
+            long misses = trace.size() - hits;
+            System.out.printf("%-12s %,12d %,12d %9.2f%%%n",
+                    policy.getKey(), hits, misses, 100.0 * hits / trace.size());
+        }
+    }
+
+    public static Map<String, IntFunction<EvictionPolicy<String>>> policies() {
+        Map<String, IntFunction<EvictionPolicy<String>>> policies = new LinkedHashMap<>();
+        policies.put("LRU", EvictionPolicy::lru);
+        policies.put("SLRU", EvictionPolicy::slru);
+        policies.put("W-TinyLFU", EvictionPolicy::windowTinyLfu);
+        return policies;
+    }
+
+    /** Reproduz o trace e retorna o número de hits. */
+    public static <K> long replay(Iterable<K> trace, PolicyCache<K, Boolean> cache) {
+        long hits = 0;
+        for (K key : trace) {
+            if (cache.get(key) != null) {
+                hits++;
+            } else {
+                cache.put(key, Boolean.TRUE);
+            }
+        }
+        return hits;
+    }
+
+    static List<String> readTrace(Path file) throws IOException {
+        try (Stream<String> lines = Files.lines(file)) {
+            return lines.map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .map(line -> line.split("\\s+", 2)[0])
+                    .toList();
+        }
+    }
+
+    /**
+     * Acessos com distribuição Zipf (s = 0.9) sobre {@code keySpace} chaves e, a cada
+     * 50 mil acessos, uma varredura de 20 mil chaves únicas (como um job em lote).
+     */
+    public static List<String> syntheticTrace(int length, int keySpace, long seed) {
+        Random random = new Random(seed);
+        double[] cdf = new double[keySpace];
+        double sum = 0;
+        for (int i = 0; i < keySpace; i++) {
+            sum += 1.0 / Math.pow(i + 1, 0.9);
+            cdf[i] = sum;
+        }
+
+        List<String> trace = new ArrayList<>(length);
+        int scanId = 0;
+        while (trace.size() < length) {
+            for (int i = 0; i < 50_000 && trace.size() < length; i++) {
+                int index = Arrays.binarySearch(cdf, random.nextDouble() * sum);
+                trace.add("k" + (index < 0 ? -index - 1 : index));
+            }
+            for (int i = 0; i < 20_000 && trace.size() < length; i++) {
+                trace.add("scan" + scanId++);
+            }
+        }
+        return trace;
+    }
+}
@@ -0,0 +1,37 @@
+package com.challenge.algorithms.eviction;
+
+/**
+ * Política de remoção plugável para {@link PolicyCache}.
+ * A política só conhece as chaves: o cache informa acessos, inserções e remoções,
+ * e a política decide qual chave sai quando a capacidade é excedida.
+ */
+public interface EvictionPolicy<K> {
+
+    /** Chave presente no cache foi lida ou sobrescrita. */
+    void onHit(K key);
+
+    /** Chave buscada não estava no cache (útil para estimar frequência). */
+    default void onMiss(K key) {
+    }
+
+    /**
+     * Registra uma chave nova. Retorna a chave que deve deixar o cache — que pode ser
+     * a própria chave, se a política não a admitir — ou {@code null} se ainda há espaço.
+     */
+    K onInsert(K key);
+
+    /** Chave removida explicitamente do cache. */
+    void onRemove(K key);
+
+    static <K> EvictionPolicy<K> lru(int capacity) {
+        return new LruPolicy<>(capacity);
+    }
+
+    static <K> EvictionPolicy<K> slru(int capacity) {
+        return new SlruPolicy<>(capacity);
+    }
+
+    static <K> EvictionPolicy<K> windowTinyLfu(int capacity) {
+        return new WindowTinyLfuPolicy<>(capacity);
+    }
+}
@@ -0,0 +1,81 @@
+package com.challenge.algorithms.eviction;
+
+/**
+ * Count-Min Sketch com contadores de 4 bits (16 por {@code long}) para estimar a
+ * frequência de acesso de uma chave em memória constante.
+ * Cada chave mapeia para 4 contadores; a estimativa é o menor deles. Depois de
+ * {@code 10 × capacidade} incrementos todos os contadores são divididos por 2 (aging),
+ * para que a popularidade antiga não domine para sempre.
+ */
+public class FrequencySketch<K> {
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    public FrequencySketch(int capacity) {
+        int counters = Math.min(Math.max(1, capacity), 1 << 30);
+        this.table = new long[Integer.highestOneBit((counters - 1) | 1) << 1];
+        this.tableMask = table.length - 1;
+        this.sampleSize = Math.max(10 * capacity, 10);
+    }
+
+    /** Frequência estimada (0 a 15) da chave. */
+    public int frequency(K key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            frequency = Math.min(frequency, counterAt(h));
+        }
+        return frequency;
+    }
+
+    public void increment(K key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            added |= incrementAt(h);
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private int counterAt(long h) {
+        int index = (int) (h >>> 32) & tableMask;
+        int offset = ((int) h >>> 28) << 2; // contador 0..15 dentro do long
+        return (int) ((table[index] >>> offset) & 0xFL);
+    }
+
+    private boolean incrementAt(long h) {
+        int index = (int) (h >>> 32) & tableMask;
+        int offset = ((int) h >>> 28) << 2;
+        long mask = 0xFL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    /** Divide todos os contadores por 2 de uma vez: desloca e descarta o bit que vazou do vizinho. */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
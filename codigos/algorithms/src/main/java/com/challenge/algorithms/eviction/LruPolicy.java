@@ -0,0 +1,41 @@
+package com.challenge.algorithms.eviction;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+/** LRU clássica: remove a chave acessada há mais tempo. */
+public class LruPolicy<K> implements EvictionPolicy<K> {
+    private final int capacity;
+    private final LinkedHashSet<K> order = new LinkedHashSet<>();
+
+    public LruPolicy(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity deve ser positiva");
+        }
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void onHit(K key) {
+        // Reinserir move a chave para o fim (mais recente)
+        order.remove(key);
+        order.add(key);
+    }
+
+    @Override
+    public K onInsert(K key) {
+        order.add(key);
+        if (order.size() <= capacity) {
+            return null;
+        }
+        Iterator<K> eldest = order.iterator();
+        K victim = eldest.next();
+        eldest.remove();
+        return victim;
+    }
+
+    @Override
+    public void onRemove(K key) {
+        order.remove(key);
+    }
+}
@@ -0,0 +1,58 @@
+package com.challenge.algorithms.eviction;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache limitado cuja remoção é decidida por uma {@link EvictionPolicy} plugável
+ * (LRU, SLRU ou W-TinyLFU). Não é thread-safe, assim como {@code LRUCache}.
+ */
+public class PolicyCache<K, V> {
+    private final Map<K, V> data = new HashMap<>();
+    private final EvictionPolicy<K> policy;
+
+    public PolicyCache(EvictionPolicy<K> policy) {
+        this.policy = policy;
+    }
+
+    public V get(K key) {
+        V value = data.get(key);
+        if (value != null) {
+            policy.onHit(key);
+        } else {
+            policy.onMiss(key);
+        }
+        return value;
+    }
+
+    public V put(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        V previous = data.put(key, value);
+        if (previous != null) {
+            policy.onHit(key);
+            return previous;
+        }
+        K victim = policy.onInsert(key);
+        if (victim != null) {
+            data.remove(victim);
+        }
+        return null;
+    }
+
+    public V remove(K key) {
+        V value = data.remove(key);
+        if (value != null) {
+            policy.onRemove(key);
+        }
+        return value;
+    }
+
+    public boolean containsKey(K key) {
+        return data.containsKey(key);
+    }
+
+    public int size() {
+        return data.size();
+    }
+}
@@ -0,0 +1,67 @@
+package com.challenge.algorithms.eviction;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+/**
+ * Estrutura SLRU compartilhada pelas políticas: segmento de prova (probation) para
+ * chaves novas e segmento protegido para chaves acessadas mais de uma vez.
+ * Quando o protegido enche, sua chave mais antiga é rebaixada para o probation.
+ */
+class SegmentedLru<K> {
+    private final int protectedCapacity;
+    private final LinkedHashSet<K> probation = new LinkedHashSet<>();
+    private final LinkedHashSet<K> protectedSegment = new LinkedHashSet<>();
+
+    SegmentedLru(int protectedCapacity) {
+        this.protectedCapacity = protectedCapacity;
+    }
+
+    boolean contains(K key) {
+        return probation.contains(key) || protectedSegment.contains(key);
+    }
+
+    int size() {
+        return probation.size() + protectedSegment.size();
+    }
+
+    void addToProbation(K key) {
+        probation.add(key);
+    }
+
+    /** Promove para o protegido (ou renova a posição, se já estiver lá). */
+    void access(K key) {
+        if (protectedSegment.remove(key)) {
+            protectedSegment.add(key);
+            return;
+        }
+        if (!probation.remove(key)) {
+            return;
+        }
+        protectedSegment.add(key);
+        if (protectedSegment.size() > protectedCapacity) {
+            probation.add(removeEldest(protectedSegment));
+        }
+    }
+
+    /** Próxima vítima: a chave mais antiga do probation, ou do protegido se o probation estiver vazio. */
+    K peekVictim() {
+        if (!probation.isEmpty()) {
+            return probation.iterator().next();
+        }
+        return protectedSegment.isEmpty() ? null : protectedSegment.iterator().next();
+    }
+
+    void remove(K key) {
+        if (!probation.remove(key)) {
+            protectedSegment.remove(key);
+        }
+    }
+
+    private static <K> K removeEldest(LinkedHashSet<K> segment) {
+        Iterator<K> eldest = segment.iterator();
+        K key = eldest.next();
+        eldest.remove();
+        return key;
+    }
+}
@@ -0,0 +1,41 @@
+package com.challenge.algorithms.eviction;
+
+/**
+ * Segmented LRU: chaves vistas uma única vez ficam no segmento de prova e são as
+ * primeiras a sair, então uma varredura não expulsa as chaves populares (protegidas).
+ */
+public class SlruPolicy<K> implements EvictionPolicy<K> {
+    private static final double PROTECTED_RATIO = 0.8;
+
+    private final int capacity;
+    private final SegmentedLru<K> segments;
+
+    public SlruPolicy(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity deve ser positiva");
+        }
+        this.capacity = capacity;
+        this.segments = new SegmentedLru<>((int) (capacity * PROTECTED_RATIO));
+    }
+
+    @Override
+    public void onHit(K key) {
+        segments.access(key);
+    }
+
+    @Override
+    public K onInsert(K key) {
+        segments.addToProbation(key);
+        if (segments.size() <= capacity) {
+            return null;
+        }
+        K victim = segments.peekVictim();
+        segments.remove(victim);
+        return victim;
+    }
+
+    @Override
+    public void onRemove(K key) {
+        segments.remove(key);
+    }
+}
@@ -0,0 +1,77 @@
+package com.challenge.algorithms.eviction;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+/**
+ * W-TinyLFU: uma pequena janela LRU (1% da capacidade) recebe as chaves novas e
+ * absorve rajadas de recência; o restante é um SLRU principal protegido por um filtro
+ * de admissão TinyLFU. Quando uma chave sai da janela, ela só entra no SLRU se sua
+ * frequência estimada ({@link FrequencySketch}) for maior que a da vítima do SLRU —
+ * chaves vistas uma única vez (varreduras) não expulsam as populares.
+ */
+public class WindowTinyLfuPolicy<K> implements EvictionPolicy<K> {
+    private static final double WINDOW_RATIO = 0.01;
+    private static final double PROTECTED_RATIO = 0.8;
+
+    private final int windowCapacity;
+    private final int mainCapacity;
+    private final LinkedHashSet<K> window = new LinkedHashSet<>();
+    private final SegmentedLru<K> main;
+    private final FrequencySketch<K> sketch;
+
+    public WindowTinyLfuPolicy(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity deve ser pelo menos 2");
+        }
+        this.windowCapacity = Math.max(1, (int) (capacity * WINDOW_RATIO));
+        this.mainCapacity = capacity - windowCapacity;
+        this.main = new SegmentedLru<>((int) (mainCapacity * PROTECTED_RATIO));
+        this.sketch = new FrequencySketch<>(capacity);
+    }
+
+    @Override
+    public void onHit(K key) {
+        sketch.increment(key);
+        if (window.remove(key)) {
+            window.add(key);
+        } else {
+            main.access(key);
+        }
+    }
+
+    @Override
+    public void onMiss(K key) {
+        sketch.increment(key);
+    }
+
+    @Override
+    public K onInsert(K key) {
+        window.add(key);
+        if (window.size() <= windowCapacity) {
+            return null;
+        }
+        Iterator<K> eldest = window.iterator();
+        K candidate = eldest.next();
+        eldest.remove();
+
+        if (main.size() < mainCapacity) {
+            main.addToProbation(candidate);
+            return null;
+        }
+        K victim = main.peekVictim();
+        if (sketch.frequency(candidate) > sketch.frequency(victim)) {
+            main.remove(victim);
+            main.addToProbation(candidate);
+            return victim;
+        }
+        return candidate;
+    }
+
+    @Override
+    public void onRemove(K key) {
+        if (!window.remove(key)) {
+            main.remove(key);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.challenge.algorithms.offheap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Região de memória fora do heap, dividida em páginas de tamanho fixo.
+ * Um {@link ByteBuffer} é limitado a 2 GB, então a arena é composta por regiões de
+ * 1 GB criadas sob demanda — diretas ({@code allocateDirect}) ou mapeadas de um arquivo.
+ * Endereços são {@code long} globais: {@code região << 30 | offset}.
+ */
+class MemoryArena implements AutoCloseable {
+    static final int REGION_BITS = 30;
+    private static final long REGION_MASK = (1L << REGION_BITS) - 1;
+
+    private final long capacity;
+    private final int pageSize;
+    private final ByteBuffer[] regions;
+    private final FileChannel channel;
+    private long nextPage;
+    private long[] freePages = new long[16];
+    private int freePageCount;
+
+    private MemoryArena(long capacity, int pageSize, FileChannel channel) {
+        if (Integer.bitCount(pageSize) != 1 || pageSize > 1 << REGION_BITS) {
+            throw new IllegalArgumentException("pageSize deve ser potência de 2 até 1 GB");
+        }
+        if (capacity < pageSize) {
+            throw new IllegalArgumentException("capacity menor que uma página");
+        }
+        this.capacity = capacity - capacity % pageSize;
+        this.pageSize = pageSize;
+        this.regions = new ByteBuffer[(int) ((this.capacity + REGION_MASK) >>> REGION_BITS)];
+        this.channel = channel;
+    }
+
+    static MemoryArena direct(long capacity, int pageSize) {
+        return new MemoryArena(capacity, pageSize, null);
+    }
+
+    static MemoryArena mapped(Path file, long capacity, int pageSize) {
+        try {
+            FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new MemoryArena(capacity, pageSize, channel);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    int pageSize() {
+        return pageSize;
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    /** Reserva uma página livre (primeiro as devolvidas); retorna o endereço ou -1 se a arena está cheia. */
+    long allocatePage() {
+        if (freePageCount > 0) {
+            return freePages[--freePageCount];
+        }
+        long address = nextPage * pageSize;
+        if (address >= capacity) {
+            return -1;
+        }
+        nextPage++;
+        int region = (int) (address >>> REGION_BITS);
+        if (regions[region] == null) {
+            regions[region] = createRegion(region);
+        }
+        return address;
+    }
+
+    /** Devolve uma página reservada por {@link #allocatePage()}; a região continua alocada. */
+    void freePage(long address) {
+        if (freePageCount == freePages.length) {
+            freePages = Arrays.copyOf(freePages, freePages.length * 2);
+        }
+        freePages[freePageCount++] = address;
+    }
+
+    void write(long address, byte[] src, int length) {
+        region(address).put(offset(address), src, 0, length);
+    }
+
+    void write(long address, ByteBuffer src, int length) {
+        region(address).put(offset(address), src, src.position(), length);
+    }
+
+    void read(long address, byte[] dst, int length) {
+        region(address).get(offset(address), dst, 0, length);
+    }
+
+    void read(long address, ByteBuffer dst, int length) {
+        dst.put(dst.position(), region(address), offset(address), length);
+        dst.position(dst.position() + length);
+    }
+
+    @Override
+    public void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private ByteBuffer createRegion(int region) {
+        long start = (long) region << REGION_BITS;
+        int size = (int) Math.min(1L << REGION_BITS, capacity - start);
+        if (channel == null) {
+            return ByteBuffer.allocateDirect(size);
+        }
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, start, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ByteBuffer region(long address) {
+        return regions[(int) (address >>> REGION_BITS)];
+    }
+
+    private static int offset(long address) {
+        return (int) (address & REGION_MASK);
+    }
+}
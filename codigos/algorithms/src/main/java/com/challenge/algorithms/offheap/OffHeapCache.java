@@ -0,0 +1,257 @@
+package com.challenge.algorithms.offheap;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache LRU de valores binários armazenados fora do heap.
+ * Os bytes ficam numa {@link MemoryArena} (memória direta ou arquivo mapeado) gerenciada
+ * por um {@link SlabAllocator}; no heap fica apenas o índice chave → (endereço, tamanho).
+ * Assim é possível cachear dezenas de GB sem aumentar o heap nem as pausas de GC.
+ * A ordem LRU é mantida por classe de slab. Quando uma classe não tem mais chunks nem
+ * páginas livres, sai a entrada menos recente do cache inteiro: se for da mesma classe, o
+ * chunk dela é reaproveitado; se for de outra, a página dela é esvaziada (as entradas que
+ * moram nela saem juntas) e volta para a arena, de onde a classe que precisa a fatia.
+ */
+public class OffHeapCache<K> implements AutoCloseable {
+    static final int DEFAULT_PAGE_SIZE = 1 << 20;
+
+    private final MemoryArena arena;
+    private final SlabAllocator allocator;
+    private final Map<K, Entry<K>> index = new HashMap<>();
+    /** Sentinela da lista LRU de cada classe de slab. */
+    private final List<Entry<K>> lru;
+    private long usedBytes;
+    /** Relógio lógico de acessos, para comparar a idade das entradas de classes diferentes. */
+    private long clock;
+
+    OffHeapCache(MemoryArena arena) {
+        this.arena = arena;
+        this.allocator = new SlabAllocator(arena);
+        this.lru = new ArrayList<>(allocator.slabClasses());
+        for (int i = 0; i < allocator.slabClasses(); i++) {
+            Entry<K> sentinel = new Entry<>(null, -1, 0, i);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            lru.add(sentinel);
+        }
+    }
+
+    /** Cache em memória direta ({@code ByteBuffer.allocateDirect}), limitada por {@code -XX:MaxDirectMemorySize}. */
+    public static <K> OffHeapCache<K> direct(long capacityBytes) {
+        return new OffHeapCache<>(MemoryArena.direct(capacityBytes, DEFAULT_PAGE_SIZE));
+    }
+
+    /** Cache em arquivo mapeado: o sistema operacional pagina os dados entre RAM e disco. */
+    public static <K> OffHeapCache<K> mapped(Path file, long capacityBytes) {
+        return new OffHeapCache<>(MemoryArena.mapped(file, capacityBytes, DEFAULT_PAGE_SIZE));
+    }
+
+    /**
+     * Armazena uma cópia do valor, removendo as entradas menos recentes se faltar espaço.
+     * Retorna false só se nem com o cache vazio houver espaço para ele.
+     *
+     * @throws IllegalArgumentException se o valor for maior que uma página
+     */
+    public synchronized boolean put(K key, byte[] value) {
+        long address = reserve(key, value.length);
+        if (address < 0) {
+            return false;
+        }
+        arena.write(address, value, value.length);
+        return true;
+    }
+
+    /** Armazena os bytes entre {@code position} e {@code limit}, sem alterar a posição do buffer. */
+    public synchronized boolean put(K key, ByteBuffer value) {
+        int length = value.remaining();
+        long address = reserve(key, length);
+        if (address < 0) {
+            return false;
+        }
+        arena.write(address, value, length);
+        return true;
+    }
+
+    /** Cópia do valor no heap, ou null se ausente. */
+    public synchronized byte[] get(K key) {
+        Entry<K> entry = index.get(key);
+        if (entry == null) {
+            return null;
+        }
+        touch(entry);
+        byte[] value = new byte[entry.length];
+        arena.read(entry.address, value, entry.length);
+        return value;
+    }
+
+    /**
+     * Copia o valor para {@code target} (avançando sua posição) sem alocar no heap.
+     * Retorna o tamanho do valor, ou -1 se ausente.
+     *
+     * @throws BufferOverflowException se {@code target} não tiver espaço
+     */
+    public synchronized int read(K key, ByteBuffer target) {
+        Entry<K> entry = index.get(key);
+        if (entry == null) {
+            return -1;
+        }
+        if (target.remaining() < entry.length) {
+            throw new BufferOverflowException();
+        }
+        touch(entry);
+        arena.read(entry.address, target, entry.length);
+        return entry.length;
+    }
+
+    public synchronized boolean remove(K key) {
+        Entry<K> entry = index.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        release(entry);
+        return true;
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /** Bytes ocupados pelos chunks em uso (inclui a sobra interna de cada chunk). */
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    public long capacityBytes() {
+        return arena.capacity();
+    }
+
+    @Override
+    public synchronized void close() {
+        index.clear();
+        arena.close();
+    }
+
+    private long reserve(K key, int length) {
+        int slabClass = allocator.slabClass(length);
+        if (slabClass < 0) {
+            throw new IllegalArgumentException("valor de " + length + " bytes maior que a página");
+        }
+        Entry<K> existing = index.get(key);
+        if (existing != null && existing.slabClass == slabClass) {
+            // Mesmo tamanho de chunk: sobrescreve no lugar
+            existing.length = length;
+            touch(existing);
+            return existing.address;
+        }
+
+        long address = allocator.allocate(slabClass);
+        if (address < 0 && existing != null) {
+            // Sai antes de abrir espaço, para não ser escolhida (ou ter a página esvaziada) no meio
+            evict(existing);
+            existing = null;
+        }
+        while (address < 0) {
+            Entry<K> eldest = eldest();
+            if (eldest == null) {
+                return -1;
+            }
+            if (eldest.slabClass == slabClass) {
+                evict(eldest);
+            } else {
+                evictPage(eldest);
+            }
+            address = allocator.allocate(slabClass);
+        }
+        if (existing != null) {
+            evict(existing);
+        }
+
+        Entry<K> entry = new Entry<>(key, address, length, slabClass);
+        index.put(key, entry);
+        linkFirst(entry);
+        usedBytes += allocator.chunkSize(slabClass);
+        return address;
+    }
+
+    /** A entrada menos recente entre as caudas de todas as classes, ou null se o cache está vazio. */
+    private Entry<K> eldest() {
+        Entry<K> eldest = null;
+        for (Entry<K> sentinel : lru) {
+            Entry<K> tail = sentinel.prev;
+            if (tail != sentinel && (eldest == null || tail.lastAccess < eldest.lastAccess)) {
+                eldest = tail;
+            }
+        }
+        return eldest;
+    }
+
+    /**
+     * Remove todas as entradas que moram na página de {@code victim}; sem chunk em uso, a
+     * página volta para a arena. Percorre a LRU da classe: acontece uma vez por página movida.
+     */
+    private void evictPage(Entry<K> victim) {
+        int page = allocator.page(victim.address);
+        Entry<K> sentinel = lru.get(victim.slabClass);
+        for (Entry<K> e = sentinel.prev; e != sentinel;) {
+            Entry<K> prev = e.prev;
+            if (allocator.page(e.address) == page) {
+                evict(e);
+            }
+            e = prev;
+        }
+    }
+
+    private void evict(Entry<K> entry) {
+        index.remove(entry.key);
+        release(entry);
+    }
+
+    private void release(Entry<K> entry) {
+        unlink(entry);
+        allocator.free(entry.slabClass, entry.address);
+        usedBytes -= allocator.chunkSize(entry.slabClass);
+    }
+
+    private void touch(Entry<K> entry) {
+        unlink(entry);
+        linkFirst(entry);
+    }
+
+    private void linkFirst(Entry<K> entry) {
+        entry.lastAccess = ++clock;
+        Entry<K> head = lru.get(entry.slabClass);
+        entry.prev = head;
+        entry.next = head.next;
+        head.next.prev = entry;
+        head.next = entry;
+    }
+
+    private void unlink(Entry<K> entry) {
+        entry.prev.next = entry.next;
+        entry.next.prev = entry.prev;
+    }
+
+    /** Entrada do índice no heap: só metadados, os bytes ficam na arena. */
+    private static final class Entry<K> {
+        final K key;
+        final long address;
+        final int slabClass;
+        int length;
+        long lastAccess;
+        Entry<K> prev;
+        Entry<K> next;
+
+        Entry(K key, long address, int length, int slabClass) {
+            this.key = key;
+            this.address = address;
+            this.length = length;
+            this.slabClass = slabClass;
+        }
+    }
+}
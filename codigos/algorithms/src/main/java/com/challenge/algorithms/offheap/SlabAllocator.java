@@ -0,0 +1,154 @@
+package com.challenge.algorithms.offheap;
+
+import java.util.Arrays;
+
+/**
+ * Alocador slab no estilo memcached: classes de chunk em potências de 2 (64 B até o
+ * tamanho da página). Cada classe recebe páginas inteiras da {@link MemoryArena} sob
+ * demanda e as fatia em chunks do seu tamanho; chunks liberados voltam para a lista
+ * livre da página. Sem fragmentação externa, ao custo de até 50% de espaço interno.
+ *
+ * <p>Uma página sem nenhum chunk em uso volta para a arena e pode ser fatiada por outra
+ * classe: a divisão da memória entre as classes acompanha os tamanhos que estão chegando,
+ * em vez de congelar na de quando a arena encheu (a "calcificação" do memcached).
+ */
+class SlabAllocator {
+    static final int MIN_CHUNK_SIZE = 64;
+
+    private final MemoryArena arena;
+    private final int pageShift;
+    private final int[] chunkSizes;
+    // Por página: quantos chunks já foram fatiados e a pilha dos que voltaram livres
+    private final int[] carved;
+    private final int[][] freeChunks;
+    private final int[] freeCount;
+    // Por classe, as páginas com chunk disponível numa lista duplamente ligada pelo índice
+    private final int[] partialHead;
+    private final int[] nextPartial;
+    private final int[] prevPartial;
+
+    SlabAllocator(MemoryArena arena) {
+        this.arena = arena;
+        this.pageShift = Integer.numberOfTrailingZeros(arena.pageSize());
+        int classes = pageShift - Integer.numberOfTrailingZeros(MIN_CHUNK_SIZE) + 1;
+        this.chunkSizes = new int[Math.max(1, classes)];
+        for (int i = 0; i < chunkSizes.length; i++) {
+            chunkSizes[i] = Math.min(MIN_CHUNK_SIZE << i, arena.pageSize());
+        }
+        long pages = arena.capacity() >>> pageShift;
+        if (pages > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("arena com mais de " + Integer.MAX_VALUE + " páginas");
+        }
+        this.carved = new int[(int) pages];
+        this.freeChunks = new int[(int) pages][];
+        this.freeCount = new int[(int) pages];
+        this.nextPartial = new int[(int) pages];
+        this.prevPartial = new int[(int) pages];
+        this.partialHead = new int[chunkSizes.length];
+        Arrays.fill(partialHead, -1);
+    }
+
+    int slabClasses() {
+        return chunkSizes.length;
+    }
+
+    /** Menor classe cujo chunk comporta {@code length} bytes, ou -1 se maior que uma página. */
+    int slabClass(int length) {
+        if (length > arena.pageSize()) {
+            return -1;
+        }
+        int bits = 32 - Integer.numberOfLeadingZeros(Math.max(length, MIN_CHUNK_SIZE) - 1);
+        return Math.min(bits - Integer.numberOfTrailingZeros(MIN_CHUNK_SIZE), chunkSizes.length - 1);
+    }
+
+    int chunkSize(int slabClass) {
+        return chunkSizes[slabClass];
+    }
+
+    /** Índice da página que contém {@code address}. */
+    int page(long address) {
+        return (int) (address >>> pageShift);
+    }
+
+    /** Endereço de um chunk livre da classe, ou -1 se não há chunk nem página disponível. */
+    long allocate(int slabClass) {
+        int page = partialHead[slabClass];
+        if (page < 0) {
+            page = carvePage(slabClass);
+            if (page < 0) {
+                return -1;
+            }
+        }
+        int chunk = freeCount[page] > 0 ? freeChunks[page][--freeCount[page]] : carved[page]++;
+        if (freeCount[page] == 0 && carved[page] == chunksPerPage(slabClass)) {
+            unlinkPartial(slabClass, page);
+        }
+        return ((long) page << pageShift) + (long) chunk * chunkSizes[slabClass];
+    }
+
+    /** Devolve o chunk; se a página ficou sem nenhum em uso, ela volta para a arena. */
+    void free(int slabClass, long address) {
+        int page = page(address);
+        int chunk = (int) (address & ((1L << pageShift) - 1)) / chunkSizes[slabClass];
+        if (freeCount[page] == 0 && carved[page] == chunksPerPage(slabClass)) {
+            linkPartial(slabClass, page);
+        }
+        int[] stack = freeChunks[page];
+        if (freeCount[page] == stack.length) {
+            stack = freeChunks[page] = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[freeCount[page]++] = chunk;
+        if (freeCount[page] == carved[page]) {
+            releasePage(slabClass, page);
+        }
+    }
+
+    /** Pega uma página da arena para a classe; os chunks são fatiados sob demanda em {@link #allocate}. */
+    private int carvePage(int slabClass) {
+        long address = arena.allocatePage();
+        if (address < 0) {
+            return -1;
+        }
+        int page = page(address);
+        carved[page] = 0;
+        freeChunks[page] = new int[Math.min(16, chunksPerPage(slabClass))];
+        freeCount[page] = 0;
+        linkPartial(slabClass, page);
+        return page;
+    }
+
+    private void releasePage(int slabClass, int page) {
+        unlinkPartial(slabClass, page);
+        freeChunks[page] = null;
+        freeCount[page] = 0;
+        carved[page] = 0;
+        arena.freePage((long) page << pageShift);
+    }
+
+    private int chunksPerPage(int slabClass) {
+        return arena.pageSize() / chunkSizes[slabClass];
+    }
+
+    private void linkPartial(int slabClass, int page) {
+        int head = partialHead[slabClass];
+        prevPartial[page] = -1;
+        nextPartial[page] = head;
+        if (head >= 0) {
+            prevPartial[head] = page;
+        }
+        partialHead[slabClass] = page;
+    }
+
+    private void unlinkPartial(int slabClass, int page) {
+        int prev = prevPartial[page];
+        int next = nextPartial[page];
+        if (prev >= 0) {
+            nextPartial[prev] = next;
+        } else {
+            partialHead[slabClass] = next;
+        }
+        if (next >= 0) {
+            prevPartial[next] = prev;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.challenge.algorithms.stats;
+
+/** Snapshot imutável das estatísticas de um cache. */
+public final class CacheStats {
+    static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0, 0, 0,
+            LatencyHistogram.Snapshot.EMPTY, LatencyHistogram.Snapshot.EMPTY);
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long loadSuccessCount;
+    private final long loadFailureCount;
+    private final long totalLoadTime;
+    private final LatencyHistogram.Snapshot getLatency;
+    private final LatencyHistogram.Snapshot putLatency;
+
+    public CacheStats(long hitCount, long missCount, long evictionCount,
+            long loadSuccessCount, long loadFailureCount, long totalLoadTime,
+            LatencyHistogram.Snapshot getLatency, LatencyHistogram.Snapshot putLatency) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.loadSuccessCount = loadSuccessCount;
+        this.loadFailureCount = loadFailureCount;
+        this.totalLoadTime = totalLoadTime;
+        this.getLatency = getLatency;
+        this.putLatency = putLatency;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /** Fração de hits; 1.0 quando não houve requisições. */
+    public double getHitRate() {
+        long requests = getRequestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public long getLoadSuccessCount() {
+        return loadSuccessCount;
+    }
+
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    public long getTotalLoadTime() {
+        return totalLoadTime;
+    }
+
+    /** Tempo médio de carregamento em nanossegundos. */
+    public double getAverageLoadPenalty() {
+        long loads = loadSuccessCount + loadFailureCount;
+        return loads == 0 ? 0.0 : (double) totalLoadTime / loads;
+    }
+
+    public LatencyHistogram.Snapshot getGetLatency() {
+        return getLatency;
+    }
+
+    public LatencyHistogram.Snapshot getPutLatency() {
+        return putLatency;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "CacheStats{hits=%d, misses=%d, hitRate=%.4f, evictions=%d, loads=%d/%d, "
+                        + "get p99=%dns, put p99=%dns}",
+                hitCount, missCount, getHitRate(), evictionCount, loadSuccessCount, loadFailureCount,
+                getLatency.valueAtPercentile(99), putLatency.valueAtPercentile(99));
+    }
+}
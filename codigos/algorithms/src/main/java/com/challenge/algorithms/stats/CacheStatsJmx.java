@@ -0,0 +1,115 @@
+package com.challenge.algorithms.stats;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registra um {@link StatsCounter} no MBeanServer da plataforma como
+ * {@code com.challenge.algorithms:type=CacheStats,name=<nome>}.
+ * Cada leitura de atributo tira um snapshot novo do contador.
+ */
+public final class CacheStatsJmx implements CacheStatsMXBean {
+    private final StatsCounter stats;
+
+    private CacheStatsJmx(StatsCounter stats) {
+        this.stats = stats;
+    }
+
+    public static ObjectName register(String cacheName, StatsCounter stats) {
+        try {
+            ObjectName name = objectName(cacheName);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(new CacheStatsJmx(stats), name);
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException("Falha ao registrar MBean do cache " + cacheName, e);
+        }
+    }
+
+    public static void unregister(String cacheName) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = objectName(cacheName);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Falha ao remover MBean do cache " + cacheName, e);
+        }
+    }
+
+    static ObjectName objectName(String cacheName) throws JMException {
+        return new ObjectName("com.challenge.algorithms:type=CacheStats,name=" + ObjectName.quote(cacheName));
+    }
+
+    @Override
+    public long getHitCount() {
+        return stats.snapshot().getHitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return stats.snapshot().getMissCount();
+    }
+
+    @Override
+    public double getHitRate() {
+        return stats.snapshot().getHitRate();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return stats.snapshot().getEvictionCount();
+    }
+
+    @Override
+    public long getLoadSuccessCount() {
+        return stats.snapshot().getLoadSuccessCount();
+    }
+
+    @Override
+    public long getLoadFailureCount() {
+        return stats.snapshot().getLoadFailureCount();
+    }
+
+    @Override
+    public double getAverageLoadPenaltyNanos() {
+        return stats.snapshot().getAverageLoadPenalty();
+    }
+
+    @Override
+    public long getGetLatencyP50Nanos() {
+        return stats.snapshot().getGetLatency().valueAtPercentile(50);
+    }
+
+    @Override
+    public long getGetLatencyP99Nanos() {
+        return stats.snapshot().getGetLatency().valueAtPercentile(99);
+    }
+
+    @Override
+    public long getGetLatencyMaxNanos() {
+        return stats.snapshot().getGetLatency().getMax();
+    }
+
+    @Override
+    public long getPutLatencyP50Nanos() {
+        return stats.snapshot().getPutLatency().valueAtPercentile(50);
+    }
+
+    @Override
+    public long getPutLatencyP99Nanos() {
+        return stats.snapshot().getPutLatency().valueAtPercentile(99);
+    }
+
+    @Override
+    public long getPutLatencyMaxNanos() {
+        return stats.snapshot().getPutLatency().getMax();
+    }
+}
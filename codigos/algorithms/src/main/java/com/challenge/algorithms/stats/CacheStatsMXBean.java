@@ -0,0 +1,31 @@
+package com.challenge.algorithms.stats;
+
+/** Estatísticas de cache expostas via JMX (JConsole, VisualVM, Prometheus JMX exporter). */
+public interface CacheStatsMXBean {
+
+    long getHitCount();
+
+    long getMissCount();
+
+    double getHitRate();
+
+    long getEvictionCount();
+
+    long getLoadSuccessCount();
+
+    long getLoadFailureCount();
+
+    double getAverageLoadPenaltyNanos();
+
+    long getGetLatencyP50Nanos();
+
+    long getGetLatencyP99Nanos();
+
+    long getGetLatencyMaxNanos();
+
+    long getPutLatencyP50Nanos();
+
+    long getPutLatencyP99Nanos();
+
+    long getPutLatencyMaxNanos();
+}
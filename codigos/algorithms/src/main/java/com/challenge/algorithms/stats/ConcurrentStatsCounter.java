@@ -0,0 +1,63 @@
+package com.challenge.algorithms.stats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores thread-safe baseados em {@link LongAdder}: cada thread incrementa a sua
+ * célula e a soma só acontece no snapshot, então não há disputa no caminho quente.
+ */
+public class ConcurrentStatsCounter implements StatsCounter {
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LatencyHistogram getLatency = new LatencyHistogram();
+    private final LatencyHistogram putLatency = new LatencyHistogram();
+
+    @Override
+    public void recordHits(int count) {
+        hitCount.add(count);
+    }
+
+    @Override
+    public void recordMisses(int count) {
+        missCount.add(count);
+    }
+
+    @Override
+    public void recordEviction() {
+        evictionCount.increment();
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadTimeNanos) {
+        loadSuccessCount.increment();
+        totalLoadTime.add(loadTimeNanos);
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTimeNanos) {
+        loadFailureCount.increment();
+        totalLoadTime.add(loadTimeNanos);
+    }
+
+    @Override
+    public void recordGetLatency(long nanos) {
+        getLatency.record(nanos);
+    }
+
+    @Override
+    public void recordPutLatency(long nanos) {
+        putLatency.record(nanos);
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        return new CacheStats(
+                hitCount.sum(), missCount.sum(), evictionCount.sum(),
+                loadSuccessCount.sum(), loadFailureCount.sum(), totalLoadTime.sum(),
+                getLatency.snapshot(), putLatency.snapshot());
+    }
+}
@@ -0,0 +1,39 @@
+package com.challenge.algorithms.stats;
+
+/** Implementação vazia: todos os métodos são no-op e o snapshot é sempre zerado. */
+enum DisabledStatsCounter implements StatsCounter {
+    INSTANCE;
+
+    @Override
+    public void recordHits(int count) {
+    }
+
+    @Override
+    public void recordMisses(int count) {
+    }
+
+    @Override
+    public void recordEviction() {
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadTimeNanos) {
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTimeNanos) {
+    }
+
+    @Override
+    public void recordGetLatency(long nanos) {
+    }
+
+    @Override
+    public void recordPutLatency(long nanos) {
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        return CacheStats.EMPTY;
+    }
+}
@@ -0,0 +1,107 @@
+package com.challenge.algorithms.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma log-linear no estilo HdrHistogram: valores até 127 têm bucket próprio e,
+ * a partir daí, cada potência de 2 é dividida em 64 sub-buckets — erro relativo abaixo
+ * de 1,6% para qualquer valor de {@code long}, em ~3700 contadores fixos.
+ * {@link #record} é um incremento atômico, sem alocação.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS >> 1;
+    private static final int BUCKET_COUNT = indexOf(Long.MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    public void record(long value) {
+        counts.incrementAndGet(indexOf(Math.max(0, value)));
+    }
+
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return exponent * HALF_SUB_BUCKETS + (int) (value >>> exponent);
+    }
+
+    /** Maior valor que cai no bucket (limite superior, como o HdrHistogram reporta). */
+    static long highestValueAt(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / HALF_SUB_BUCKETS - 1;
+        long lowest = (long) (index - exponent * HALF_SUB_BUCKETS) << exponent;
+        return lowest + (1L << exponent) - 1;
+    }
+
+    /** Cópia imutável das contagens, com percentis. */
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new long[BUCKET_COUNT]);
+
+        private final long[] counts;
+        private final long totalCount;
+
+        Snapshot(long[] counts) {
+            this.counts = counts;
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            this.totalCount = total;
+        }
+
+        public long getCount() {
+            return totalCount;
+        }
+
+        /** Valor no percentil {@code percentile} (0 a 100), ou 0 se vazio. */
+        public long valueAtPercentile(double percentile) {
+            if (totalCount == 0) {
+                return 0;
+            }
+            long target = Math.max(1, (long) Math.ceil(totalCount * Math.min(100.0, percentile) / 100.0));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= target) {
+                    return highestValueAt(i);
+                }
+            }
+            return getMax();
+        }
+
+        public long getMax() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] > 0) {
+                    return highestValueAt(i);
+                }
+            }
+            return 0;
+        }
+
+        public double getMean() {
+            if (totalCount == 0) {
+                return 0;
+            }
+            double sum = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    sum += (double) counts[i] * highestValueAt(i);
+                }
+            }
+            return sum / totalCount;
+        }
+    }
+}
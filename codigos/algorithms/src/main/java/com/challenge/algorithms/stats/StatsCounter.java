@@ -0,0 +1,34 @@
+package com.challenge.algorithms.stats;
+
+/**
+ * Recebe os eventos de um cache (hits, misses, remoções, carregamentos e latências).
+ * Use {@link #disabled()} para não medir nada: os caches verificam essa instância uma
+ * única vez na construção e pulam toda a instrumentação no caminho quente.
+ */
+public interface StatsCounter {
+
+    void recordHits(int count);
+
+    void recordMisses(int count);
+
+    void recordEviction();
+
+    void recordLoadSuccess(long loadTimeNanos);
+
+    void recordLoadFailure(long loadTimeNanos);
+
+    void recordGetLatency(long nanos);
+
+    void recordPutLatency(long nanos);
+
+    /** Cópia consistente o suficiente para relatórios (cada contador é lido uma vez). */
+    CacheStats snapshot();
+
+    static StatsCounter disabled() {
+        return DisabledStatsCounter.INSTANCE;
+    }
+
+    static StatsCounter concurrent() {
+        return new ConcurrentStatsCounter();
+    }
+}
@@ -0,0 +1,58 @@
+package com.challenge.algorithms;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.challenge.algorithms.stats.StatsCounter;
+
+/**
+ * Custo das estatísticas no caminho quente do {@link LRUCache}: {@code disabled} é o
+ * construtor padrão (só um branch a mais); {@code recording} mostra o custo dos
+ * {@code LongAdder}, do {@code System.nanoTime()} e dos histogramas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CacheStatsBenchmark {
+    private static final int KEY_SPACE_MASK = 1023;
+
+    Integer[] keys;
+    int next;
+    LRUCache<Integer, Integer> disabled;
+    LRUCache<Integer, Integer> recording;
+
+    @Setup
+    public void setUp() {
+        keys = new Integer[KEY_SPACE_MASK + 1];
+        disabled = new LRUCache<>(512);
+        recording = new LRUCache<>(512, StatsCounter.concurrent());
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i * 7;
+            disabled.put(keys[i], i);
+            recording.put(keys[i], i);
+        }
+    }
+
+    @Benchmark
+    public Integer disabledStatsGet() {
+        return disabled.get(keys[next++ & KEY_SPACE_MASK]);
+    }
+
+    @Benchmark
+    public Integer recordingStatsGet() {
+        return recording.get(keys[next++ & KEY_SPACE_MASK]);
+    }
+}
@@ -0,0 +1,86 @@
+package com.challenge.algorithms;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara {@link ConcurrentLRUCache} com {@code Collections.synchronizedMap(new LRUCache<>(n))}.
+ * Rode com diferentes números de threads para ver a escalabilidade:
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="ConcurrentLRUCacheBenchmark -t 16"}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentLRUCacheBenchmark {
+    private static final int KEY_SPACE_MASK = (1 << 16) - 1;
+
+    @Param({ "10000" })
+    int capacity;
+
+    Integer[] keys;
+    Map<Integer, Integer> synchronizedCache;
+    ConcurrentLRUCache<Integer, Integer> concurrentCache;
+
+    @Setup
+    public void setUp() {
+        keys = new Integer[KEY_SPACE_MASK + 1];
+        for (int i = 0; i < keys.length; i++) {
+            // Metade das chaves cabe no cache: mistura de hits e misses
+            keys[i] = ThreadLocalRandom.current().nextInt(capacity * 2);
+        }
+        synchronizedCache = Collections.synchronizedMap(new LRUCache<>(capacity));
+        concurrentCache = new ConcurrentLRUCache<>(capacity);
+        for (int i = 0; i < capacity; i++) {
+            synchronizedCache.put(i, i);
+            concurrentCache.put(i, i);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadIndex {
+        int next = ThreadLocalRandom.current().nextInt();
+
+        int nextIndex() {
+            return next++ & KEY_SPACE_MASK;
+        }
+    }
+
+    @Benchmark
+    public Integer synchronizedGet(ThreadIndex index) {
+        return synchronizedCache.get(keys[index.nextIndex()]);
+    }
+
+    @Benchmark
+    public Integer concurrentGet(ThreadIndex index) {
+        return concurrentCache.get(keys[index.nextIndex()]);
+    }
+
+    @Benchmark
+    public Integer synchronizedPut(ThreadIndex index) {
+        Integer key = keys[index.nextIndex()];
+        return synchronizedCache.put(key, key);
+    }
+
+    @Benchmark
+    public Integer concurrentPut(ThreadIndex index) {
+        Integer key = keys[index.nextIndex()];
+        return concurrentCache.put(key, key);
+    }
+}
@@ -0,0 +1,62 @@
+package com.challenge.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentLRUCacheTest {
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedWithinSegment() {
+        ConcurrentLRUCache<Integer, String> cache = new ConcurrentLRUCache<>(3, 1);
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.put(3, "three");
+        cache.get(1);
+        cache.put(4, "four");
+
+        assertNull(cache.get(2));
+        assertEquals("one", cache.get(1));
+        assertEquals("four", cache.get(4));
+    }
+
+    @Test
+    public void shouldStayBoundedUnderConcurrentWrites() throws InterruptedException {
+        ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<>(1024, 16);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int offset = t * 100_000;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    cache.put(offset + i, i);
+                    cache.get(offset + i / 2);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Cada segmento respeita sua fatia da capacidade
+        assertTrue(cache.size() <= 1024);
+    }
+
+    @Test
+    public void segmentsShouldAddUpToANonPowerOfTwoCapacity() {
+        // 100 em 64 segmentos e 1000 em 16 não dividem exato: as fatias não podem passar do total
+        int[][] shapes = {{100, 64}, {1000, 16}, {7, 4}};
+        for (int[] shape : shapes) {
+            ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<>(shape[0], shape[1]);
+            for (int i = 0; i < shape[0] * 20; i++) {
+                cache.put(i, i);
+            }
+            assertEquals(shape[0], cache.size(), shape[0] + " em " + shape[1] + " segmentos");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.challenge.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class ExpiringLRUCacheTest {
+    private final AtomicLong nanos = new AtomicLong(1_000_000_000L);
+
+    private void advance(long amount, TimeUnit unit) {
+        nanos.addAndGet(unit.toNanos(amount));
+    }
+
+    @Test
+    public void shouldExpireEntriesAfterTtl() {
+        ExpiringLRUCache<String, String> cache = new ExpiringLRUCache<>(
+                10, Weigher.singleton(), 300, TimeUnit.SECONDS, nanos::get);
+        cache.put("a", "alpha");
+        cache.put("b", "beta", 10, TimeUnit.SECONDS);
+
+        advance(10, TimeUnit.SECONDS);
+        assertNull(cache.get("b"));
+        assertEquals("alpha", cache.get("a"));
+
+        advance(290, TimeUnit.SECONDS);
+        cache.cleanUp();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedByWeight() {
+        ExpiringLRUCache<String, String> cache = new ExpiringLRUCache<>(
+                10, (key, value) -> value.length(), 0, TimeUnit.SECONDS, nanos::get);
+        cache.put("a", "1234");
+        cache.put("b", "1234");
+        cache.get("a");
+        cache.put("c", "1234");
+
+        assertNull(cache.get("b"));
+        assertEquals("1234", cache.get("a"));
+        assertEquals(8, cache.weightedSize());
+    }
+
+    @Test
+    public void shouldCascadeLongTtlsThroughWheelLevels() {
+        ExpiringLRUCache<String, String> cache = new ExpiringLRUCache<>(
+                10, Weigher.singleton(), 3, TimeUnit.HOURS, nanos::get);
+        cache.put("k", "v");
+
+        advance(3 * 60 * 60 - 1, TimeUnit.SECONDS);
+        cache.cleanUp();
+        assertEquals(1, cache.size());
+
+        advance(1, TimeUnit.SECONDS);
+        cache.cleanUp();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void wheelShouldMatchBruteForceExpiry() {
+        ExpiringLRUCache<Integer, Integer> cache = new ExpiringLRUCache<>(
+                100_000, Weigher.singleton(), 0, TimeUnit.SECONDS, nanos::get);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        Random random = new Random(3);
+        long elapsedMillis = 0;
+
+        for (int round = 0; round < 2_000; round++) {
+            int key = random.nextInt(5_000);
+            long ttlMillis = 1 + (long) Math.pow(10, random.nextDouble() * 7);
+            cache.put(key, key, ttlMillis, TimeUnit.MILLISECONDS);
+            deadlines.put(key, elapsedMillis + ttlMillis);
+
+            long step = random.nextInt(10) == 0 ? random.nextInt(200_000) : random.nextInt(50);
+            advance(step, TimeUnit.MILLISECONDS);
+            elapsedMillis += step;
+
+            long now = elapsedMillis;
+            deadlines.values().removeIf(deadline -> deadline <= now);
+            assertEquals(deadlines.size(), cache.size(), "round " + round);
+        }
+    }
+}
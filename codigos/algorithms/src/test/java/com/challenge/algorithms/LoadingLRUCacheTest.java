@@ -0,0 +1,132 @@
+package com.challenge.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.challenge.algorithms.stats.StatsCounter;
+
+public class LoadingLRUCacheTest {
+
+    @Test
+    public void concurrentMissesShouldCallLoaderOnce() throws InterruptedException {
+        LoadingLRUCache<String, String> cache = new LoadingLRUCache<>(100);
+        AtomicInteger loads = new AtomicInteger();
+        AtomicInteger correctResults = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            threads.add(new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                String value = cache.get("hot", key -> {
+                    loads.incrementAndGet();
+                    sleep(100);
+                    return key.toUpperCase();
+                });
+                if ("HOT".equals(value)) {
+                    correctResults.incrementAndGet();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1_000, correctResults.get());
+    }
+
+    @Test
+    public void loaderFailureShouldPropagateAndNotBeCached() {
+        LoadingLRUCache<String, String> cache = new LoadingLRUCache<>(10);
+        assertThrows(IllegalStateException.class, () -> cache.get("k", key -> {
+            throw new IllegalStateException("backend fora do ar");
+        }));
+
+        assertEquals("ok", cache.get("k", key -> "ok"));
+    }
+
+    @Test
+    public void shouldRefreshAheadAndExpire() {
+        AtomicLong nanos = new AtomicLong();
+        AtomicInteger version = new AtomicInteger();
+        LoadingLRUCache<String, Integer> cache = new LoadingLRUCache<>(10, 60, 30, TimeUnit.SECONDS,
+                Runnable::run, StatsCounter.concurrent(), nanos::get);
+
+        assertEquals(0, cache.get("k", key -> version.getAndIncrement()));
+
+        // Depois do refreshAfterWrite: devolve o valor atual e recarrega em background
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        assertEquals(0, cache.get("k", key -> version.getAndIncrement()));
+        assertEquals(1, cache.getIfPresent("k"));
+
+        // Depois do expireAfterWrite: recarrega de forma síncrona
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        assertEquals(2, cache.get("k", key -> version.getAndIncrement()));
+        assertEquals(3, cache.stats().getLoadSuccessCount());
+    }
+
+    @Test
+    public void rejectedAsyncLoadShouldFailAndFreeTheKey() {
+        LoadingLRUCache<String, String> cache = new LoadingLRUCache<>(10, 0, 0, TimeUnit.SECONDS, task -> {
+            throw new RejectedExecutionException("executor cheio");
+        });
+        CompletableFuture<String> failed = cache.getAsync("k", key -> "nunca");
+        ExecutionException error = assertThrows(ExecutionException.class, () -> failed.get(1, TimeUnit.SECONDS));
+        assertTrue(error.getCause() instanceof RejectedExecutionException);
+
+        // A chave não ficou presa num future que ninguém completa
+        assertEquals("ok", cache.get("k", key -> "ok"));
+    }
+
+    @Test
+    public void slowRefreshShouldNotOverwriteANewerPutOrInvalidate() {
+        AtomicLong nanos = new AtomicLong();
+        List<Runnable> pending = new ArrayList<>();
+        LoadingLRUCache<String, String> cache = new LoadingLRUCache<>(10, 60, 30, TimeUnit.SECONDS,
+                pending::add, StatsCounter.disabled(), nanos::get);
+        cache.put("a", "v1");
+        cache.put("b", "v1");
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        assertEquals("v1", cache.get("a", key -> "recarregado"));
+        assertEquals("v1", cache.get("b", key -> "recarregado"));
+        assertEquals(2, pending.size());
+
+        // Enquanto as recargas estão em voo, um put e um invalidate
+        cache.put("a", "v2");
+        cache.invalidate("b");
+        pending.forEach(Runnable::run);
+
+        assertEquals("v2", cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
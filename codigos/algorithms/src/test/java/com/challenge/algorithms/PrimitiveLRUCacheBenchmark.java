@@ -0,0 +1,86 @@
+package com.challenge.algorithms;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Taxa de alocação de {@link IntLRUCache}/{@link LongLRUCache} contra {@link LRUCache}.
+ * Com o profiler de GC, {@code gc.alloc.rate.norm} deve ser 0 B/op nas versões primitivas:
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="PrimitiveLRUCacheBenchmark -prof gc"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveLRUCacheBenchmark {
+    private static final int KEY_SPACE_MASK = (1 << 16) - 1;
+
+    @Param({ "10000" })
+    int capacity;
+
+    int[] keys;
+    int next;
+    IntLRUCache intCache;
+    LongLRUCache<String> longCache;
+    LRUCache<Integer, Integer> boxedCache;
+    LRUCache<Long, String> boxedLongCache;
+
+    @Setup
+    public void setUp() {
+        keys = new int[KEY_SPACE_MASK + 1];
+        for (int i = 0; i < keys.length; i++) {
+            // Chaves fora do cache de Integer (-128..127) e o dobro da capacidade: hits, misses e remoções
+            keys[i] = 1_000 + ThreadLocalRandom.current().nextInt(capacity * 2);
+        }
+        intCache = new IntLRUCache(capacity);
+        longCache = new LongLRUCache<>(capacity);
+        boxedCache = new LRUCache<>(capacity);
+        boxedLongCache = new LRUCache<>(capacity);
+    }
+
+    private int nextKey() {
+        return keys[next++ & KEY_SPACE_MASK];
+    }
+
+    @Benchmark
+    public int intLruPutGet() {
+        int key = nextKey();
+        intCache.put(key, key);
+        return intCache.get(nextKey(), -1);
+    }
+
+    @Benchmark
+    public Integer boxedLruPutGet() {
+        int key = nextKey();
+        boxedCache.put(key, key);
+        return boxedCache.get(nextKey());
+    }
+
+    @Benchmark
+    public String longLruPutGet() {
+        long key = nextKey();
+        longCache.put(key, "value");
+        return longCache.get(nextKey());
+    }
+
+    @Benchmark
+    public String boxedLongLruPutGet() {
+        long key = nextKey();
+        boxedLongCache.put(key, "value");
+        return boxedLongCache.get((long) nextKey());
+    }
+}
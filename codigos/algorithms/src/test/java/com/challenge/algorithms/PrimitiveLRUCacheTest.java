@@ -0,0 +1,65 @@
+package com.challenge.algorithms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class PrimitiveLRUCacheTest {
+
+    @Test
+    public void intCacheShouldEvictLeastRecentlyUsed() {
+        IntLRUCache cache = new IntLRUCache(3);
+        cache.put(1, 10);
+        cache.put(2, 20);
+        cache.put(3, 30);
+        cache.get(1, -1);
+        cache.put(4, 40);
+
+        assertEquals(-1, cache.get(2, -1));
+        assertEquals(10, cache.get(1, -1));
+        assertEquals(40, cache.get(4, -1));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void longCacheShouldEvictLeastRecentlyUsed() {
+        LongLRUCache<String> cache = new LongLRUCache<>(2);
+        cache.put(1L << 40, "a");
+        cache.put(2L << 40, "b");
+        cache.get(1L << 40);
+        cache.put(3L << 40, "c");
+
+        assertNull(cache.get(2L << 40));
+        assertEquals("a", cache.get(1L << 40));
+        assertEquals("c", cache.remove(3L << 40));
+        assertFalse(cache.containsKey(3L << 40));
+    }
+
+    @Test
+    public void intCacheShouldMatchLinkedHashMapReference() {
+        Random random = new Random(42);
+        IntLRUCache cache = new IntLRUCache(64);
+        LRUCache<Integer, Integer> reference = new LRUCache<>(64);
+
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(256);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    cache.put(key, i);
+                    reference.put(key, i);
+                }
+                case 1 -> assertEquals(reference.getOrDefault(key, -1).intValue(), cache.get(key, -1));
+                default -> assertEquals(reference.remove(key) != null, cache.remove(key));
+            }
+            assertEquals(reference.size(), cache.size());
+        }
+        for (Integer key : reference.keySet()) {
+            assertTrue(cache.containsKey(key));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.challenge.algorithms.eviction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class EvictionPolicyTest {
+
+    @Test
+    public void lruShouldEvictLeastRecentlyUsed() {
+        PolicyCache<Integer, String> cache = new PolicyCache<>(EvictionPolicy.lru(2));
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.get(1);
+        cache.put(3, "three");
+
+        assertNull(cache.get(2));
+        assertNotNull(cache.get(1));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void slruShouldKeepRepeatedKeysAcrossScan() {
+        PolicyCache<String, Boolean> cache = new PolicyCache<>(EvictionPolicy.slru(10));
+        for (int i = 0; i < 5; i++) {
+            cache.put("hot" + i, true);
+            cache.get("hot" + i);
+        }
+        for (int i = 0; i < 100; i++) {
+            cache.put("scan" + i, true);
+        }
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(cache.get("hot" + i));
+        }
+    }
+
+    @Test
+    public void sketchShouldEstimateFrequency() {
+        FrequencySketch<String> sketch = new FrequencySketch<>(512);
+        for (int i = 0; i < 10; i++) {
+            sketch.increment("popular");
+        }
+        sketch.increment("rare");
+
+        assertTrue(sketch.frequency("popular") >= 10);
+        assertTrue(sketch.frequency("rare") < sketch.frequency("popular"));
+    }
+
+    @Test
+    public void policiesShouldRespectCapacity() {
+        List<String> trace = CacheSimulator.syntheticTrace(100_000, 5_000, 1);
+        CacheSimulator.policies().forEach((name, policy) -> {
+            PolicyCache<String, Boolean> cache = new PolicyCache<>(policy.apply(500));
+            CacheSimulator.replay(trace, cache);
+            assertTrue(cache.size() <= 500, name);
+        });
+    }
+
+    @Test
+    public void windowTinyLfuShouldResistScans() {
+        List<String> trace = CacheSimulator.syntheticTrace(300_000, 10_000, 7);
+        long lruHits = CacheSimulator.replay(trace, new PolicyCache<>(EvictionPolicy.lru(1_000)));
+        long tinyLfuHits = CacheSimulator.replay(trace, new PolicyCache<>(EvictionPolicy.windowTinyLfu(1_000)));
+
+        assertTrue(tinyLfuHits > lruHits, "W-TinyLFU " + tinyLfuHits + " vs LRU " + lruHits);
+    }
+}
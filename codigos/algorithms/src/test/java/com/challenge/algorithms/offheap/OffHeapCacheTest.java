@@ -0,0 +1,156 @@
+package com.challenge.algorithms.offheap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class OffHeapCacheTest {
+    private static final int PAGE_SIZE = 4096;
+
+    @Test
+    public void shouldRoundTripValues() {
+        try (OffHeapCache<String> cache = new OffHeapCache<>(MemoryArena.direct(16 * PAGE_SIZE, PAGE_SIZE))) {
+            cache.put("a", bytes("alpha"));
+            cache.put("b", ByteBuffer.wrap(bytes("beta")));
+
+            assertArrayEquals(bytes("alpha"), cache.get("a"));
+            ByteBuffer target = ByteBuffer.allocateDirect(16);
+            assertEquals(4, cache.read("b", target));
+            assertEquals(4, target.position());
+            assertNull(cache.get("c"));
+        }
+    }
+
+    @Test
+    public void shouldReplaceValueAcrossSlabClasses() {
+        try (OffHeapCache<String> cache = new OffHeapCache<>(MemoryArena.direct(16 * PAGE_SIZE, PAGE_SIZE))) {
+            cache.put("k", new byte[10]);
+            cache.put("k", new byte[1000]);
+
+            assertEquals(1000, cache.get("k").length);
+            assertEquals(1024, cache.usedBytes());
+            assertTrue(cache.remove("k"));
+            assertEquals(0, cache.usedBytes());
+        }
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedOfSameSlabClass() {
+        // Uma página de 4 KB com chunks de 1 KB: cabem 4 valores
+        try (OffHeapCache<Integer> cache = new OffHeapCache<>(MemoryArena.direct(PAGE_SIZE, PAGE_SIZE))) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(cache.put(i, new byte[1000]));
+            }
+            cache.get(0);
+            assertTrue(cache.put(4, new byte[1000]));
+
+            assertNull(cache.get(1));
+            assertEquals(4, cache.size());
+        }
+    }
+
+    @Test
+    public void classWithoutPagesShouldTakeThePageOfTheOldestEntry() {
+        // Duas páginas de chunks de 1 KB: 0–3 na primeira, 4–7 na segunda
+        try (OffHeapCache<Integer> cache = new OffHeapCache<>(MemoryArena.direct(2 * PAGE_SIZE, PAGE_SIZE))) {
+            for (int i = 0; i < 8; i++) {
+                assertTrue(cache.put(i, new byte[1000]));
+            }
+            // A classe de 64 B não tem página: a da entrada mais antiga (0) é esvaziada e muda de classe
+            assertTrue(cache.put(100, new byte[10]));
+            for (int i = 0; i < 4; i++) {
+                assertNull(cache.get(i));
+            }
+            for (int i = 4; i < 8; i++) {
+                assertEquals(1000, cache.get(i).length);
+            }
+            assertEquals(10, cache.get(100).length);
+            assertEquals(4 * 1024 + 64, cache.usedBytes());
+
+            // A página recebida comporta 64 valores de 64 B sem remover mais nada
+            for (int i = 101; i < 164; i++) {
+                assertTrue(cache.put(i, new byte[10]));
+            }
+            assertEquals(68, cache.size());
+        }
+    }
+
+    @Test
+    public void emptiedPagesShouldReturnToTheArena() {
+        try (OffHeapCache<Integer> cache = new OffHeapCache<>(MemoryArena.direct(PAGE_SIZE, PAGE_SIZE))) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(cache.put(i, new byte[1000]));
+            }
+            for (int i = 0; i < 4; i++) {
+                assertTrue(cache.remove(i));
+            }
+            for (int i = 0; i < 64; i++) {
+                assertTrue(cache.put(i, new byte[64]));
+            }
+            assertEquals(64, cache.size());
+            assertEquals(PAGE_SIZE, cache.usedBytes());
+        }
+    }
+
+    @Test
+    public void mixedSizesShouldNeverOverlapAsPagesMoveBetweenClasses() {
+        Random random = new Random(42);
+        Map<Integer, byte[]> expected = new HashMap<>();
+        try (OffHeapCache<Integer> cache = new OffHeapCache<>(MemoryArena.direct(8 * PAGE_SIZE, PAGE_SIZE))) {
+            for (int op = 0; op < 20_000; op++) {
+                int key = random.nextInt(200);
+                if (random.nextInt(4) == 0) {
+                    cache.remove(key);
+                    expected.remove(key);
+                    continue;
+                }
+                byte[] value = new byte[1 + random.nextInt(random.nextBoolean() ? 100 : PAGE_SIZE)];
+                random.nextBytes(value);
+                assertTrue(cache.put(key, value));
+                expected.put(key, value);
+            }
+            // O que sobrou no cache tem os bytes da última escrita; o resto foi removido
+            int present = 0;
+            for (Map.Entry<Integer, byte[]> e : expected.entrySet()) {
+                byte[] actual = cache.get(e.getKey());
+                if (actual != null) {
+                    assertArrayEquals(e.getValue(), actual);
+                    present++;
+                }
+            }
+            assertEquals(present, cache.size());
+            assertTrue(cache.usedBytes() <= cache.capacityBytes());
+        }
+    }
+
+    @Test
+    public void shouldRejectValuesLargerThanPage() {
+        try (OffHeapCache<String> cache = new OffHeapCache<>(MemoryArena.direct(PAGE_SIZE, PAGE_SIZE))) {
+            assertThrows(IllegalArgumentException.class, () -> cache.put("big", new byte[PAGE_SIZE + 1]));
+        }
+    }
+
+    @Test
+    public void shouldStoreValuesInMappedFile(@TempDir Path dir) {
+        try (OffHeapCache<String> cache = OffHeapCache.mapped(dir.resolve("cache.bin"), 8L << 20)) {
+            cache.put("file", bytes("mapped"));
+            assertArrayEquals(bytes("mapped"), cache.get("file"));
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,66 @@
+package com.challenge.algorithms.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+import com.challenge.algorithms.LRUCache;
+
+public class CacheStatsTest {
+
+    @Test
+    public void shouldCountHitsMissesAndEvictions() {
+        StatsCounter stats = StatsCounter.concurrent();
+        LRUCache<Integer, String> cache = new LRUCache<>(2, stats);
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.get(1);
+        cache.put(3, "three");
+        cache.get(2);
+
+        CacheStats snapshot = stats.snapshot();
+        assertEquals(1, snapshot.getHitCount());
+        assertEquals(1, snapshot.getMissCount());
+        assertEquals(1, snapshot.getEvictionCount());
+        assertEquals(0.5, snapshot.getHitRate());
+        assertEquals(2, snapshot.getGetLatency().getCount());
+        assertEquals(3, snapshot.getPutLatency().getCount());
+    }
+
+    @Test
+    public void histogramPercentilesShouldStayWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 10);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(100_000, snapshot.getCount());
+        assertWithinOnePointSixPercent(500_000, snapshot.valueAtPercentile(50));
+        assertWithinOnePointSixPercent(990_000, snapshot.valueAtPercentile(99));
+        assertWithinOnePointSixPercent(1_000_000, snapshot.getMax());
+    }
+
+    @Test
+    public void shouldExposeStatsThroughJmx() throws Exception {
+        StatsCounter stats = StatsCounter.concurrent();
+        stats.recordHits(3);
+        stats.recordMisses(1);
+        ObjectName name = CacheStatsJmx.register("users", stats);
+        try {
+            Object hitRate = ManagementFactory.getPlatformMBeanServer().getAttribute(name, "HitRate");
+            assertEquals(0.75, (Double) hitRate);
+        } finally {
+            CacheStatsJmx.unregister("users");
+        }
+    }
+
+    private static void assertWithinOnePointSixPercent(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected * 0.016, expected + " vs " + actual);
+    }
+}
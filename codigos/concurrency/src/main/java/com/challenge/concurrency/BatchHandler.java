@@ -0,0 +1,18 @@
+package com.challenge.concurrency;
+
+/**
+ * Consumidor de um {@link BatchPipeline}: recebe os elementos um a um, na ordem em que foram
+ * drenados, e é avisado no fim de cada lote. O fim do lote é o lugar do trabalho caro que vale
+ * amortizar: {@code flush} de um arquivo ou socket, commit, um {@code printf} de resumo.
+ *
+ * <p>Com mais de um consumidor no pipeline, o mesmo handler é chamado de várias threads.
+ */
+@FunctionalInterface
+public interface BatchHandler<T> {
+
+    void onEvent(T item) throws Exception;
+
+    /** Depois do último elemento do lote; {@code size} é quantos o lote teve. */
+    default void onEndOfBatch(int size) throws Exception {
+    }
+}
@@ -0,0 +1,259 @@
+package com.challenge.concurrency;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Producer × Consumer em lotes. Produtores publicam num {@link RingBufferQueue} (um a um ou uma
+ * lista inteira com um só CAS); cada consumidor drena o que houver de uma vez, até o limite do
+ * lote, entrega ao {@link BatchHandler} e chama {@code onEndOfBatch}. O custo fixo por elemento
+ * ({@code take}, acordar, {@code flush}) vira custo por lote.
+ *
+ * <p>O limite do lote se ajusta à carga: um lote cheio (havia mais na fila) que rodou em menos
+ * da metade de {@code targetBatchTime} dobra o limite; um lote que passou do alvo o reduz à
+ * metade, para o {@code onEndOfBatch} do primeiro elemento não ficar esperando demais. Com a
+ * fila quase vazia os lotes já saem pequenos sozinhos: o dreno só leva o que está lá.
+ *
+ * <p>{@link #close()} para de aceitar publicações, espera os consumidores esvaziarem a fila e
+ * termina.
+ */
+public class BatchPipeline<T> implements AutoCloseable {
+    private static final int INITIAL_BATCH = 16;
+    private static final AtomicInteger PIPELINE_IDS = new AtomicInteger();
+
+    private final RingBufferQueue<T> queue;
+    private final int capacity;
+    private final int maxBatch;
+    private final long targetBatchNanos;
+    private final List<Consumer> consumers;
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder events = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+    private volatile boolean closed;
+
+    /** Um handler compartilhado pelos consumidores; lotes de até 1024, alvo de 1 ms por lote. */
+    public BatchPipeline(int capacity, int consumerCount, BatchHandler<? super T> handler) {
+        this(capacity, consumerCount, 1024, Duration.ofMillis(1), () -> handler);
+    }
+
+    /**
+     * @param handlers        chamado uma vez por consumidor: cada thread pode ter o seu handler
+     *                        (o seu buffer, a sua conexão) e não precisar de sincronização
+     * @param targetBatchTime quanto um lote pode levar do primeiro elemento ao {@code onEndOfBatch}
+     */
+    public BatchPipeline(int capacity, int consumerCount, int maxBatch, Duration targetBatchTime,
+            Supplier<? extends BatchHandler<? super T>> handlers) {
+        if (consumerCount < 1 || maxBatch < 1) {
+            throw new IllegalArgumentException("Esperado consumerCount >= 1 e maxBatch >= 1");
+        }
+        this.queue = new RingBufferQueue<>(capacity);
+        this.capacity = capacity;
+        this.maxBatch = maxBatch;
+        this.targetBatchNanos = targetBatchTime.toNanos();
+        List<Consumer> created = new ArrayList<>(consumerCount);
+        int id = PIPELINE_IDS.incrementAndGet();
+        for (int i = 0; i < consumerCount; i++) {
+            created.add(new Consumer("batch-pipeline-" + id + "-" + i, Objects.requireNonNull(handlers.get())));
+        }
+        this.consumers = List.copyOf(created);
+        for (Consumer c : consumers) {
+            c.start();
+        }
+    }
+
+    /**
+     * Bloqueia enquanto a fila está cheia (back-pressure).
+     *
+     * @throws IllegalStateException se o pipeline foi fechado
+     */
+    public void publish(T item) throws InterruptedException {
+        checkOpen();
+        queue.put(item);
+        // Pela instância: um remove por equals poderia tirar o elemento igual de outro produtor
+        if (closed && queue.removeInstance(item)) {
+            throw closedException(); // correu com o close: os consumidores podem já ter saído
+        }
+    }
+
+    /**
+     * Publica a lista em ordem, reservando de uma vez o espaço que houver; bloqueia até todos
+     * entrarem. Se correr com o {@link #close()}, os que ainda não foram consumidos são retirados.
+     */
+    public void publishAll(List<? extends T> items) throws InterruptedException {
+        checkOpen();
+        queue.putAll(items);
+        if (closed) {
+            boolean removed = false;
+            for (T item : items) {
+                removed |= queue.removeInstance(item);
+            }
+            if (removed) {
+                throw closedException();
+            }
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw closedException();
+        }
+    }
+
+    private static IllegalStateException closedException() {
+        return new IllegalStateException("Pipeline fechado");
+    }
+
+    /** Elementos publicados que ainda não foram drenados. */
+    public int queuedCount() {
+        return queue.size();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long batchCount() {
+        return batches.sum();
+    }
+
+    public long eventCount() {
+        return events.sum();
+    }
+
+    public double averageBatchSize() {
+        long b = batches.sum();
+        return b == 0 ? 0 : (double) events.sum() / b;
+    }
+
+    /** Tempo que os consumidores passaram entregando lotes, somado entre eles. */
+    public Duration busyTime() {
+        return Duration.ofNanos(busyNanos.sum());
+    }
+
+    /** O maior limite de lote atual entre os consumidores. */
+    public int batchLimit() {
+        int limit = 0;
+        for (Consumer c : consumers) {
+            limit = Math.max(limit, c.limit);
+        }
+        return limit;
+    }
+
+    /**
+     * Interrompido enquanto espera, interrompe também os consumidores (um handler bloqueado desiste,
+     * a fila continua sendo esvaziada) e segue esperando; o interrupt é restaurado no fim, como no
+     * {@link SimpleThreadPool#close()}.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Consumer c : consumers) {
+            c.interruptIfIdle();
+        }
+        boolean interrupted = false;
+        for (Consumer c : consumers) {
+            while (c.isAlive()) {
+                try {
+                    c.join();
+                } catch (InterruptedException e) {
+                    if (!interrupted) {
+                        consumers.forEach(Thread::interrupt);
+                        interrupted = true;
+                    }
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class Consumer extends Thread {
+        private final BatchHandler<? super T> handler;
+        private final List<T> batch = new ArrayList<>(INITIAL_BATCH);
+        /** Só o consumidor escreve; volátil para {@link #batchLimit()}. */
+        private volatile int limit = Math.min(INITIAL_BATCH, maxBatch);
+        /** Seguro enquanto entrega um lote: o close só interrompe quem está esperando na fila. */
+        private final ReentrantLock runLock = new ReentrantLock();
+
+        Consumer(String name, BatchHandler<? super T> handler) {
+            super(name);
+            this.handler = handler;
+        }
+
+        void interruptIfIdle() {
+            if (runLock.tryLock()) {
+                try {
+                    interrupt();
+                } finally {
+                    runLock.unlock();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                if (queue.drainTo(batch, limit) == 0) {
+                    if (closed) {
+                        if (queue.isEmpty()) {
+                            return;
+                        }
+                        continue; // um produtor reservou um slot e ainda não publicou
+                    }
+                    try {
+                        batch.add(queue.take());
+                    } catch (InterruptedException e) {
+                        continue; // o close acordou o consumidor ocioso: reavalia
+                    }
+                    queue.drainTo(batch, limit - 1);
+                }
+                runLock.lock();
+                try {
+                    Thread.interrupted(); // um interrupt do close que chegou depois do take não vaza para o handler
+                    deliver();
+                } finally {
+                    runLock.unlock();
+                }
+            }
+        }
+
+        /** Exceções do handler vão para o {@code UncaughtExceptionHandler}; o lote segue. */
+        private void deliver() {
+            long start = System.nanoTime();
+            int size = batch.size();
+            for (int i = 0; i < size; i++) {
+                try {
+                    handler.onEvent(batch.get(i));
+                } catch (Exception e) {
+                    getUncaughtExceptionHandler().uncaughtException(this, e);
+                }
+            }
+            try {
+                handler.onEndOfBatch(size);
+            } catch (Exception e) {
+                getUncaughtExceptionHandler().uncaughtException(this, e);
+            }
+            batch.clear();
+            batches.increment();
+            events.add(size);
+            long elapsed = System.nanoTime() - start;
+            busyNanos.add(elapsed);
+            adapt(size, elapsed);
+        }
+
+        private void adapt(int size, long elapsed) {
+            if (size == limit && elapsed < targetBatchNanos / 2) {
+                limit = Math.min(maxBatch, limit * 2);
+            } else if (elapsed > targetBatchNanos && limit > 1) {
+                limit = Math.max(1, limit / 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.challenge.concurrency;
+
+import java.time.Duration;
+
+/**
+ * Cópia imutável de um histograma de latências (nanos). Percentis vêm do bucket em que caem,
+ * com erro relativo de até 12,5 %; o máximo é exato.
+ */
+public final class HistogramSnapshot {
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    HistogramSnapshot(long[] counts, long sum, long max) {
+        this.counts = counts;
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        this.count = total;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public Duration mean() {
+        return Duration.ofNanos(count == 0 ? 0 : sum / count);
+    }
+
+    public Duration max() {
+        return Duration.ofNanos(max);
+    }
+
+    /** Ex.: {@code percentile(99)}. Zero se não há amostras. */
+    public Duration percentile(double percentile) {
+        if (count == 0) {
+            return Duration.ZERO;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Duration.ofNanos(Math.min(max, LatencyHistogram.valueOf(i)));
+            }
+        }
+        return max();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d p50=%dµs p99=%dµs max=%dµs", count, percentile(50).toNanos() / 1_000,
+                percentile(99).toNanos() / 1_000, max / 1_000);
+    }
+}
@@ -0,0 +1,99 @@
+package com.challenge.concurrency;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Histograma de latências em nanos com buckets log-lineares: 8 sub-buckets por potência de 2,
+ * erro relativo de no máximo 12,5 %, 488 longs cobrindo de 0 a {@code Long.MAX_VALUE}.
+ * Registrar é achar o bucket (um {@code numberOfLeadingZeros}) e somar 1, sem alocação.
+ *
+ * <p>{@link #record} supõe um único escritor (o worker dono) e usa escritas opacas: leitores em
+ * outras threads veem valores inteiros, só talvez um pouco atrasados. {@link #recordConcurrent}
+ * serve quando várias threads registram no mesmo histograma (modo virtual).
+ */
+final class LatencyHistogram {
+    static final int SUB_BITS = 3;
+    static final int SUB_BUCKETS = 1 << SUB_BITS;
+    static final int BUCKETS = (63 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private static final VarHandle COUNTS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle SUM;
+    private static final VarHandle MAX;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            SUM = lookup.findVarHandle(LatencyHistogram.class, "sum", long.class);
+            MAX = lookup.findVarHandle(LatencyHistogram.class, "max", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final long[] counts = new long[BUCKETS];
+    private long sum;
+    private long max;
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) Math.max(0, value);
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exp - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /** Valor representativo do bucket (o meio do intervalo). */
+    static long valueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exp = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long width = 1L << (exp - SUB_BITS);
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exp - SUB_BITS);
+        return lower + width / 2;
+    }
+
+    /** Só o escritor dono do histograma. */
+    void record(long nanos) {
+        int i = bucket(nanos);
+        COUNTS.setOpaque(counts, i, (long) COUNTS.getOpaque(counts, i) + 1);
+        SUM.setOpaque(this, (long) SUM.getOpaque(this) + nanos);
+        if (nanos > (long) MAX.getOpaque(this)) {
+            MAX.setOpaque(this, nanos);
+        }
+    }
+
+    /** Qualquer thread. */
+    void recordConcurrent(long nanos) {
+        COUNTS.getAndAdd(counts, bucket(nanos), 1L);
+        SUM.getAndAdd(this, nanos);
+        long current;
+        while (nanos > (current = (long) MAX.getOpaque(this))) {
+            if (MAX.compareAndSet(this, current, nanos)) {
+                break;
+            }
+        }
+    }
+
+    /** Soma {@code other} a este (usado para acumular snapshots; só o escritor dono). */
+    void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = (long) COUNTS.getOpaque(other.counts, i);
+            if (count != 0) {
+                COUNTS.setOpaque(counts, i, (long) COUNTS.getOpaque(counts, i) + count);
+            }
+        }
+        SUM.setOpaque(this, (long) SUM.getOpaque(this) + (long) SUM.getOpaque(other));
+        MAX.setOpaque(this, Math.max((long) MAX.getOpaque(this), (long) MAX.getOpaque(other)));
+    }
+
+    HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = (long) COUNTS.getOpaque(counts, i);
+        }
+        return new HistogramSnapshot(copy, (long) SUM.getOpaque(this), (long) MAX.getOpaque(this));
+    }
+}
@@ -0,0 +1,42 @@
+package com.challenge.concurrency;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/** Campos antes do contador: 7 longs, para a linha de cache (64 B) ser só dele. */
+abstract class PaddedSequenceLhs {
+    long p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class PaddedSequenceValue extends PaddedSequenceLhs {
+    volatile long value;
+}
+
+/**
+ * Contador de posição sozinho na sua linha de cache. Produtores avançam um, consumidores outro:
+ * lado a lado no mesmo objeto, cada CAS de um invalidaria a linha do outro (false sharing).
+ * O preenchimento usa herança porque a JVM só garante a ordem dos campos entre classes: os da
+ * superclasse vêm antes.
+ */
+final class PaddedSequence extends PaddedSequenceValue {
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(PaddedSequenceValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    long p09, p10, p11, p12, p13, p14, p15;
+
+    long get() {
+        return value;
+    }
+
+    /** Devolve o valor encontrado: igual a {@code expected} se o CAS venceu. */
+    long compareAndExchange(long expected, long newValue) {
+        return (long) VALUE.compareAndExchange(this, expected, newValue);
+    }
+}
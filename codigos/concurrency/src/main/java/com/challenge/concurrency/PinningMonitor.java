@@ -0,0 +1,58 @@
+package com.challenge.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Conta as vezes em que uma virtual thread estacionou presa ao carrier (pinning): bloqueio
+ * dentro de {@code synchronized} ou de código nativo, que no JDK 21 segura a thread de
+ * plataforma e reduz o paralelismo efetivo. Lê o evento JFR {@code jdk.VirtualThreadPinned}
+ * num {@link RecordingStream}, filtrando pelo prefixo do nome das threads do pool.
+ *
+ * <p>Os eventos chegam com o flush do JFR (cerca de 1 s), então os contadores ficam um pouco
+ * atrás do tempo real.
+ */
+final class PinningMonitor implements AutoCloseable {
+    static final String EVENT = "jdk.VirtualThreadPinned";
+
+    private final String threadPrefix;
+    private final RecordingStream stream;
+    private final LongAdder events = new LongAdder();
+    private final LongAdder pinnedNanos = new LongAdder();
+
+    PinningMonitor(String threadPrefix) {
+        this.threadPrefix = threadPrefix;
+        this.stream = new RecordingStream();
+        stream.enable(EVENT).withoutThreshold();
+        stream.onEvent(EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        String name = thread == null ? null : thread.getJavaName();
+        if (name != null && name.startsWith(threadPrefix)) {
+            events.increment();
+            pinnedNanos.add(event.getDuration().toNanos());
+        }
+    }
+
+    /** Quantas vezes uma thread do pool bloqueou presa ao carrier. */
+    long events() {
+        return events.sum();
+    }
+
+    /** Tempo total bloqueado com o carrier preso. */
+    Duration pinnedTime() {
+        return Duration.ofNanos(pinnedNanos.sum());
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
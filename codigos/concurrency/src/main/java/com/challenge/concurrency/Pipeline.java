@@ -0,0 +1,297 @@
+package com.challenge.concurrency;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Producer × Consumer em vários estágios: quem chama {@link #publish} é a fonte, cada estágio
+ * aplica uma função com os seus próprios workers e passa adiante, e o último entrega a um sink
+ * (um {@link BatchHandler}) ou a um {@link Flow.Publisher}.
+ *
+ * <pre>
+ * Pipeline&lt;String, Void&gt; pipeline = Pipeline.&lt;String&gt;source()
+ *         .stage("parse", 2, 256, Order::parse)
+ *         .stage("price", 4, 256, pricing::quote)
+ *         .sink("write", 1, 1024, writer);
+ * </pre>
+ *
+ * <p>Cada estágio é um {@link BatchPipeline}: um buffer limitado na entrada e {@code parallelism}
+ * workers que drenam em lotes e publicam o lote transformado no buffer do próximo de uma vez.
+ * Quando um buffer enche, quem publica nele bloqueia; o estágio de antes para de drenar, o buffer
+ * dele enche também, e assim até o {@code publish} da fonte (back-pressure). No publisher, quem
+ * puxa é o {@code request(n)} dos assinantes: sem demanda, o {@code submit} bloqueia e o resto da
+ * cadeia vai atrás.
+ *
+ * <p>A função de um estágio devolvendo {@code null} descarta o elemento; uma exceção vai para o
+ * {@code UncaughtExceptionHandler} do worker e o elemento se perde. Com {@code parallelism}
+ * maior que 1 a ordem entre os elementos não é mantida.
+ *
+ * <p>{@link #close()} fecha os estágios em ordem, cada um esvaziando o seu buffer antes do
+ * próximo, e por último completa o publisher. Interrompido, ele interrompe os workers de cada
+ * estágio que ainda fecha e restaura o interrupt no fim (veja {@link BatchPipeline#close()}).
+ */
+public final class Pipeline<I, O> implements AutoCloseable {
+    private static final int MAX_BATCH = 1024;
+    private static final Duration TARGET_BATCH_TIME = Duration.ofMillis(1);
+
+    private final List<Stage> stages;
+    private final SubmissionPublisher<O> publisher;
+    private final long startNanos = System.nanoTime();
+    private volatile long endNanos;
+
+    private Pipeline(List<Stage> stages, SubmissionPublisher<O> publisher) {
+        this.stages = stages;
+        this.publisher = publisher;
+    }
+
+    /** Começa um pipeline cujos elementos de entrada são do tipo {@code T}. */
+    public static <T> Builder<T, T> source() {
+        return new Builder<>(List.of());
+    }
+
+    /**
+     * Bloqueia enquanto o buffer do primeiro estágio está cheio.
+     *
+     * @throws IllegalStateException se o pipeline foi fechado
+     */
+    public void publish(I item) throws InterruptedException {
+        stages.get(0).pipeline.publish(item);
+    }
+
+    /** Publica a lista em ordem, reservando de uma vez o espaço que houver no primeiro buffer. */
+    public void publishAll(List<? extends I> items) throws InterruptedException {
+        stages.get(0).pipeline.publishAll(items);
+    }
+
+    /**
+     * A saída do pipeline montado com {@link Builder#toPublisher}. Elementos que chegam ao fim
+     * sem nenhum assinante são descartados: assine antes de publicar.
+     *
+     * @throws IllegalStateException se o pipeline termina num sink
+     */
+    public Flow.Publisher<O> publisher() {
+        if (publisher == null) {
+            throw new IllegalStateException("Pipeline termina num sink, não num publisher");
+        }
+        return publisher;
+    }
+
+    /** Um por estágio, na ordem do pipeline. */
+    public List<StageMetrics> metrics() {
+        long end = endNanos;
+        Duration elapsed = Duration.ofNanos((end == 0 ? System.nanoTime() : end) - startNanos);
+        List<StageMetrics> metrics = new ArrayList<>(stages.size());
+        for (Stage s : stages) {
+            metrics.add(s.metrics(elapsed));
+        }
+        return metrics;
+    }
+
+    /** O estágio com a maior utilização: é ele que limita a vazão do pipeline. */
+    public StageMetrics bottleneck() {
+        return metrics().stream().max(Comparator.comparingDouble(StageMetrics::utilization)).orElseThrow();
+    }
+
+    @Override
+    public void close() {
+        for (Stage s : stages) {
+            s.pipeline.close();
+        }
+        if (publisher != null) {
+            publisher.close();
+        }
+        if (endNanos == 0) {
+            endNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Monta o pipeline estágio a estágio; {@code O} é o tipo que sai do último estágio até aqui.
+     * Imutável: cada chamada devolve um builder novo, e nenhuma thread sobe antes do terminal
+     * ({@link #sink} ou {@link #toPublisher}).
+     */
+    public static final class Builder<I, O> {
+        private final List<StageSpec> specs;
+
+        private Builder(List<StageSpec> specs) {
+            this.specs = specs;
+        }
+
+        /**
+         * @param parallelism workers do estágio
+         * @param capacity    tamanho do buffer na entrada do estágio
+         * @param fn          {@code null} como resultado descarta o elemento
+         */
+        @SuppressWarnings("unchecked")
+        public <R> Builder<I, R> stage(String name, int parallelism, int capacity, Function<? super O, ? extends R> fn) {
+            Objects.requireNonNull(fn);
+            List<StageSpec> next = new ArrayList<>(specs);
+            next.add(new StageSpec(name, parallelism, capacity, (Function<Object, Object>) fn));
+            return new Builder<>(List.copyOf(next));
+        }
+
+        /** Termina num handler compartilhado pelos {@code parallelism} workers do sink. */
+        public Pipeline<I, Void> sink(String name, int parallelism, int capacity, BatchHandler<? super O> handler) {
+            Objects.requireNonNull(handler);
+            StageSpec sink = new StageSpec(name, parallelism, capacity, null);
+            @SuppressWarnings("unchecked")
+            BatchHandler<Object> h = (BatchHandler<Object>) handler;
+            LongAdder blocked = new LongAdder();
+            return new Pipeline<>(build(sink.start(() -> h, blocked)), null);
+        }
+
+        /**
+         * Termina num {@link SubmissionPublisher} com o executor e o buffer por assinante padrão
+         * do JDK. O último estágio, {@code "publisher"}, tem um worker e {@code capacity} de
+         * buffer: a ordem que chega nele é a ordem que os assinantes veem.
+         */
+        public Pipeline<I, O> toPublisher(int capacity) {
+            return toPublisher(capacity, new SubmissionPublisher<>());
+        }
+
+        /**
+         * @param executor       entrega os {@code onNext} aos assinantes
+         * @param bufferCapacity elementos por assinante antes de o {@code submit} bloquear
+         */
+        public Pipeline<I, O> toPublisher(int capacity, Executor executor, int bufferCapacity) {
+            return toPublisher(capacity, new SubmissionPublisher<>(executor, bufferCapacity));
+        }
+
+        private Pipeline<I, O> toPublisher(int capacity, SubmissionPublisher<O> publisher) {
+            StageSpec last = new StageSpec("publisher", 1, capacity, null);
+            LongAdder blocked = new LongAdder();
+            return new Pipeline<>(build(last.start(() -> new Submit(publisher, blocked), blocked)), publisher);
+        }
+
+        /** Sobe do último estágio para o primeiro: cada um precisa do buffer do seguinte. */
+        private List<Stage> build(Stage last) {
+            List<Stage> stages = new ArrayList<>(specs.size() + 1);
+            stages.add(last);
+            Stage next = last;
+            for (int i = specs.size() - 1; i >= 0; i--) {
+                StageSpec spec = specs.get(i);
+                BatchPipeline<Object> downstream = next.pipeline;
+                LongAdder blocked = new LongAdder();
+                next = spec.start(() -> new Transform(spec.fn, downstream, blocked), blocked);
+                stages.add(0, next);
+            }
+            return List.copyOf(stages);
+        }
+    }
+
+    private static final class StageSpec {
+        final String name;
+        final int parallelism;
+        final int capacity;
+        final Function<Object, Object> fn;
+
+        StageSpec(String name, int parallelism, int capacity, Function<Object, Object> fn) {
+            if (parallelism < 1 || capacity < 1) {
+                throw new IllegalArgumentException("Esperado parallelism >= 1 e capacity >= 1");
+            }
+            this.name = Objects.requireNonNull(name);
+            this.parallelism = parallelism;
+            this.capacity = capacity;
+            this.fn = fn;
+        }
+
+        Stage start(Supplier<? extends BatchHandler<Object>> handlers, LongAdder blocked) {
+            return new Stage(this, new BatchPipeline<>(capacity, parallelism, MAX_BATCH, TARGET_BATCH_TIME, handlers),
+                    blocked);
+        }
+    }
+
+    private static final class Stage {
+        final StageSpec spec;
+        final BatchPipeline<Object> pipeline;
+        /** Nanos gastos publicando no estágio seguinte. */
+        final LongAdder blocked;
+
+        Stage(StageSpec spec, BatchPipeline<Object> pipeline, LongAdder blocked) {
+            this.spec = spec;
+            this.pipeline = pipeline;
+            this.blocked = blocked;
+        }
+
+        StageMetrics metrics(Duration elapsed) {
+            return new StageMetrics(spec.name, spec.parallelism, pipeline.eventCount(), pipeline.queuedCount(),
+                    pipeline.capacity(), pipeline.batchLimit(), pipeline.busyTime(), Duration.ofNanos(blocked.sum()), elapsed);
+        }
+    }
+
+    /** Um por worker: junta os resultados do lote e os publica adiante de uma vez no fim. */
+    private static final class Transform implements BatchHandler<Object> {
+        private final Function<Object, Object> fn;
+        private final BatchPipeline<Object> downstream;
+        private final LongAdder blocked;
+        private final List<Object> out = new ArrayList<>();
+
+        Transform(Function<Object, Object> fn, BatchPipeline<Object> downstream, LongAdder blocked) {
+            this.fn = fn;
+            this.downstream = downstream;
+            this.blocked = blocked;
+        }
+
+        @Override
+        public void onEvent(Object item) {
+            Object result = fn.apply(item);
+            if (result != null) {
+                out.add(result);
+            }
+        }
+
+        @Override
+        public void onEndOfBatch(int size) throws InterruptedException {
+            if (out.isEmpty()) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                downstream.publishAll(out);
+            } finally {
+                blocked.add(System.nanoTime() - start);
+                out.clear();
+            }
+        }
+    }
+
+    /** O {@code submit} bloqueia enquanto algum assinante está com o buffer cheio. */
+    private static final class Submit implements BatchHandler<Object> {
+        private final SubmissionPublisher<Object> publisher;
+        private final LongAdder blocked;
+        private final List<Object> out = new ArrayList<>();
+
+        @SuppressWarnings("unchecked")
+        Submit(SubmissionPublisher<?> publisher, LongAdder blocked) {
+            this.publisher = (SubmissionPublisher<Object>) publisher;
+            this.blocked = blocked;
+        }
+
+        @Override
+        public void onEvent(Object item) {
+            out.add(item);
+        }
+
+        @Override
+        public void onEndOfBatch(int size) {
+            long start = System.nanoTime();
+            try {
+                for (Object item : out) {
+                    publisher.submit(item);
+                }
+            } finally {
+                blocked.add(System.nanoTime() - start);
+                out.clear();
+            }
+        }
+    }
+}
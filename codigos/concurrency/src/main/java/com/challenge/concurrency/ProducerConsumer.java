@@ -1,14 +1,16 @@
 package com.challenge.concurrency;
 
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 
-/** Exemplo clássico Producer × Consumer usando bloqueio implícito da fila. */
+/**
+ * Exemplo clássico Producer × Consumer usando bloqueio implícito da fila. A fila é um
+ * {@link RingBufferQueue} (array, sem lock); qualquer {@code BlockingQueue} serve no lugar.
+ */
 public class ProducerConsumer {
     private static final int CAPACITY = 5;
 
     public static void main(String[] args) {
-        BlockingQueue<Integer> queue = new LinkedBlockingQueue<>(CAPACITY);
+        BlockingQueue<Integer> queue = new RingBufferQueue<>(CAPACITY);
 
         Runnable producer = () -> {
             int value = 0;
@@ -0,0 +1,21 @@
+package com.challenge.concurrency;
+
+/** Tarefa com o instante em que entrou na fila, para medir quanto tempo esperou por um worker. */
+final class QueuedTask implements Runnable {
+    final Runnable task;
+    final long enqueuedAt;
+
+    QueuedTask(Runnable task, long enqueuedAt) {
+        this.task = task;
+        this.enqueuedAt = enqueuedAt;
+    }
+
+    static Runnable unwrap(Runnable runnable) {
+        return runnable instanceof QueuedTask ? ((QueuedTask) runnable).task : runnable;
+    }
+
+    @Override
+    public void run() {
+        task.run();
+    }
+}
@@ -0,0 +1,69 @@
+package com.challenge.concurrency;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O que fazer quando o {@link SimpleThreadPool} está saturado (fila cheia, ou todos os permits
+ * em uso no modo virtual). Chamado na thread que submeteu, então é aqui que nasce o
+ * back-pressure: bloquear, rodar a tarefa no próprio produtor ou descartar algo.
+ */
+@FunctionalInterface
+public interface RejectionPolicy {
+
+    void rejected(Runnable task, SimpleThreadPool pool);
+
+    /** Lança {@link RejectedExecutionException} na hora. */
+    static RejectionPolicy abort() {
+        return (task, pool) -> {
+            throw new RejectedExecutionException("ThreadPool saturado: tarefa rejeitada");
+        };
+    }
+
+    /** O produtor executa a tarefa ele mesmo: fica ocupado e, por isso, desacelera. */
+    static RejectionPolicy callerRuns() {
+        return (task, pool) -> task.run();
+    }
+
+    /**
+     * Descarta a tarefa mais antiga da fila e tenta de novo. Se a descartada é um {@link Future}
+     * (veio de {@code submit}), é cancelada para quem espera por ela não ficar preso. Sem fila
+     * para descartar (modo virtual), rejeita.
+     */
+    static RejectionPolicy dropOldest() {
+        return (task, pool) -> {
+            do {
+                Runnable oldest = pool.pollOldest();
+                if (oldest == null) {
+                    throw new RejectedExecutionException("ThreadPool saturado e sem fila para descartar");
+                }
+                if (oldest instanceof Future) {
+                    ((Future<?>) oldest).cancel(false);
+                }
+            } while (!pool.offer(task));
+        };
+    }
+
+    /** Bloqueia o produtor até abrir espaço (o comportamento original do {@code submit}). */
+    static RejectionPolicy block() {
+        return block(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Bloqueia até {@code timeout} esperando espaço e então rejeita: back-pressure sem
+     * deixar o produtor preso para sempre. Interrupção também rejeita (e preserva o status).
+     */
+    static RejectionPolicy block(long timeout, TimeUnit unit) {
+        return (task, pool) -> {
+            try {
+                if (!pool.offer(task, timeout, unit)) {
+                    throw new RejectedExecutionException("ThreadPool saturado por mais de " + timeout + " " + unit);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrompido esperando espaço na fila", e);
+            }
+        };
+    }
+}
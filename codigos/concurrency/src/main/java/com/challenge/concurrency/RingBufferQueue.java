@@ -0,0 +1,450 @@
+package com.challenge.concurrency;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Fila limitada sobre um array, sem lock, para vários produtores e vários consumidores (o anel
+ * de Dmitry Vyukov). Cada slot tem um número de sequência que diz de quem é a vez: igual à posição,
+ * está livre para o produtor daquela posição; posição + 1, tem um elemento para o consumidor;
+ * posição + tamanho do anel, já foi consumido e espera a próxima volta. Produtores disputam o contador
+ * {@code tail} com um CAS e consumidores o {@code head}, cada um na sua linha de cache
+ * ({@link PaddedSequence}). Sem nó por elemento e sem lock no caminho feliz, ao contrário da
+ * {@code LinkedBlockingQueue}. Em troca, os dois arrays do anel (12 B por slot) são alocados
+ * inteiros na construção: a capacidade é memória reservada, não só um teto.
+ *
+ * <p>Quando não dá para seguir ({@code put} com a fila cheia, {@code take} com ela vazia), a
+ * {@link WaitStrategy} decide como esperar; o padrão é {@link WaitStrategy#blocking()}.
+ *
+ * <p>{@link #remove(Object)} marca o slot (lápide) em vez de mover os vizinhos, e o consumidor
+ * que chegar nele o pula. Por isso cada {@code poll} tira o elemento com uma troca atômica, e
+ * {@link #size()} conta lápides até um consumidor passar por elas. Iteradores são uma cópia
+ * fracamente consistente.
+ */
+public class RingBufferQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle ELEMENT = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final Object REMOVED = new Object();
+
+    private final int capacity;
+    /**
+     * Tamanho do anel: a capacidade, mas pelo menos 2. Com 1 slot, "consumido" (posição + 1)
+     * e "publicado" (posição + 1) teriam a mesma sequência.
+     */
+    private final int slots;
+    /** {@code slots - 1} se é potência de 2 (índice com máscara), senão -1 (índice com resto). */
+    private final int mask;
+    private final long[] sequences;
+    private final Object[] elements;
+    private final PaddedSequence tail = new PaddedSequence();
+    private final PaddedSequence head = new PaddedSequence();
+    private final WaitStrategy notEmpty;
+    private final WaitStrategy notFull;
+    private final BooleanSupplier canPoll = this::headPublished;
+    private final BooleanSupplier canOffer = this::tailFree;
+
+    public RingBufferQueue(int capacity) {
+        this(capacity, WaitStrategy::blocking);
+    }
+
+    /** @param waitStrategy chamado duas vezes: uma estratégia para "não vazia", outra para "não cheia" */
+    public RingBufferQueue(int capacity, Supplier<? extends WaitStrategy> waitStrategy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity deve ser >= 1");
+        }
+        this.capacity = capacity;
+        this.slots = Math.max(2, capacity);
+        this.mask = Integer.bitCount(slots) == 1 ? slots - 1 : -1;
+        this.sequences = new long[slots];
+        this.elements = new Object[slots];
+        for (int i = 0; i < slots; i++) {
+            sequences[i] = i;
+        }
+        this.notEmpty = waitStrategy.get();
+        this.notFull = waitStrategy.get();
+    }
+
+    private int index(long position) {
+        return mask >= 0 ? (int) position & mask : (int) (position % slots);
+    }
+
+    private long sequence(int index) {
+        return (long) SEQUENCE.getAcquire(sequences, index);
+    }
+
+    @Override
+    public boolean offer(E e) {
+        Objects.requireNonNull(e);
+        long position = tail.get();
+        while (true) {
+            int i = index(position);
+            long difference = sequence(i) - position;
+            if (difference == 0) {
+                if (slots != capacity && position - head.get() >= capacity) {
+                    return false; // capacidade 1 num anel de 2
+                }
+                long witness = tail.compareAndExchange(position, position + 1);
+                if (witness == position) {
+                    ELEMENT.setRelease(elements, i, e);
+                    SEQUENCE.setRelease(sequences, i, position + 1);
+                    notEmpty.signal();
+                    return true;
+                }
+                position = witness;
+            } else if (difference < 0) {
+                return false; // o slot ainda é da volta anterior: cheia
+            } else {
+                position = tail.get(); // outro produtor já passou desta posição
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        while (true) {
+            long position = head.get();
+            int i;
+            while (true) {
+                i = index(position);
+                long difference = sequence(i) - (position + 1);
+                if (difference == 0) {
+                    long witness = head.compareAndExchange(position, position + 1);
+                    if (witness == position) {
+                        break;
+                    }
+                    position = witness;
+                } else if (difference < 0) {
+                    return null; // ninguém publicou nesta posição ainda: vazia
+                } else {
+                    position = head.get();
+                }
+            }
+            Object e = ELEMENT.getAndSet(elements, i, null); // atômico contra o CAS do remove
+            SEQUENCE.setRelease(sequences, i, position + slots);
+            notFull.signal();
+            if (e != REMOVED) {
+                return (E) e;
+            }
+        }
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        if (offer(e)) {
+            return;
+        }
+        do {
+            notFull.await(canOffer, Long.MAX_VALUE);
+        } while (!offer(e));
+        cascade(notFull, canOffer);
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        if (offer(e)) {
+            return true;
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        do {
+            if (!notFull.await(canOffer, deadline - System.nanoTime())) {
+                return false;
+            }
+        } while (!offer(e));
+        cascade(notFull, canOffer);
+        return true;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E e = poll();
+        if (e != null) {
+            return e;
+        }
+        do {
+            notEmpty.await(canPoll, Long.MAX_VALUE);
+        } while ((e = poll()) == null);
+        cascade(notEmpty, canPoll);
+        return e;
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        E e = poll();
+        if (e != null) {
+            return e;
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        do {
+            if (!notEmpty.await(canPoll, deadline - System.nanoTime())) {
+                return null;
+            }
+        } while ((e = poll()) == null);
+        cascade(notEmpty, canPoll);
+        return e;
+    }
+
+    /**
+     * Quem esperou e conseguiu repassa o sinal se ainda sobrou: enquanto ela acordava, a
+     * estratégia bloqueante não acordou mais ninguém.
+     */
+    private static void cascade(WaitStrategy strategy, BooleanSupplier ready) {
+        if (ready.getAsBoolean()) {
+            strategy.signal();
+        }
+    }
+
+    /** O slot em {@code head} já tem elemento publicado. */
+    private boolean headPublished() {
+        long position = head.get();
+        return sequence(index(position)) == position + 1;
+    }
+
+    /** O slot em {@code tail} já foi liberado pelo consumidor da volta anterior. */
+    private boolean tailFree() {
+        long position = tail.get();
+        return sequence(index(position)) == position && position - head.get() < capacity;
+    }
+
+    @Override
+    public E peek() {
+        for (E e : snapshot(1)) {
+            return e;
+        }
+        return null;
+    }
+
+    /** Aproximado sob concorrência; inclui elementos removidos pelo meio ainda não alcançados. */
+    @Override
+    public int size() {
+        long h = head.get();
+        long t = tail.get();
+        return (int) Math.max(0, Math.min(capacity, t - h));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return tail.get() <= head.get();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    /** Troca a primeira ocorrência por uma lápide; o slot só volta a ficar livre quando um consumidor passa por ele. */
+    @Override
+    public boolean remove(Object o) {
+        return remove(o, false);
+    }
+
+    /** Como {@link #remove(Object)}, mas só a mesma instância ({@code ==}), não uma igual a ela. */
+    boolean removeInstance(Object o) {
+        return remove(o, true);
+    }
+
+    private boolean remove(Object o, boolean sameInstance) {
+        if (o == null) {
+            return false;
+        }
+        long end = tail.get();
+        for (long position = head.get(); position < end; position++) {
+            int i = index(position);
+            if (sequence(i) != position + 1) {
+                continue;
+            }
+            Object e = ELEMENT.getAcquire(elements, i);
+            if (e != null && e != REMOVED && (sameInstance ? o == e : o.equals(e))
+                    && ELEMENT.compareAndSet(elements, i, e, REMOVED)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o != null && snapshot(capacity).contains(o);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reserva de uma vez, com um único CAS em {@code head}, todos os elementos já publicados
+     * (até {@code maxElements}), e acorda produtores uma vez por lote em vez de uma por elemento.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        int added = 0;
+        while (added < maxElements) {
+            long first = head.get();
+            int limit = Math.min(maxElements - added, slots);
+            int n = 0;
+            while (n < limit && sequence(index(first + n)) == first + n + 1) {
+                n++;
+            }
+            if (n == 0) {
+                if (sequence(index(first)) - (first + 1) > 0) {
+                    continue; // head já andou
+                }
+                return added;
+            }
+            if (head.compareAndExchange(first, first + n) != first) {
+                continue;
+            }
+            int k = 0;
+            try {
+                for (; k < n; k++) {
+                    int i = index(first + k);
+                    Object e = ELEMENT.getAndSet(elements, i, null);
+                    SEQUENCE.setRelease(sequences, i, first + k + slots);
+                    if (e != REMOVED) {
+                        c.add((E) e);
+                        added++;
+                    }
+                }
+            } finally {
+                // Se c.add falhou, libera os slots reservados mesmo assim (o contrato permite perder os elementos)
+                for (k++; k < n; k++) {
+                    int i = index(first + k);
+                    ELEMENT.setRelease(elements, i, null);
+                    SEQUENCE.setRelease(sequences, i, first + k + slots);
+                }
+                notFull.signal();
+            }
+            if (n < limit) {
+                return added; // pegou tudo o que estava publicado
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Publica o maior prefixo de {@code items} que cabe agora, reservando os slots com um único
+     * CAS em {@code tail} e acordando consumidores uma vez por lote.
+     *
+     * @return quantos foram publicados (do início da lista)
+     * @throws NullPointerException se algum elemento é nulo (nenhum é publicado)
+     */
+    public int offerAll(List<? extends E> items) {
+        for (E e : items) {
+            Objects.requireNonNull(e);
+        }
+        return offerFrom(items, 0);
+    }
+
+    /** Publica todos, esperando por espaço quantas vezes for preciso; a ordem da lista é mantida. */
+    public void putAll(List<? extends E> items) throws InterruptedException {
+        for (E e : items) {
+            Objects.requireNonNull(e);
+        }
+        int next = offerFrom(items, 0);
+        if (next == items.size()) {
+            return;
+        }
+        do {
+            notFull.await(canOffer, Long.MAX_VALUE);
+        } while ((next = offerFrom(items, next)) < items.size());
+        cascade(notFull, canOffer);
+    }
+
+    /** Devolve o índice do primeiro elemento ainda não publicado. */
+    private int offerFrom(List<? extends E> items, int from) {
+        int total = items.size();
+        while (from < total) {
+            long first = tail.get();
+            int limit = Math.min(total - from, slots);
+            if (slots != capacity) {
+                limit = (int) Math.min(limit, capacity - (first - head.get()));
+            }
+            int n = 0;
+            while (n < limit && sequence(index(first + n)) == first + n) {
+                n++;
+            }
+            if (n == 0) {
+                if (limit > 0 && sequence(index(first)) - first > 0) {
+                    continue; // tail já andou
+                }
+                return from;
+            }
+            if (tail.compareAndExchange(first, first + n) != first) {
+                continue;
+            }
+            for (int k = 0; k < n; k++) {
+                int i = index(first + k);
+                ELEMENT.setRelease(elements, i, items.get(from + k));
+                SEQUENCE.setRelease(sequences, i, first + k + 1);
+            }
+            from += n;
+            notEmpty.signal();
+            if (n < limit) {
+                return from; // cheia
+            }
+        }
+        return from;
+    }
+
+    /** Cópia fracamente consistente; {@code remove} do iterador remove a mesma instância, se ainda estiver na fila. */
+    @Override
+    public Iterator<E> iterator() {
+        Iterator<E> copy = snapshot(capacity).iterator();
+        return new Iterator<>() {
+            private E last;
+
+            @Override
+            public boolean hasNext() {
+                return copy.hasNext();
+            }
+
+            @Override
+            public E next() {
+                return last = copy.next();
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                removeInstance(last);
+                last = null;
+            }
+        };
+    }
+
+    /** Até {@code max} elementos publicados entre {@code head} e {@code tail}, em ordem. */
+    @SuppressWarnings("unchecked")
+    private List<E> snapshot(int max) {
+        List<E> copy = new ArrayList<>(Math.min(max, size()));
+        long end = tail.get();
+        for (long position = head.get(); position < end && copy.size() < max; position++) {
+            int i = index(position);
+            if (sequence(i) != position + 1) {
+                continue;
+            }
+            Object e = ELEMENT.getAcquire(elements, i);
+            if (e != null && e != REMOVED && sequence(i) == position + 1) { // o slot não virou a volta
+                copy.add((E) e);
+            }
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,89 @@
+package com.challenge.concurrency;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tarefa agendada no {@link SimpleThreadPool}: um {@link FutureTask} com prazo, presa a um timer
+ * da {@link TimingWheel}. Quando vence, entra no pool como um {@code execute}. Periódica, agenda a
+ * próxima execução ao terminar a atual, então nunca roda em paralelo consigo mesma; uma exceção
+ * suprime as seguintes (o mesmo contrato do {@code ScheduledThreadPoolExecutor}).
+ */
+final class ScheduledTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+    private final SimpleThreadPool pool;
+    /** 0: uma vez; &gt; 0: taxa fixa; &lt; 0: atraso fixo entre o fim de uma e o início da próxima. */
+    private final long period;
+    private volatile long deadline;
+    private volatile TimingWheel.Timeout timeout;
+
+    ScheduledTask(SimpleThreadPool pool, Callable<V> callable, long deadline) {
+        super(callable);
+        this.pool = pool;
+        this.deadline = deadline;
+        this.period = 0;
+    }
+
+    ScheduledTask(SimpleThreadPool pool, Runnable task, long deadline, long period) {
+        super(task, null);
+        this.pool = pool;
+        this.deadline = deadline;
+        this.period = period;
+    }
+
+    long deadline() {
+        return deadline;
+    }
+
+    /** Prende a tarefa ao timer; um cancel que chegou antes dele também cancela o timer. */
+    void armed(TimingWheel.Timeout t) {
+        timeout = t;
+        if (isCancelled()) {
+            t.cancel();
+        }
+    }
+
+    @Override
+    public boolean isPeriodic() {
+        return period != 0;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        if (other == this) {
+            return 0;
+        }
+        long diff = other instanceof ScheduledTask
+                ? deadline - ((ScheduledTask<?>) other).deadline
+                : getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS);
+        return Long.signum(diff);
+    }
+
+    @Override
+    public void run() {
+        if (!isPeriodic()) {
+            super.run();
+        } else if (runAndReset()) {
+            deadline = period > 0 ? deadline + period : System.nanoTime() - period;
+            pool.reschedule(this);
+        }
+    }
+
+    /** Cancela também o timer (O(1)), para a roda não carregar a tarefa até o prazo. */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        TimingWheel.Timeout t = timeout;
+        if (cancelled && t != null) {
+            t.cancel();
+        }
+        return cancelled;
+    }
+}
@@ -1,59 +1,1088 @@
 package com.challenge.concurrency;
 
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 /**
- * Um ThreadPool minimalista que cobre 90 % das perguntas de entrevista.
+ * Um ThreadPool minimalista que cobre 90 % das perguntas de entrevista.
  * Demonstra: fila de tarefas (`BlockingQueue`), marcação de shutdown e workers.
+ *
+ * <p>Três modos ({@link Mode}): todos os workers numa fila compartilhada, work stealing
+ * (cada worker com o seu deque, os ociosos roubam dos outros) ou uma virtual thread por tarefa.
+ *
+ * <p>É um {@link java.util.concurrent.ExecutorService}: {@code submit} devolve {@code Future},
+ * {@code invokeAll}/{@code invokeAny} vêm de {@link AbstractExecutorService}. Com a fila cheia,
+ * a {@link RejectionPolicy} decide (o padrão bloqueia o produtor até abrir espaço).
+ * {@link #shutdown()} para de aceitar tarefas mas executa todas as que já estavam na fila.
+ *
+ * <p>No modo {@link Mode#SHARED_QUEUE} o pool pode ser elástico: começa com {@code corePoolSize}
+ * workers, cresce até {@code maxPoolSize} quando a espera prevista na fila passa de
+ * {@code targetQueueWait}, e workers além do core saem após {@code keepAlive} ociosos.
+ *
+ * <p>{@link #metrics()} devolve contadores, histogramas de espera e execução e a utilização de
+ * cada worker; {@link #registerMBean} expõe o mesmo por JMX.
+ *
+ * <p>É também um {@link ScheduledExecutorService}: {@code schedule} e {@code scheduleAtFixedRate}
+ * guardam a tarefa numa {@link TimingWheel} (agendar e cancelar em O(1), resolução de 1 ms), que
+ * a enfileira no pool quando vence, sem passar pela {@link RejectionPolicy}. A roda e a sua
+ * thread só nascem no primeiro agendamento. O shutdown cancela as agendadas que ainda não rodaram.
  */
-public class SimpleThreadPool implements AutoCloseable {
+public class SimpleThreadPool extends AbstractExecutorService implements ScheduledExecutorService, AutoCloseable {
+    /** Quantas tarefas externas um worker traz de uma vez para o seu deque (um lock por lote). */
+    private static final int INBOUND_BATCH = 32;
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final AtomicInteger POOL_IDS = new AtomicInteger();
+    private static final long TIMER_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    /**
+     * Maior {@code queueCapacity} aceito. O {@link RingBufferQueue} aloca os slots na construção
+     * (12 B cada, ~48 MB neste teto), então não há fila "ilimitada" com {@code Integer.MAX_VALUE}.
+     */
+    public static final int MAX_QUEUE_CAPACITY = 1 << 22;
+    /** Teto de atraso e período, para {@code nanoTime() + atraso} não estourar. */
+    private static final long MAX_DELAY_NANOS = Long.MAX_VALUE >> 2;
+
+    /** Como as tarefas chegam aos workers. */
+    public enum Mode {
+        /** Um {@link RingBufferQueue} para todos: cada submit e cada take disputam o mesmo contador com CAS. */
+        SHARED_QUEUE,
+        /**
+         * Um deque por worker ({@link WorkStealingDeque}). Submits de fora vão para a fila de entrada,
+         * que os workers esvaziam em lotes; submits de dentro de um worker vão direto para o deque
+         * dele, sem lock e sem limite de capacidade. Worker sem trabalho rouba do início do deque dos outros.
+         */
+        WORK_STEALING,
+        /**
+         * Uma virtual thread por tarefa (JDK 21+), sem workers: {@code poolSize} vira o máximo de
+         * tarefas simultâneas, controlado por um {@link Semaphore}, e {@code queueCapacity} não
+         * é usado (sem permit livre, vale a {@link RejectionPolicy}). Tarefas que bloqueiam em I/O
+         * liberam o carrier em vez de prender uma thread do pool; o pinning (bloqueio preso ao
+         * carrier) é contado em {@link #pinnedEvents()}.
+         */
+        VIRTUAL_THREADS
+    }
+
     private final BlockingQueue<Runnable> taskQueue;
-    private final Worker[] workers;
+    /** Cópia na escrita (sob {@code mainLock}): só muda no modo elástico. */
+    private volatile Worker[] workers;
+    private final Mode mode;
+    private final int corePoolSize;
+    private final int maxPoolSize;
+    private final long keepAliveNanos;
+    private final long targetQueueWaitNanos;
+    private final ReentrantLock mainLock = new ReentrantLock();
+    private final AtomicInteger workerIds = new AtomicInteger();
+    private final AtomicLong lastGrowNanos = new AtomicLong();
+    private final RejectionPolicy rejectionPolicy;
+    private final AtomicInteger idleWorkers = new AtomicInteger();
+    private final AtomicBoolean waking = new AtomicBoolean();
+    private final Semaphore permits;
+    private final ThreadFactory virtualThreads;
+    private final Set<Thread> running;
+    private final PinningMonitor pinning;
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder saturated = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    /** Workers que já saíram (sob {@code mainLock}), ou todas as tarefas no modo virtual. */
+    private final WorkerStats retiredStats = new WorkerStats(0);
+    private volatile ObjectName mbeanName;
+    /** Criada no primeiro {@code schedule} (sob {@code mainLock}). */
+    private volatile TimingWheel timers;
+    /** A thread da roda ainda não saiu: o pool só termina depois dela. */
+    private volatile boolean timersRunning;
+    /** Workers vivos, ou tarefas em execução no modo virtual; o pool termina quando zera após o shutdown. */
+    private final AtomicInteger live = new AtomicInteger();
+    private final CountDownLatch terminated = new CountDownLatch(1);
     private volatile boolean shuttingDown = false;
+    private volatile boolean stopping = false;
 
+    /**
+     * @param queueCapacity tamanho da fila, de 1 a {@value #MAX_QUEUE_CAPACITY}. Ela é alocada
+     *                      inteira na construção, ao contrário da {@code LinkedBlockingQueue}:
+     *                      {@code Integer.MAX_VALUE} como "sem limite" é rejeitado
+     * @throws IllegalArgumentException se {@code queueCapacity} está fora desse intervalo
+     */
     public SimpleThreadPool(int poolSize, int queueCapacity) {
-        this.taskQueue = new LinkedBlockingQueue<>(queueCapacity);
-        this.workers = new Worker[poolSize];
+        this(poolSize, queueCapacity, Mode.SHARED_QUEUE);
+    }
+
+    public SimpleThreadPool(int poolSize, int queueCapacity, Mode mode) {
+        this(poolSize, queueCapacity, mode, RejectionPolicy.block());
+    }
+
+    public SimpleThreadPool(int poolSize, int queueCapacity, Mode mode, RejectionPolicy rejectionPolicy) {
+        this(mode, poolSize, poolSize, Duration.ZERO, Duration.ZERO, queueCapacity, rejectionPolicy);
+    }
+
+    /**
+     * Pool elástico (modo {@link Mode#SHARED_QUEUE}). A decisão de crescer vem da espera prevista
+     * na fila, {@code profundidade × tempo médio de execução / workers}, ou da espera média medida,
+     * o que for maior; não de quão cheia a fila está. Uma fila cheia de tarefas rápidas não cria
+     * workers; poucas tarefas lentas enfileiradas criam.
+     *
+     * @param keepAlive       quanto um worker além do core fica ocioso antes de sair
+     * @param targetQueueWait espera na fila acima da qual o pool cresce (no máximo um worker a
+     *                        cada {@code targetQueueWait / 4}, para as médias acompanharem)
+     */
+    public SimpleThreadPool(int corePoolSize, int maxPoolSize, Duration keepAlive, Duration targetQueueWait,
+            int queueCapacity, RejectionPolicy rejectionPolicy) {
+        this(Mode.SHARED_QUEUE, corePoolSize, maxPoolSize, keepAlive, targetQueueWait, queueCapacity,
+                rejectionPolicy);
+    }
+
+    private SimpleThreadPool(Mode mode, int corePoolSize, int maxPoolSize, Duration keepAlive,
+            Duration targetQueueWait, int queueCapacity, RejectionPolicy rejectionPolicy) {
+        if (corePoolSize < 1 || maxPoolSize < corePoolSize) {
+            throw new IllegalArgumentException("Esperado 1 <= corePoolSize <= maxPoolSize");
+        }
+        if (mode != Mode.SHARED_QUEUE && maxPoolSize != corePoolSize) {
+            throw new IllegalArgumentException("Pool elástico só no modo SHARED_QUEUE");
+        }
+        if (mode != Mode.VIRTUAL_THREADS && (queueCapacity < 1 || queueCapacity > MAX_QUEUE_CAPACITY)) {
+            throw new IllegalArgumentException("Esperado 1 <= queueCapacity <= " + MAX_QUEUE_CAPACITY
+                    + ": a fila é pré-alocada, não há capacidade ilimitada");
+        }
+        this.mode = mode;
+        this.corePoolSize = corePoolSize;
+        this.maxPoolSize = maxPoolSize;
+        this.keepAliveNanos = keepAlive.toNanos();
+        this.targetQueueWaitNanos = targetQueueWait.toNanos();
+        this.rejectionPolicy = Objects.requireNonNull(rejectionPolicy);
+        int poolSize = corePoolSize;
+        if (mode == Mode.VIRTUAL_THREADS) {
+            this.taskQueue = new RingBufferQueue<>(1); // sempre vazia: cada tarefa ganha a sua thread
+            String prefix = "simple-pool-" + POOL_IDS.incrementAndGet() + "-virtual-";
+            this.permits = new Semaphore(poolSize);
+            this.virtualThreads = VirtualThreads.factory(prefix);
+            this.running = ConcurrentHashMap.newKeySet();
+            this.pinning = new PinningMonitor(prefix);
+            this.workers = new Worker[0];
+            return;
+        }
+        this.taskQueue = new RingBufferQueue<>(queueCapacity); // bloqueante: worker ocioso não gasta CPU
+        this.permits = null;
+        this.virtualThreads = null;
+        this.running = null;
+        this.pinning = null;
+        Worker[] initial = new Worker[poolSize];
         for (int i = 0; i < poolSize; i++) {
-            workers[i] = new Worker("simple-pool-" + i);
-            workers[i].start();
+            initial[i] = new Worker("simple-pool-" + workerIds.getAndIncrement());
+        }
+        this.workers = initial;
+        live.set(poolSize);
+        for (Worker w : initial) {
+            w.start();
         }
     }
 
-    /** Submete uma tarefa, bloqueando se a fila estiver cheia. */
-    public void submit(Runnable task) throws InterruptedException {
+    /**
+     * Executa a tarefa num worker. Com a fila cheia (ou sem permit livre no modo virtual), aplica
+     * a {@link RejectionPolicy}. No modo {@link Mode#WORK_STEALING}, uma tarefa vinda de um worker
+     * deste pool vai para o deque local e nunca é rejeitada por capacidade.
+     *
+     * @throws RejectedExecutionException se o pool está em shutdown, ou pela política de rejeição
+     */
+    @Override
+    public void execute(Runnable task) {
+        Objects.requireNonNull(task);
+        submitted.increment();
+        try {
+            dispatch(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    private void dispatch(Runnable task) {
         if (shuttingDown) {
-            throw new IllegalStateException("ThreadPool is shutting down");
+            throw new RejectedExecutionException("ThreadPool is shutting down");
+        }
+        if (mode == Mode.WORK_STEALING) {
+            Worker local = currentWorker();
+            if (local != null) {
+                local.deque.push(new QueuedTask(task, System.nanoTime()));
+                signalIdleWorker();
+                return;
+            }
+        }
+        if (!offer(task)) {
+            saturated.increment();
+            maybeGrow();
+            rejectionPolicy.rejected(task, this);
+        }
+    }
+
+    /** Enfileira sem bloquear; {@code false} se não há espaço. Usado também pelas políticas. */
+    boolean offer(Runnable task) {
+        if (mode == Mode.VIRTUAL_THREADS) {
+            if (!permits.tryAcquire()) {
+                return false;
+            }
+            startVirtual(task, System.nanoTime());
+            return true;
+        }
+        QueuedTask queued = new QueuedTask(task, System.nanoTime());
+        if (!taskQueue.offer(queued)) {
+            return false;
+        }
+        enqueued(queued);
+        return true;
+    }
+
+    /** Enfileira esperando até {@code timeout} por espaço; {@code false} se o tempo acabou. */
+    boolean offer(Runnable task, long timeout, TimeUnit unit) throws InterruptedException {
+        if (mode == Mode.VIRTUAL_THREADS) {
+            long waitingSince = System.nanoTime(); // a espera pelo permit é a "fila" do modo virtual
+            if (!permits.tryAcquire(timeout, unit)) {
+                return false;
+            }
+            startVirtual(task, waitingSince);
+            return true;
+        }
+        QueuedTask queued = new QueuedTask(task, System.nanoTime());
+        if (!taskQueue.offer(queued, timeout, unit)) {
+            return false;
+        }
+        enqueued(queued);
+        return true;
+    }
+
+    /** Tira a tarefa mais antiga da fila (para {@link RejectionPolicy#dropOldest()}); {@code null} se vazia. */
+    Runnable pollOldest() {
+        return QueuedTask.unwrap(taskQueue.poll());
+    }
+
+    /**
+     * Executa a tarefa depois de {@code delay} (arredondado para cima ao próximo tick de 1 ms).
+     * Ao vencer, ela entra na fila sem passar pela {@link RejectionPolicy}: com o pool saturado,
+     * espera na roda e entra quando abrir espaço, atrás das que venceram antes.
+     *
+     * @throws RejectedExecutionException se o pool está em shutdown
+     */
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        Objects.requireNonNull(command);
+        return arm(new ScheduledTask<Void>(this, command, deadline(delay, unit), 0));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        Objects.requireNonNull(callable);
+        return arm(new ScheduledTask<>(this, callable, deadline(delay, unit)));
+    }
+
+    /**
+     * Execuções em {@code initialDelay}, {@code initialDelay + period}, {@code + 2 × period}...
+     * A próxima só é agendada quando a atual termina: se uma passar do período, a seguinte sai
+     * logo depois, sem sobrepor. Uma exceção encerra a série.
+     */
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        Objects.requireNonNull(command);
+        if (period <= 0) {
+            throw new IllegalArgumentException("Esperado period > 0");
         }
-        taskQueue.put(task);
+        return arm(new ScheduledTask<Void>(this, command, deadline(initialDelay, unit), clamp(unit.toNanos(period))));
     }
 
+    /** Como {@link #scheduleAtFixedRate}, mas conta {@code delay} a partir do fim de cada execução. */
     @Override
-    public void close() {
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        Objects.requireNonNull(command);
+        if (delay <= 0) {
+            throw new IllegalArgumentException("Esperado delay > 0");
+        }
+        return arm(new ScheduledTask<Void>(this, command, deadline(initialDelay, unit), -clamp(unit.toNanos(delay))));
+    }
+
+    /** Tarefas agendadas que ainda não venceram. */
+    public long scheduledTaskCount() {
+        TimingWheel wheel = timers;
+        return wheel == null ? 0 : wheel.pendingCount();
+    }
+
+    private static long deadline(long delay, TimeUnit unit) {
+        return System.nanoTime() + clamp(unit.toNanos(Math.max(0, delay)));
+    }
+
+    private static long clamp(long nanos) {
+        return Math.min(nanos, MAX_DELAY_NANOS);
+    }
+
+    private <V> ScheduledTask<V> arm(ScheduledTask<V> task) {
+        try {
+            task.armed(timers().schedule(task, task.deadline()));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+        return task;
+    }
+
+    /** Próxima execução de uma tarefa periódica; depois do shutdown a série é cancelada. */
+    void reschedule(ScheduledTask<?> task) {
+        try {
+            task.armed(timers().schedule(task, task.deadline()));
+        } catch (RejectedExecutionException e) {
+            task.cancel(false);
+        }
+    }
+
+    private TimingWheel timers() {
+        TimingWheel wheel = timers;
+        if (wheel != null) {
+            return wheel;
+        }
+        mainLock.lock();
+        try {
+            if (timers == null) {
+                if (shuttingDown) {
+                    throw new RejectedExecutionException("ThreadPool is shutting down");
+                }
+                timersRunning = true;
+                timers = new TimingWheel("simple-pool-timer", TIMER_TICK_NANOS, this::dispatchExpired, () -> {
+                    timersRunning = false;
+                    tryTerminate();
+                });
+            }
+            return timers;
+        } finally {
+            mainLock.unlock();
+        }
+    }
+
+    /**
+     * Entrega de uma agendada que venceu, na thread da roda. Não usa a {@link RejectionPolicy}:
+     * {@code block()} pararia a roda (e com ela todos os timers) até abrir espaço, e
+     * {@code callerRuns()} rodaria a tarefa na roda. Com a fila cheia devolve {@code false} e a
+     * roda tenta de novo no próximo tick.
+     */
+    private boolean dispatchExpired(Runnable task) {
+        try {
+            if (shuttingDown) {
+                throw new RejectedExecutionException("ThreadPool is shutting down");
+            }
+            if (!offer(task)) {
+                maybeGrow();
+                return false;
+            }
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+        submitted.increment();
+        return true;
+    }
+
+    /** A roda, lida sob o lock para não correr com a criação em {@link #timers()}. */
+    private TimingWheel createdTimers() {
+        mainLock.lock();
+        try {
+            return timers;
+        } finally {
+            mainLock.unlock();
+        }
+    }
+
+    /**
+     * Um shutdown entre a checagem em {@link #execute} e o enfileiramento deixaria a tarefa
+     * órfã (os workers podem já ter saído): se ela ainda está na fila, sai e é rejeitada.
+     */
+    private void enqueued(QueuedTask task) {
+        if (shuttingDown && taskQueue.remove(task)) {
+            throw new RejectedExecutionException("ThreadPool is shutting down");
+        }
+        if (mode == Mode.WORK_STEALING) {
+            signalIdleWorker();
+        } else if (maxPoolSize > corePoolSize) {
+            maybeGrow();
+        }
+    }
+
+    /**
+     * Cresce um worker se a espera prevista (lei de Little: fila × serviço / workers) ou a
+     * medida passa do alvo. Um CAS no instante do último crescimento espaça as criações.
+     */
+    private void maybeGrow() {
+        Worker[] current = workers;
+        int depth = taskQueue.size();
+        if (current.length >= maxPoolSize || depth == 0 || shuttingDown) {
+            return;
+        }
+        long predicted = depth * meanEwma(current, WorkerStats::serviceEwma) / current.length;
+        if (Math.max(predicted, meanEwma(current, WorkerStats::queueWaitEwma)) <= targetQueueWaitNanos) {
+            return;
+        }
+        long now = System.nanoTime();
+        long last = lastGrowNanos.get();
+        if (now - last >= targetQueueWaitNanos / 4 && lastGrowNanos.compareAndSet(last, now)) {
+            addWorker();
+        }
+    }
+
+    private void addWorker() {
+        live.incrementAndGet(); // antes de checar o shutdown, como em startVirtual
+        mainLock.lock();
+        try {
+            Worker[] current = workers;
+            if (!shuttingDown && current.length < maxPoolSize) {
+                Worker w = new Worker("simple-pool-" + workerIds.getAndIncrement());
+                Worker[] grown = Arrays.copyOf(current, current.length + 1);
+                grown[current.length] = w;
+                workers = grown;
+                w.start();
+                return;
+            }
+        } finally {
+            mainLock.unlock();
+        }
+        if (live.decrementAndGet() == 0) {
+            tryTerminate();
+        }
+    }
+
+    /** Worker ocioso além do core sai do array; {@code false} se o pool já está no core. */
+    private boolean retire(Worker w) {
+        mainLock.lock();
+        try {
+            if (workers.length <= corePoolSize) {
+                return false;
+            }
+            removeWorker(w);
+            return true;
+        } finally {
+            mainLock.unlock();
+        }
+    }
+
+    /** Tira o worker do array e soma os contadores dele aos de quem já saiu. */
+    private void removeWorker(Worker w) {
+        mainLock.lock();
+        try {
+            Worker[] current = workers;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == w) {
+                    Worker[] shrunk = Arrays.copyOf(current, current.length - 1);
+                    System.arraycopy(current, i + 1, shrunk, i, current.length - i - 1);
+                    workers = shrunk;
+                    retiredStats.add(w.stats);
+                    return;
+                }
+            }
+        } finally {
+            mainLock.unlock();
+        }
+    }
+
+    /**
+     * Média entre os workers que já rodaram alguma tarefa das médias móveis de cada um; 0 se
+     * nenhum rodou. Cada worker mantém a sua em {@link WorkerStats}, sem escrita compartilhada.
+     */
+    private static long meanEwma(Worker[] current, ToLongFunction<WorkerStats> ewma) {
+        long sum = 0;
+        int sampled = 0;
+        for (Worker w : current) {
+            long average = ewma.applyAsLong(w.stats);
+            if (average != 0) {
+                sum += average;
+                sampled++;
+            }
+        }
+        return sampled == 0 ? 0 : sum / sampled;
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    /** Workers vivos agora (0 no modo virtual). */
+    public int poolSize() {
+        return workers.length;
+    }
+
+    public int corePoolSize() {
+        return corePoolSize;
+    }
+
+    public int maxPoolSize() {
+        return maxPoolSize;
+    }
+
+    /** Média móvel do tempo entre entrar na fila e começar a rodar. */
+    public Duration averageQueueWait() {
+        return Duration.ofNanos(meanEwma(workers, WorkerStats::queueWaitEwma));
+    }
+
+    /** Média móvel do tempo de execução das tarefas. */
+    public Duration averageServiceTime() {
+        return Duration.ofNanos(meanEwma(workers, WorkerStats::serviceEwma));
+    }
+
+    /** Se o JDK em execução tem virtual threads (21+), exigidas por {@link Mode#VIRTUAL_THREADS}. */
+    public static boolean virtualThreadsSupported() {
+        return VirtualThreads.SUPPORTED;
+    }
+
+    /**
+     * Quantas vezes uma tarefa bloqueou presa ao carrier ({@code synchronized}, código nativo),
+     * segundo o JFR; 0 fora do modo {@link Mode#VIRTUAL_THREADS}. Atualiza a cada flush (~1 s).
+     */
+    public long pinnedEvents() {
+        return pinning == null ? 0 : pinning.events();
+    }
+
+    /** Tempo total que as tarefas passaram bloqueadas com o carrier preso. */
+    public Duration pinnedTime() {
+        return pinning == null ? Duration.ZERO : pinning.pinnedTime();
+    }
+
+    /** Foto dos contadores e histogramas; custa O(workers × buckets), feita para leitura periódica. */
+    public ThreadPoolMetrics metrics() {
+        long now = System.nanoTime();
+        WorkerStats total = new WorkerStats(0);
+        mainLock.lock();
+        try {
+            total.add(retiredStats);
+        } finally {
+            mainLock.unlock();
+        }
+        Worker[] current = workers;
+        List<ThreadPoolMetrics.WorkerMetrics> perWorker = new ArrayList<>(current.length);
+        int active = mode == Mode.VIRTUAL_THREADS ? live.get() : 0;
+        int queued = taskQueue.size();
+        for (Worker w : current) {
+            total.add(w.stats);
+            perWorker.add(new ThreadPoolMetrics.WorkerMetrics(w.getName(), w.stats.tasks(),
+                    Duration.ofNanos(w.stats.busyNanos()), Duration.ofNanos(now - w.stats.startedAt)));
+            active += w.isRunningTask() ? 1 : 0;
+            queued += w.deque.size();
+        }
+        return new ThreadPoolMetrics(current.length, active, queued, submitted.sum(), total.tasks(),
+                saturated.sum(), rejected.sum(), total.queueWait.snapshot(), total.service.snapshot(), perWorker);
+    }
+
+    /**
+     * Registra o pool no MBeanServer da plataforma como
+     * {@code com.challenge.concurrency:type=SimpleThreadPool,name=<name>}; sai do registro
+     * quando o pool termina.
+     */
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = new ObjectName("com.challenge.concurrency:type=SimpleThreadPool,name="
+                    + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new Jmx(this), objectName);
+            mbeanName = objectName;
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Falha ao registrar o MBean " + name, e);
+        }
+    }
+
+    /**
+     * Para de aceitar tarefas; as que já estão na fila (e nos deques) ainda rodam, as agendadas
+     * que não entraram na fila são canceladas. Não espera: use {@link #awaitTermination} para
+     * isso. Só interrompe workers ociosos, nunca uma tarefa.
+     */
+    @Override
+    public void shutdown() {
         shuttingDown = true;
+        for (Worker w : workers) {
+            w.interruptIfIdle();
+        }
+        TimingWheel wheel = createdTimers();
+        if (wheel != null) {
+            wheel.stop();
+        }
+        tryTerminate();
+    }
+
+    /**
+     * Para de aceitar, descarta a fila e as agendadas (devolvendo as tarefas que não rodaram) e
+     * interrompe as que estão rodando.
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        stopping = true;
+        shuttingDown = true;
+        List<Runnable> pending = new ArrayList<>();
+        TimingWheel wheel = createdTimers();
+        if (wheel != null) {
+            pending.addAll(wheel.stopNow());
+        }
+        taskQueue.drainTo(pending);
+        for (Worker w : workers) {
+            while (!w.deque.isEmpty()) {
+                Runnable task = w.deque.steal();
+                if (task != null) {
+                    pending.add(task);
+                }
+            }
+        }
+        pending.replaceAll(QueuedTask::unwrap);
         for (Worker w : workers) {
             w.interrupt();
         }
+        if (running != null) {
+            running.forEach(Thread::interrupt);
+        }
+        tryTerminate();
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shuttingDown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    /**
+     * {@link #shutdown()} e espera a fila esvaziar. Se a thread que fecha for interrompida,
+     * passa para {@link #shutdownNow()} (mesmo contrato do {@code ExecutorService.close()} do JDK 19+).
+     */
+    @Override
+    public void close() {
+        shutdown();
+        boolean interrupted = false;
+        while (!isTerminated()) {
+            try {
+                awaitTermination(1, TimeUnit.DAYS);
+            } catch (InterruptedException e) {
+                if (!interrupted) {
+                    shutdownNow();
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void tryTerminate() {
+        if (shuttingDown && live.get() == 0 && !timersRunning && terminated.getCount() > 0) {
+            if (pinning != null) {
+                pinning.close();
+            }
+            unregisterMBean();
+            terminated.countDown();
+        }
+    }
+
+    private void unregisterMBean() {
+        ObjectName name = mbeanName;
+        if (name == null) {
+            return;
+        }
+        mbeanName = null;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (JMException e) {
+            // já removido
+        }
+    }
+
+    /** Chamado com o permit já adquirido; o {@code live} é incrementado antes de checar o shutdown. */
+    private void startVirtual(Runnable task, long enqueuedAt) {
+        live.incrementAndGet();
+        if (shuttingDown) {
+            permits.release();
+            live.decrementAndGet();
+            tryTerminate();
+            throw new RejectedExecutionException("ThreadPool is shutting down");
+        }
+        Thread thread = virtualThreads.newThread(() -> {
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                retiredStats.recordConcurrent(start - enqueuedAt, System.nanoTime() - start);
+                running.remove(Thread.currentThread());
+                permits.release();
+                if (live.decrementAndGet() == 0) {
+                    tryTerminate();
+                }
+            }
+        });
+        running.add(thread);
+        thread.start();
+    }
+
+    private Worker currentWorker() {
+        Thread current = Thread.currentThread();
+        if (current instanceof Worker && ((Worker) current).pool() == this) {
+            return (Worker) current;
+        }
+        return null;
+    }
+
+    /**
+     * Acorda um worker estacionado, se houver. Só um acorda por vez ({@code waking}): ao achar
+     * tarefa, ele acorda o próximo se ainda sobrar trabalho. Sem isso, cada submit numa rajada
+     * faria um unpark (syscall e troca de contexto) mesmo com workers já a caminho.
+     */
+    private void signalIdleWorker() {
+        if (idleWorkers.get() == 0 || waking.get() || !waking.compareAndSet(false, true)) {
+            return;
+        }
+        for (Worker w : workers) {
+            if (w.parked.compareAndSet(true, false)) {
+                idleWorkers.decrementAndGet();
+                LockSupport.unpark(w);
+                return;
+            }
+        }
+        waking.set(false);
+    }
+
+    private boolean hasQueuedWork() {
+        if (!taskQueue.isEmpty()) {
+            return true;
+        }
+        for (Worker w : workers) {
+            if (!w.deque.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private class Worker extends Thread {
+        final WorkStealingDeque deque = new WorkStealingDeque(64);
+        final AtomicBoolean parked = new AtomicBoolean();
+        final WorkerStats stats = new WorkerStats(System.nanoTime());
+        /** Seguro enquanto roda uma tarefa: o shutdown só interrompe quem consegue travá-lo (ocioso). */
+        private final ReentrantLock runLock = new ReentrantLock();
+        private final List<Runnable> batch = new ArrayList<>(INBOUND_BATCH);
+
         Worker(String name) {
             super(name);
         }
 
+        SimpleThreadPool pool() {
+            return SimpleThreadPool.this;
+        }
+
+        boolean isRunningTask() {
+            return runLock.isLocked();
+        }
+
+        void interruptIfIdle() {
+            if (runLock.tryLock()) {
+                try {
+                    interrupt();
+                } finally {
+                    runLock.unlock();
+                }
+            }
+        }
+
         public void run() {
-            while (!shuttingDown || !taskQueue.isEmpty()) {
+            try {
+                if (mode == Mode.WORK_STEALING) {
+                    runStealing();
+                } else {
+                    runShared();
+                }
+            } finally {
+                if (mode == Mode.SHARED_QUEUE) {
+                    removeWorker(this); // no work stealing o deque de quem morreu continua visível aos ladrões
+                }
+                if (live.decrementAndGet() == 0) {
+                    tryTerminate();
+                }
+            }
+        }
+
+        private void runShared() {
+            while (true) {
+                boolean timed = workers.length > corePoolSize;
+                Runnable task;
                 try {
-                    Runnable task = taskQueue.poll(1, TimeUnit.SECONDS);
+                    task = shuttingDown ? taskQueue.poll()
+                            : timed ? taskQueue.poll(keepAliveNanos, TimeUnit.NANOSECONDS) : taskQueue.take();
+                } catch (InterruptedException e) {
+                    continue; // shutdown acordou o worker ocioso: reavalia
+                }
+                if (task != null) {
+                    runTask(task);
+                } else if (shuttingDown || retire(this)) {
+                    return; // shutdown e fila vazia, ou ocioso além do core por keepAlive
+                }
+            }
+        }
+
+        private void runStealing() {
+            boolean signalled = false;
+            while (true) {
+                Runnable task = findTask();
+                if (signalled) {
+                    // Fim da busca do worker acordado: passa o bastão se ainda há fila
+                    signalled = false;
+                    waking.set(false);
+                    if (task != null && hasQueuedWork()) {
+                        signalIdleWorker();
+                    }
+                }
+                if (task != null) {
+                    runTask(task);
+                } else if (shuttingDown && !hasQueuedWork()) {
+                    return;
+                } else {
+                    signalled = awaitWork();
+                }
+            }
+        }
+
+        /**
+         * Uma exceção da tarefa vai para o {@code UncaughtExceptionHandler} e o worker segue vivo,
+         * inclusive um {@link Error}: um worker morto não seria reposto, e a fila podia ficar sem
+         * ninguém para drená-la. Um interrupt que chegou enquanto estava ocioso não vaza para a
+         * tarefa (só o do shutdownNow).
+         */
+        private void runTask(Runnable next) {
+            QueuedTask queued = (QueuedTask) next;
+            long start = System.nanoTime();
+            long waited = start - queued.enqueuedAt;
+            runLock.lock();
+            try {
+                if (!stopping) {
+                    Thread.interrupted();
+                }
+                queued.task.run();
+            } catch (Throwable e) {
+                getUncaughtExceptionHandler().uncaughtException(this, e);
+            } finally {
+                runLock.unlock();
+                stats.record(waited, System.nanoTime() - start);
+            }
+        }
+
+        /** Deque local (LIFO, cache quente), depois a fila de entrada, depois roubo. */
+        private Runnable findTask() {
+            Runnable task = deque.pop();
+            if (task == null) {
+                task = pollInbound();
+            }
+            if (task == null) {
+                task = stealFromOthers();
+            }
+            return task;
+        }
+
+        /** Traz um lote da fila de entrada para o deque, na ordem em que os pops o devolvem (FIFO). */
+        private Runnable pollInbound() {
+            if (taskQueue.isEmpty() || taskQueue.drainTo(batch, INBOUND_BATCH) == 0) {
+                return null;
+            }
+            for (int i = batch.size() - 1; i > 0; i--) {
+                deque.push(batch.get(i));
+            }
+            Runnable first = batch.get(0);
+            boolean shareable = batch.size() > 1;
+            batch.clear();
+            if (shareable) {
+                signalIdleWorker();
+            }
+            return first;
+        }
+
+        private Runnable stealFromOthers() {
+            int n = workers.length;
+            int start = ThreadLocalRandom.current().nextInt(n);
+            for (int i = 0; i < n; i++) {
+                Worker victim = workers[(start + i) % n];
+                if (victim != this) {
+                    Runnable task = victim.deque.steal();
                     if (task != null) {
-                        task.run();
+                        return task;
                     }
-                } catch (InterruptedException ignored) {
-                    // permite que o worker finalize
                 }
             }
+            return null;
+        }
+
+        /**
+         * Estaciona até um submit acordar. Marca-se ocioso antes de olhar as filas de novo:
+         * ou esta releitura vê a tarefa, ou quem submeteu vê o worker ocioso e o acorda.
+         *
+         * @return se foi acordado por {@link #signalIdleWorker()} (e agora detém o {@code waking})
+         */
+        private boolean awaitWork() {
+            Thread.interrupted(); // um interrupt pendente faria o park retornar na hora
+            parked.set(true);
+            idleWorkers.incrementAndGet();
+            if (!hasQueuedWork() && !shuttingDown) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            if (parked.compareAndSet(true, false)) {
+                idleWorkers.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /** {@code Thread.ofVirtual()} por reflexão: o módulo compila para 17 e só usa se o JDK tiver. */
+    private static final class VirtualThreads {
+        static final boolean SUPPORTED;
+        private static final Method OF_VIRTUAL;
+        private static final Method NAME;
+        private static final Method FACTORY;
+
+        static {
+            Method ofVirtual = null;
+            Method name = null;
+            Method factory = null;
+            try {
+                Class<?> builder = Class.forName("java.lang.Thread$Builder");
+                ofVirtual = Thread.class.getMethod("ofVirtual");
+                name = builder.getMethod("name", String.class, long.class);
+                factory = builder.getMethod("factory");
+            } catch (ReflectiveOperationException e) {
+                ofVirtual = null; // JDK < 21
+            }
+            SUPPORTED = ofVirtual != null;
+            OF_VIRTUAL = ofVirtual;
+            NAME = name;
+            FACTORY = factory;
+        }
+
+        static ThreadFactory factory(String prefix) {
+            if (!SUPPORTED) {
+                throw new UnsupportedOperationException("Virtual threads exigem JDK 21+ (em uso: "
+                        + Runtime.version() + ")");
+            }
+            try {
+                Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), prefix, 0L);
+                return (ThreadFactory) FACTORY.invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Falha ao criar a factory de virtual threads", e);
+            }
+        }
+    }
+
+    /** Adaptador JMX: cada atributo lê uma foto nova de {@link #metrics()}. */
+    private static final class Jmx implements SimpleThreadPoolMXBean {
+        private final SimpleThreadPool pool;
+
+        Jmx(SimpleThreadPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public String getMode() {
+            return pool.mode().name();
+        }
+
+        @Override
+        public int getPoolSize() {
+            return pool.poolSize();
+        }
+
+        @Override
+        public int getActiveCount() {
+            return pool.metrics().activeCount();
+        }
+
+        @Override
+        public int getQueuedTaskCount() {
+            return pool.metrics().queuedCount();
+        }
+
+        @Override
+        public long getSubmittedTaskCount() {
+            return pool.submitted.sum();
+        }
+
+        @Override
+        public long getCompletedTaskCount() {
+            return pool.metrics().completedCount();
+        }
+
+        @Override
+        public long getSaturatedCount() {
+            return pool.saturated.sum();
+        }
+
+        @Override
+        public long getRejectedTaskCount() {
+            return pool.rejected.sum();
+        }
+
+        @Override
+        public double getUtilization() {
+            return pool.metrics().utilization();
+        }
+
+        @Override
+        public long getQueueWaitP50Micros() {
+            return micros(pool.metrics().queueWait().percentile(50));
+        }
+
+        @Override
+        public long getQueueWaitP99Micros() {
+            return micros(pool.metrics().queueWait().percentile(99));
+        }
+
+        @Override
+        public long getQueueWaitMaxMicros() {
+            return micros(pool.metrics().queueWait().max());
+        }
+
+        @Override
+        public long getServiceTimeP50Micros() {
+            return micros(pool.metrics().serviceTime().percentile(50));
+        }
+
+        @Override
+        public long getServiceTimeP99Micros() {
+            return micros(pool.metrics().serviceTime().percentile(99));
+        }
+
+        @Override
+        public long getServiceTimeMaxMicros() {
+            return micros(pool.metrics().serviceTime().max());
+        }
+
+        private static long micros(Duration duration) {
+            return duration.toNanos() / 1_000;
         }
     }
-}
\ No newline at end of file
+}
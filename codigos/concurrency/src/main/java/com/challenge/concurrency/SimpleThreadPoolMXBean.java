@@ -0,0 +1,38 @@
+package com.challenge.concurrency;
+
+/**
+ * Atributos JMX de um {@link SimpleThreadPool} (registrado com {@link SimpleThreadPool#registerMBean}).
+ * Cada leitura tira um {@link ThreadPoolMetrics} novo; tempos em microssegundos.
+ */
+public interface SimpleThreadPoolMXBean {
+
+    String getMode();
+
+    int getPoolSize();
+
+    int getActiveCount();
+
+    int getQueuedTaskCount();
+
+    long getSubmittedTaskCount();
+
+    long getCompletedTaskCount();
+
+    long getSaturatedCount();
+
+    long getRejectedTaskCount();
+
+    double getUtilization();
+
+    long getQueueWaitP50Micros();
+
+    long getQueueWaitP99Micros();
+
+    long getQueueWaitMaxMicros();
+
+    long getServiceTimeP50Micros();
+
+    long getServiceTimeP99Micros();
+
+    long getServiceTimeMaxMicros();
+}
@@ -0,0 +1,104 @@
+package com.challenge.concurrency;
+
+import java.time.Duration;
+
+/**
+ * Foto de um estágio do {@link Pipeline}: quanto ele processou, quão cheio está o buffer na sua
+ * entrada e onde os seus workers gastaram o tempo. O gargalo é o estágio com a maior
+ * {@link #utilization()}: os de antes dele ficam com o buffer de entrada cheio e passam o tempo
+ * bloqueados publicando; os de depois ficam com o buffer vazio, esperando.
+ *
+ * <p>Os tempos contam lotes terminados: com o pipeline parado de vez, quem mostra onde é a
+ * {@link #occupancy()}.
+ */
+public final class StageMetrics {
+    private final String name;
+    private final int parallelism;
+    private final long processedCount;
+    private final int queuedCount;
+    private final int capacity;
+    private final int batchLimit;
+    private final Duration busyTime;
+    private final Duration blockedTime;
+    private final Duration elapsed;
+
+    StageMetrics(String name, int parallelism, long processedCount, int queuedCount, int capacity, int batchLimit,
+            Duration busyTime, Duration blockedTime, Duration elapsed) {
+        this.name = name;
+        this.parallelism = parallelism;
+        this.processedCount = processedCount;
+        this.queuedCount = queuedCount;
+        this.capacity = capacity;
+        this.batchLimit = batchLimit;
+        this.busyTime = busyTime;
+        this.blockedTime = blockedTime;
+        this.elapsed = elapsed;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /** Workers do estágio. */
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /** Elementos que o estágio já tirou do buffer e entregou à função (ou ao sink). */
+    public long processedCount() {
+        return processedCount;
+    }
+
+    /** Elementos por segundo desde que o pipeline foi montado. */
+    public double throughput() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : processedCount * 1e9 / nanos;
+    }
+
+    /** Elementos esperando no buffer de entrada agora. */
+    public int queuedCount() {
+        return queuedCount;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /** O maior limite de lote atual entre os workers: quanto cada um pode ter em mãos fora do buffer. */
+    public int batchLimit() {
+        return batchLimit;
+    }
+
+    /** Ocupação do buffer de entrada, de 0 a 1. */
+    public double occupancy() {
+        return (double) queuedCount / capacity;
+    }
+
+    /** Tempo dos workers processando lotes, somado entre eles; inclui o {@link #blockedTime()}. */
+    public Duration busyTime() {
+        return busyTime;
+    }
+
+    /** Tempo dos workers esperando espaço no buffer do próximo estágio (back-pressure). */
+    public Duration blockedTime() {
+        return blockedTime;
+    }
+
+    /** Desde que o pipeline foi montado (até o {@code close}, se já fechou). */
+    public Duration elapsed() {
+        return elapsed;
+    }
+
+    /** Fração do tempo dos workers gasta no trabalho do próprio estágio, de 0 a 1. */
+    public double utilization() {
+        long nanos = elapsed.toNanos() * parallelism;
+        return nanos == 0 ? 0 : Math.min(1, (double) busyTime.minus(blockedTime).toNanos() / nanos);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s[x%d processed=%d throughput=%.0f/s queued=%d/%d utilization=%.0f%% blocked=%dms]",
+                name, parallelism, processedCount, throughput(), queuedCount, capacity, utilization() * 100,
+                blockedTime.toMillis());
+    }
+}
@@ -0,0 +1,139 @@
+package com.challenge.concurrency;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Foto do {@link SimpleThreadPool} num instante: contadores, histogramas de espera na fila e de
+ * execução (somando todos os workers, inclusive os que já saíram) e a utilização de cada worker.
+ * Leituras sem lock: os números de workers diferentes podem estar defasados entre si por
+ * algumas tarefas.
+ */
+public final class ThreadPoolMetrics {
+    private final int poolSize;
+    private final int activeCount;
+    private final int queuedCount;
+    private final long submittedCount;
+    private final long completedCount;
+    private final long saturatedCount;
+    private final long rejectedCount;
+    private final HistogramSnapshot queueWait;
+    private final HistogramSnapshot serviceTime;
+    private final List<WorkerMetrics> workers;
+
+    ThreadPoolMetrics(int poolSize, int activeCount, int queuedCount, long submittedCount, long completedCount,
+            long saturatedCount, long rejectedCount, HistogramSnapshot queueWait, HistogramSnapshot serviceTime,
+            List<WorkerMetrics> workers) {
+        this.poolSize = poolSize;
+        this.activeCount = activeCount;
+        this.queuedCount = queuedCount;
+        this.submittedCount = submittedCount;
+        this.completedCount = completedCount;
+        this.saturatedCount = saturatedCount;
+        this.rejectedCount = rejectedCount;
+        this.queueWait = queueWait;
+        this.serviceTime = serviceTime;
+        this.workers = List.copyOf(workers);
+    }
+
+    /** Workers vivos (0 no modo virtual). */
+    public int poolSize() {
+        return poolSize;
+    }
+
+    /** Tarefas rodando agora. */
+    public int activeCount() {
+        return activeCount;
+    }
+
+    /** Tarefas esperando na fila e nos deques. */
+    public int queuedCount() {
+        return queuedCount;
+    }
+
+    /** Chamadas a {@code execute}/{@code submit}, aceitas ou não. */
+    public long submittedCount() {
+        return submittedCount;
+    }
+
+    public long completedCount() {
+        return completedCount;
+    }
+
+    /** Vezes em que a fila estava cheia e a {@link RejectionPolicy} foi chamada. */
+    public long saturatedCount() {
+        return saturatedCount;
+    }
+
+    /** Tarefas recusadas com {@code RejectedExecutionException} (pela política ou por shutdown). */
+    public long rejectedCount() {
+        return rejectedCount;
+    }
+
+    /** Tempo entre a submissão e o início da execução. */
+    public HistogramSnapshot queueWait() {
+        return queueWait;
+    }
+
+    public HistogramSnapshot serviceTime() {
+        return serviceTime;
+    }
+
+    public List<WorkerMetrics> workers() {
+        return workers;
+    }
+
+    /** Fração do tempo de vida dos workers atuais gasta executando tarefas. */
+    public double utilization() {
+        long busy = 0;
+        long alive = 0;
+        for (WorkerMetrics w : workers) {
+            busy += w.busyTime.toNanos();
+            alive += w.aliveTime.toNanos();
+        }
+        return alive == 0 ? 0 : (double) busy / alive;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("pool=%d active=%d queued=%d completed=%d rejected=%d utilization=%.2f%n"
+                + "  queueWait   %s%n  serviceTime %s", poolSize, activeCount, queuedCount, completedCount,
+                rejectedCount, utilization(), queueWait, serviceTime);
+    }
+
+    /** Um worker: quantas tarefas rodou e quanto do seu tempo de vida passou ocupado. */
+    public static final class WorkerMetrics {
+        private final String name;
+        private final long completedCount;
+        private final Duration busyTime;
+        private final Duration aliveTime;
+
+        WorkerMetrics(String name, long completedCount, Duration busyTime, Duration aliveTime) {
+            this.name = name;
+            this.completedCount = completedCount;
+            this.busyTime = busyTime;
+            this.aliveTime = aliveTime;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public long completedCount() {
+            return completedCount;
+        }
+
+        public Duration busyTime() {
+            return busyTime;
+        }
+
+        public Duration aliveTime() {
+            return aliveTime;
+        }
+
+        public double utilization() {
+            long alive = aliveTime.toNanos();
+            return alive == 0 ? 0 : Math.min(1.0, (double) busyTime.toNanos() / alive);
+        }
+    }
+}
@@ -0,0 +1,402 @@
+package com.challenge.concurrency;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Timing wheel hierárquica (Varghese &amp; Lauck): {@value #LEVELS} rodas de {@value #WHEEL_SIZE}
+ * slots. Na roda 0 cada slot é um tick; cada slot de uma roda acima cobre a roda de baixo
+ * inteira. Um timer entra na roda mais baixa que alcança o seu prazo, no slot dado pelos bits do
+ * tick do prazo naquela roda. Quando a roda de baixo dá a volta, o slot da vez na roda de cima
+ * desce inteiro (cascata) e cada timer dele cai numa roda mais baixa, até disparar na roda 0.
+ *
+ * <p>Agendar e cancelar são O(1): achar o slot é um {@code numberOfLeadingZeros} e um
+ * deslocamento, e cada slot é uma lista duplamente ligada. Num heap ({@code DelayQueue},
+ * {@code ScheduledThreadPoolExecutor}) os dois são O(log n) sob um lock. O preço é a
+ * resolução: um timer dispara no primeiro tick depois do prazo, nunca antes; timers do mesmo
+ * tick disparam em qualquer ordem.
+ *
+ * <p>Só a thread da roda (o ticker) mexe nos slots. Quem agenda ou cancela empilha o timer numa
+ * de duas pilhas sem lock, ligadas pelos próprios timers; a cada tick o ticker traz os novos,
+ * tira os cancelados, faz as cascatas e entrega os vencidos ao {@link Dispatcher}. Sem timers,
+ * o ticker dorme até o próximo agendamento em vez de acordar a cada tick.
+ *
+ * <p>A entrega nunca bloqueia o ticker: um vencido que o dispatcher recusa por falta de espaço
+ * espera numa fila de transbordo e é oferecido de novo a cada tick, antes dos que vencem nele.
+ * Os outros timers seguem vencendo e sendo cancelados no seu tick enquanto isso.
+ */
+final class TimingWheel {
+    static final int WHEEL_BITS = 6;
+    static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    static final int LEVELS = 6;
+    private static final int MASK = WHEEL_SIZE - 1;
+    /** Prazos além disso (2^36 ticks, ~2 anos com tick de 1 ms) esperam no slot mais distante e descem de novo. */
+    private static final long MAX_DELTA = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    private static final int PENDING = 0;
+    private static final int EXPIRED = 1;
+    private static final int CANCELLED = 2;
+
+    private static final VarHandle NEW_TIMEOUTS;
+    private static final VarHandle CANCELLED_TIMEOUTS;
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            NEW_TIMEOUTS = lookup.findVarHandle(TimingWheel.class, "newTimeouts", Timeout.class);
+            CANCELLED_TIMEOUTS = lookup.findVarHandle(TimingWheel.class, "cancelledTimeouts", Timeout.class);
+            STATE = lookup.findVarHandle(Timeout.class, "state", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final long tickNanos;
+    private final Dispatcher dispatcher;
+    private final Runnable onExit;
+    private final Thread ticker;
+    private final long startNanos = System.nanoTime();
+    private final LongAdder pendingCount = new LongAdder();
+    /** Topo das pilhas de Treiber de timers novos e cancelados, à espera do ticker. */
+    private volatile Timeout newTimeouts;
+    private volatile Timeout cancelledTimeouts;
+    /** O ticker está dormindo sem prazo: quem agenda precisa acordá-lo. */
+    private volatile boolean idle;
+    private volatile boolean stopped;
+    /** {@link #stopNow()}: os timers que sobraram são devolvidos, não cancelados. */
+    private volatile boolean keepUnfired;
+    private List<Runnable> unfired = List.of();
+
+    // Só o ticker lê e escreve daqui para baixo
+    private final Timeout[][] slots = new Timeout[LEVELS][WHEEL_SIZE];
+    private long currentTick;
+    private long linked;
+    /** Vencidos que o dispatcher recusou por falta de espaço, na ordem em que venceram. */
+    private final ArrayDeque<Runnable> overflow = new ArrayDeque<>();
+
+    /** Recebe as tarefas vencidas, na thread do ticker. */
+    @FunctionalInterface
+    interface Dispatcher {
+        /**
+         * Entrega sem bloquear.
+         *
+         * @return {@code false} se não há espaço agora: a roda oferece de novo no próximo tick
+         * @throws RejectedExecutionException para recusar de vez; uma {@link Future} é cancelada
+         */
+        boolean dispatch(Runnable task);
+    }
+
+    /**
+     * @param dispatcher recebe as tarefas vencidas, na thread do ticker
+     * @param onExit     chamado pelo ticker ao terminar, depois de {@link #stop()}
+     */
+    TimingWheel(String name, long tickNanos, Dispatcher dispatcher, Runnable onExit) {
+        if (tickNanos < 1) {
+            throw new IllegalArgumentException("Esperado tickNanos >= 1");
+        }
+        this.tickNanos = tickNanos;
+        this.dispatcher = dispatcher;
+        this.onExit = onExit;
+        this.ticker = new Thread(this::run, name);
+        ticker.start();
+    }
+
+    /**
+     * Agenda {@code task} para o primeiro tick em ou depois de {@code deadlineNanos}
+     * (na escala de {@link System#nanoTime()}). Prazo já passado dispara no próximo tick.
+     *
+     * @throws RejectedExecutionException se a roda já parou
+     */
+    Timeout schedule(Runnable task, long deadlineNanos) {
+        if (stopped) {
+            throw new RejectedExecutionException("Timing wheel parada");
+        }
+        long offset = deadlineNanos - startNanos;
+        Timeout timeout = new Timeout(task, offset <= 0 ? 0 : (offset + tickNanos - 1) / tickNanos);
+        pendingCount.increment();
+        Timeout top;
+        do {
+            top = newTimeouts;
+            timeout.nextNew = top;
+        } while (!NEW_TIMEOUTS.compareAndSet(this, top, timeout));
+        if (idle) {
+            LockSupport.unpark(ticker);
+        }
+        if (stopped && timeout.cancel()) {
+            throw new RejectedExecutionException("Timing wheel parada"); // o ticker pode já ter recolhido os pendentes
+        }
+        return timeout;
+    }
+
+    /** Timers agendados que ainda não dispararam nem foram cancelados. */
+    long pendingCount() {
+        return pendingCount.sum();
+    }
+
+    /**
+     * Para sem esperar: o ticker cancela as {@link Future}s dos timers que sobraram, inclusive os
+     * vencidos ainda no transbordo, e sai.
+     */
+    void stop() {
+        stopped = true;
+        LockSupport.unpark(ticker);
+    }
+
+    /**
+     * Para, interrompe o ticker (se uma tarefa rodando nele estiver bloqueada) e espera ele sair.
+     *
+     * @return as tarefas dos timers que não dispararam ou não foram entregues, sem cancelá-las
+     */
+    List<Runnable> stopNow() {
+        if (Thread.currentThread() == ticker) {
+            stop(); // uma tarefa rodando no ticker não pode esperar por ele
+            return List.of();
+        }
+        keepUnfired = true;
+        stopped = true;
+        ticker.interrupt();
+        boolean interrupted = false;
+        while (ticker.isAlive()) {
+            try {
+                ticker.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return unfired;
+    }
+
+    private void run() {
+        try {
+            while (!stopped) {
+                long target = (System.nanoTime() - startNanos) / tickNanos;
+                if (linked == 0 && target > currentTick) {
+                    currentTick = target; // roda vazia: pula os ticks sem cascatas
+                }
+                transferNew();
+                removeCancelled();
+                retryOverflow();
+                while (currentTick < target && !stopped) {
+                    advance(currentTick + 1);
+                }
+                if (linked == 0 && overflow.isEmpty()) {
+                    idle = true;
+                    if (newTimeouts == null && !stopped) {
+                        LockSupport.park(this);
+                    }
+                    idle = false;
+                } else {
+                    LockSupport.parkNanos(this, startNanos + (currentTick + 1) * tickNanos - System.nanoTime());
+                }
+            }
+        } finally {
+            exit();
+        }
+    }
+
+    private void transferNew() {
+        Timeout t = (Timeout) NEW_TIMEOUTS.getAndSet(this, null);
+        while (t != null) {
+            Timeout next = t.nextNew;
+            t.nextNew = null;
+            insert(t);
+            t = next;
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout t = (Timeout) CANCELLED_TIMEOUTS.getAndSet(this, null);
+        while (t != null) {
+            Timeout next = t.nextCancelled;
+            t.nextCancelled = null;
+            unlink(t);
+            t = next;
+        }
+    }
+
+    /** Reoferece o transbordo em ordem; para na primeira recusa, já que a próxima também esperaria. */
+    private void retryOverflow() {
+        while (!overflow.isEmpty() && !stopped) {
+            if (!deliver(overflow.peekFirst())) {
+                return;
+            }
+            overflow.pollFirst();
+        }
+    }
+
+    /** Cascatas das rodas que deram a volta neste tick, depois dispara o slot da roda 0. */
+    private void advance(long tick) {
+        currentTick = tick;
+        for (int level = 1; level < LEVELS && (tick & ((1L << (WHEEL_BITS * level)) - 1)) == 0; level++) {
+            Timeout t = detach(level, (int) (tick >>> (WHEEL_BITS * level)) & MASK);
+            while (t != null) {
+                Timeout next = t.next;
+                insert(t);
+                t = next;
+            }
+        }
+        Timeout t = detach(0, (int) tick & MASK);
+        while (t != null) {
+            Timeout next = t.next;
+            t.next = null;
+            expire(t);
+            t = next;
+        }
+    }
+
+    private void insert(Timeout t) {
+        if (t.state != PENDING) {
+            return; // cancelado antes de entrar num slot
+        }
+        long delta = t.deadlineTick - currentTick;
+        if (delta <= 0) {
+            expire(t);
+            return;
+        }
+        delta = Math.min(delta, MAX_DELTA);
+        int level = (63 - Long.numberOfLeadingZeros(delta)) / WHEEL_BITS;
+        int slot = (int) ((currentTick + delta) >>> (WHEEL_BITS * level)) & MASK;
+        Timeout head = slots[level][slot];
+        t.level = level;
+        t.slot = slot;
+        t.prev = null;
+        t.next = head;
+        if (head != null) {
+            head.prev = t;
+        }
+        slots[level][slot] = t;
+        linked++;
+    }
+
+    private void unlink(Timeout t) {
+        if (t.level < 0) {
+            return; // já saiu do slot numa cascata ou ao disparar
+        }
+        if (t.prev != null) {
+            t.prev.next = t.next;
+        } else {
+            slots[t.level][t.slot] = t.next;
+        }
+        if (t.next != null) {
+            t.next.prev = t.prev;
+        }
+        t.prev = null;
+        t.next = null;
+        t.level = -1;
+        linked--;
+    }
+
+    /** Esvazia o slot e devolve a lista, que continua encadeada por {@code next}. */
+    private Timeout detach(int level, int slot) {
+        Timeout head = slots[level][slot];
+        slots[level][slot] = null;
+        for (Timeout t = head; t != null; t = t.next) {
+            t.prev = null;
+            t.level = -1;
+            linked--;
+        }
+        return head;
+    }
+
+    private void expire(Timeout t) {
+        if (!STATE.compareAndSet(t, PENDING, EXPIRED)) {
+            return;
+        }
+        pendingCount.decrement();
+        if (!overflow.isEmpty() || !deliver(t.task)) {
+            overflow.addLast(t.task);
+        }
+    }
+
+    /** {@code true} se o dispatcher aceitou ou recusou de vez; {@code false} se é para esperar. */
+    private boolean deliver(Runnable task) {
+        try {
+            return dispatcher.dispatch(task);
+        } catch (RejectedExecutionException e) {
+            if (task instanceof Future) {
+                ((Future<?>) task).cancel(false);
+            }
+            return true;
+        }
+    }
+
+    private void exit() {
+        List<Runnable> left = new ArrayList<>(overflow);
+        overflow.clear();
+        for (Timeout t = (Timeout) NEW_TIMEOUTS.getAndSet(this, null); t != null; t = t.nextNew) {
+            collect(t, left);
+        }
+        for (Timeout[] wheel : slots) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                for (Timeout t = wheel[i]; t != null; t = t.next) {
+                    collect(t, left);
+                }
+                wheel[i] = null;
+            }
+        }
+        if (!keepUnfired) {
+            for (Runnable task : left) {
+                if (task instanceof Future) {
+                    ((Future<?>) task).cancel(false);
+                }
+            }
+        }
+        unfired = left;
+        onExit.run();
+    }
+
+    private void collect(Timeout t, List<Runnable> left) {
+        if (STATE.compareAndSet(t, PENDING, CANCELLED)) {
+            pendingCount.decrement();
+            left.add(t.task);
+        }
+    }
+
+    /** Um timer agendado; {@link #cancel()} é O(1): o ticker o tira do slot no próximo tick. */
+    final class Timeout {
+        final Runnable task;
+        final long deadlineTick;
+        private volatile int state;
+        private Timeout nextNew;
+        private Timeout nextCancelled;
+        // Posição no slot: só o ticker
+        private Timeout prev;
+        private Timeout next;
+        private int level = -1;
+        private int slot;
+
+        Timeout(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /** {@code false} se já disparou ou já foi cancelado. */
+        boolean cancel() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                return false;
+            }
+            pendingCount.decrement();
+            Timeout top;
+            do {
+                top = cancelledTimeouts;
+                nextCancelled = top;
+            } while (!CANCELLED_TIMEOUTS.compareAndSet(TimingWheel.this, top, this));
+            return true;
+        }
+
+        boolean isExpired() {
+            return state == EXPIRED;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.challenge.concurrency;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntConsumer;
+
+/** Implementações de {@link WaitStrategy}. */
+final class WaitStrategies {
+    private static final int SPINS = 100;
+    private static final int YIELDS = 100;
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    static final WaitStrategy BUSY_SPIN = (ready, nanos) -> poll(ready, nanos, attempt -> Thread.onSpinWait());
+
+    static final WaitStrategy YIELDING = (ready, nanos) -> poll(ready, nanos, attempt -> {
+        if (attempt < SPINS) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
+    });
+
+    static final WaitStrategy PARKING = (ready, nanos) -> poll(ready, nanos, attempt -> {
+        if (attempt < SPINS) {
+            Thread.onSpinWait();
+        } else if (attempt < SPINS + YIELDS) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    });
+
+    private WaitStrategies() {
+    }
+
+    /** Reavalia {@code ready} a cada volta, chamando {@code idle} entre elas. */
+    private static boolean poll(BooleanSupplier ready, long nanos, IntConsumer idle) throws InterruptedException {
+        long deadline = System.nanoTime() + nanos; // com nanos = Long.MAX_VALUE transborda, mas a diferença abaixo não
+        for (int attempt = 0; !ready.getAsBoolean(); attempt++) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (deadline - System.nanoTime() <= 0) {
+                return false;
+            }
+            idle.accept(attempt);
+        }
+        return true;
+    }
+
+    /**
+     * Pilha (Treiber) das threads dormindo. {@link #signal} desempilha e acorda exatamente uma;
+     * com a pilha vazia, o caso comum de uma fila nem cheia nem vazia, custa uma barreira e uma
+     * leitura. Quem acordou e já não precisa (prazo, interrupção) repassa o sinal; quem desiste
+     * antes de ser sinalizado marca o nó como cancelado, e os próximos sinais o pulam.
+     *
+     * <p>Enquanto uma thread acordada ainda não voltou a rodar ({@code waking}), novos sinais não
+     * acordam outra: ela pode dar conta de tudo, e senão a fila repassa o sinal depois que ela
+     * consome (como a {@code LinkedBlockingQueue}). Sem isso, um produtor rápido acordaria todos
+     * os consumidores dormindo, um por elemento, antes do primeiro rodar.
+     */
+    static final class Blocking implements WaitStrategy {
+        private static final int WAITING = 0;
+        private static final int SIGNALLED = 1;
+        private static final int CANCELLED = 2;
+        private static final VarHandle TOP;
+        private static final VarHandle STATE;
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                TOP = lookup.findVarHandle(Blocking.class, "top", Waiter.class);
+                STATE = lookup.findVarHandle(Waiter.class, "state", int.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private static final class Waiter {
+            final Thread thread = Thread.currentThread();
+            Waiter next;
+            volatile int state;
+        }
+
+        private volatile Waiter top;
+        private volatile boolean waking;
+
+        @Override
+        public boolean await(BooleanSupplier ready, long nanos) throws InterruptedException {
+            long deadline = System.nanoTime() + nanos;
+            Waiter waiter = null;
+            while (!ready.getAsBoolean()) {
+                if (waiter != null && waiter.state == SIGNALLED) {
+                    waking = false; // antes de empilhar e checar de novo: um sinal suprimido até aqui é visto
+                }
+                if (waiter == null || waiter.state != WAITING) {
+                    // Empilhar é um CAS (barreira completa): a checagem seguinte vê o que foi publicado antes
+                    waiter = new Waiter();
+                    push(waiter);
+                    continue;
+                }
+                if (Thread.interrupted()) {
+                    abandon(waiter);
+                    throw new InterruptedException();
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    abandon(waiter);
+                    return false;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+            if (waiter != null && !cancel(waiter)) {
+                waking = false; // foi sinalizada: devolve o token (senão só cancelou o nó, e o próximo sinal vai para outra)
+            }
+            return true;
+        }
+
+        @Override
+        public void signal() {
+            // A publicação no anel é uma escrita release, que pode passar à frente da leitura de top
+            // (store → load); sem a barreira, quem acabou de se empilhar dormiria sem ser acordado
+            VarHandle.fullFence();
+            while (top != null && !waking) {
+                waking = true; // antes do CAS no nó: quem o vê sinalizado limpa depois disto
+                Waiter w;
+                while ((w = top) != null) {
+                    if (TOP.compareAndSet(this, w, w.next) && STATE.compareAndSet(w, WAITING, SIGNALLED)) {
+                        LockSupport.unpark(w.thread);
+                        return;
+                    }
+                }
+                // Só havia cancelados. Quem se empilhou depois deles pode ter tido o sinal de outro
+                // produtor suprimido por este waking: limpa, e com a barreira revê a pilha
+                waking = false;
+                VarHandle.fullFence();
+            }
+        }
+
+        private void push(Waiter waiter) {
+            do {
+                waiter.next = top;
+            } while (!TOP.compareAndSet(this, waiter.next, waiter));
+        }
+
+        private boolean cancel(Waiter waiter) {
+            if (!STATE.compareAndSet(waiter, WAITING, CANCELLED)) {
+                return false;
+            }
+            TOP.compareAndSet(this, waiter, waiter.next); // se ainda está no topo, sai já
+            return true;
+        }
+
+        /** Desistindo: se um sinal já chegou, ele era para quem ainda espera. */
+        private void abandon(Waiter waiter) {
+            if (!cancel(waiter)) {
+                waking = false;
+                signal();
+            }
+        }
+    }
+}
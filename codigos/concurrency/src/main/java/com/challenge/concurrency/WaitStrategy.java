@@ -0,0 +1,46 @@
+package com.challenge.concurrency;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Como uma thread espera no {@link RingBufferQueue} quando não dá para seguir (fila cheia para o
+ * produtor, vazia para o consumidor). A troca é latência × CPU:
+ * <ul>
+ *   <li>{@link #busySpin()}: menor latência, queima um núcleo inteiro por thread esperando;
+ *   <li>{@link #yielding()}: gira um pouco e cede o núcleo a cada volta;
+ *   <li>{@link #parking()}: gira, cede e então dorme em intervalos curtos (dezenas de µs);
+ *   <li>{@link #blocking()}: dorme até quem mudou a fila acordá-la. Não gasta CPU parada, mas
+ *       cada inserção e remoção paga uma barreira para ver se há alguém esperando.
+ * </ul>
+ * As três primeiras só servem com núcleos sobrando para as threads que esperam.
+ */
+public interface WaitStrategy {
+
+    /**
+     * Espera até {@code ready} valer ou {@code nanos} passar.
+     *
+     * @return {@code false} se o prazo venceu antes
+     */
+    boolean await(BooleanSupplier ready, long nanos) throws InterruptedException;
+
+    /** Chamado depois de cada mudança na fila; só a estratégia bloqueante precisa acordar alguém. */
+    default void signal() {
+    }
+
+    static WaitStrategy busySpin() {
+        return WaitStrategies.BUSY_SPIN;
+    }
+
+    static WaitStrategy yielding() {
+        return WaitStrategies.YIELDING;
+    }
+
+    static WaitStrategy parking() {
+        return WaitStrategies.PARKING;
+    }
+
+    /** Uma instância nova por condição: a pilha de quem espera é dela. */
+    static WaitStrategy blocking() {
+        return new WaitStrategies.Blocking();
+    }
+}
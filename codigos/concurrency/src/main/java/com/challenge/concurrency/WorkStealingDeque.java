@@ -0,0 +1,104 @@
+package com.challenge.concurrency;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Deque de Chase-Lev: o dono empilha e desempilha no fim ({@code bottom}) sem CAS, os ladrões
+ * retiram do início ({@code top}) disputando com CAS. Só o último elemento gera disputa entre
+ * dono e ladrão. O array cresce (potência de 2) quando enche; o antigo continua válido para
+ * ladrões que ainda o estejam lendo.
+ *
+ * <p>{@link #push} e {@link #pop} só podem ser chamados pela thread dona; {@link #steal} por qualquer uma.
+ */
+final class WorkStealingDeque {
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Runnable[].class);
+    private static final VarHandle TOP;
+
+    static {
+        try {
+            TOP = MethodHandles.lookup().findVarHandle(WorkStealingDeque.class, "top", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile long top;
+    private volatile long bottom;
+    private volatile Runnable[] array;
+
+    WorkStealingDeque(int initialCapacity) {
+        this.array = new Runnable[Integer.highestOneBit(Math.max(2, initialCapacity - 1)) << 1];
+    }
+
+    /** Dono: empilha no fim. */
+    void push(Runnable task) {
+        long b = bottom;
+        long t = top;
+        Runnable[] a = array;
+        if (b - t >= a.length) {
+            a = grow(a, t, b);
+        }
+        SLOT.setRelease(a, (int) b & (a.length - 1), task);
+        bottom = b + 1;
+    }
+
+    /** Dono: desempilha do fim (LIFO), ou {@code null} se vazio ou se um ladrão levou o último. */
+    Runnable pop() {
+        long b = bottom - 1;
+        Runnable[] a = array;
+        bottom = b; // escrita volátil antes de ler top: ladrões já não passam de b
+        long t = top;
+        if (t > b) {
+            bottom = b + 1;
+            return null;
+        }
+        int i = (int) b & (a.length - 1);
+        Runnable task = (Runnable) SLOT.getAcquire(a, i);
+        if (t < b) {
+            SLOT.setRelease(a, i, null);
+            return task;
+        }
+        // Último elemento: disputa com os ladrões pelo top
+        boolean won = TOP.compareAndSet(this, t, t + 1);
+        bottom = b + 1;
+        if (won) {
+            SLOT.compareAndSet(a, i, task, null);
+        }
+        return won ? task : null;
+    }
+
+    /** Qualquer thread: retira do início (FIFO), ou {@code null} se vazio ou se perdeu a disputa. */
+    Runnable steal() {
+        long t = top;
+        long b = bottom;
+        if (t >= b) {
+            return null;
+        }
+        Runnable[] a = array;
+        int i = (int) t & (a.length - 1);
+        Runnable task = (Runnable) SLOT.getAcquire(a, i);
+        if (task == null || !TOP.compareAndSet(this, t, t + 1)) {
+            return null;
+        }
+        SLOT.compareAndSet(a, i, task, null);
+        return task;
+    }
+
+    boolean isEmpty() {
+        return top >= bottom;
+    }
+
+    int size() {
+        return (int) Math.max(0, bottom - top);
+    }
+
+    private Runnable[] grow(Runnable[] old, long t, long b) {
+        Runnable[] a = new Runnable[old.length << 1];
+        for (long i = t; i < b; i++) {
+            a[(int) i & (a.length - 1)] = old[(int) i & (old.length - 1)];
+        }
+        array = a;
+        return a;
+    }
+}
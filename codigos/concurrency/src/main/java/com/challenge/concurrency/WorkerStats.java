@@ -0,0 +1,90 @@
+package com.challenge.concurrency;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Contadores de um worker: histogramas de espera na fila e de execução, tarefas concluídas e
+ * tempo ocupado. Um único escritor (o worker), sem lock nem CAS: o custo por tarefa é o de
+ * dois buckets, quatro somas e duas médias. No modo virtual, um só {@code WorkerStats} recebe
+ * todas as tarefas pelo caminho concorrente.
+ *
+ * <p>As médias móveis do crescimento elástico também ficam aqui, e não em campos do pool:
+ * escritas por um só worker, não fazem a linha de cache pular entre os núcleos a cada tarefa.
+ */
+final class WorkerStats {
+    private static final VarHandle TASKS;
+    private static final VarHandle BUSY;
+    private static final VarHandle QUEUE_WAIT_EWMA;
+    private static final VarHandle SERVICE_EWMA;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TASKS = lookup.findVarHandle(WorkerStats.class, "tasks", long.class);
+            BUSY = lookup.findVarHandle(WorkerStats.class, "busyNanos", long.class);
+            QUEUE_WAIT_EWMA = lookup.findVarHandle(WorkerStats.class, "queueWaitEwma", long.class);
+            SERVICE_EWMA = lookup.findVarHandle(WorkerStats.class, "serviceEwma", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    final LatencyHistogram queueWait = new LatencyHistogram();
+    final LatencyHistogram service = new LatencyHistogram();
+    final long startedAt;
+    private long tasks;
+    private long busyNanos;
+    /** Médias móveis (α = 1/8) da espera na fila e da execução; 0 antes da primeira tarefa. */
+    private long queueWaitEwma;
+    private long serviceEwma;
+
+    WorkerStats(long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    /** Só o worker dono. */
+    void record(long queueWaitNanos, long serviceNanos) {
+        queueWait.record(queueWaitNanos);
+        service.record(serviceNanos);
+        TASKS.setOpaque(this, (long) TASKS.getOpaque(this) + 1);
+        BUSY.setOpaque(this, (long) BUSY.getOpaque(this) + serviceNanos);
+        QUEUE_WAIT_EWMA.setOpaque(this, ewma((long) QUEUE_WAIT_EWMA.getOpaque(this), queueWaitNanos));
+        SERVICE_EWMA.setOpaque(this, ewma((long) SERVICE_EWMA.getOpaque(this), serviceNanos));
+    }
+
+    void recordConcurrent(long queueWaitNanos, long serviceNanos) {
+        queueWait.recordConcurrent(queueWaitNanos);
+        service.recordConcurrent(serviceNanos);
+        TASKS.getAndAdd(this, 1L);
+        BUSY.getAndAdd(this, serviceNanos);
+    }
+
+    /** Acumula um worker que saiu (sob o lock do pool). */
+    void add(WorkerStats other) {
+        queueWait.add(other.queueWait);
+        service.add(other.service);
+        TASKS.setOpaque(this, tasks() + other.tasks());
+        BUSY.setOpaque(this, busyNanos() + other.busyNanos());
+    }
+
+    long tasks() {
+        return (long) TASKS.getOpaque(this);
+    }
+
+    long busyNanos() {
+        return (long) BUSY.getOpaque(this);
+    }
+
+    long queueWaitEwma() {
+        return (long) QUEUE_WAIT_EWMA.getOpaque(this);
+    }
+
+    long serviceEwma() {
+        return (long) SERVICE_EWMA.getOpaque(this);
+    }
+
+    private static long ewma(long average, long sample) {
+        return average == 0 ? sample : average + ((sample - average) >> 3);
+    }
+}
@@ -0,0 +1,143 @@
+package com.challenge.concurrency;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Um produtor passa {@value #ITEMS} elementos pequenos a um consumidor, que faz um trabalho
+ * mínimo por elemento e um "flush" ({@code flushTokens} de CPU, o custo de um write) a cada
+ * entrega. Cada operação espera o consumidor terminar os {@value #ITEMS}.
+ * <ul>
+ *   <li>{@code oneAtATime}: o laço do {@link ProducerConsumer}, {@code put} e {@code take} por
+ *       elemento e um flush por elemento;
+ *   <li>{@code batchDrain}: {@code publish} por elemento, o {@link BatchPipeline} drena em lotes
+ *       e faz um flush por lote;
+ *   <li>{@code batchDrainAndPublish}: além disso, o produtor publica listas de {@value #CHUNK}.
+ * </ul>
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="BatchPipelineBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchPipelineBenchmark {
+    static final int ITEMS = 100_000;
+    static final int CHUNK = 256;
+    static final int CAPACITY = 1024;
+
+    @Param({ "oneAtATime", "batchDrain", "batchDrainAndPublish" })
+    String mode;
+
+    @Param({ "0", "500" })
+    int flushTokens;
+
+    List<Integer> items;
+    RingBufferQueue<Integer> queue;
+    Thread consumer;
+    BatchPipeline<Integer> pipeline;
+    volatile CountDownLatch done;
+    /** Só o consumidor escreve. */
+    long processed;
+    volatile long target;
+
+    @Setup
+    public void setUp() {
+        items = IntStream.range(0, ITEMS).boxed().collect(Collectors.toList());
+        if (mode.equals("oneAtATime")) {
+            queue = new RingBufferQueue<>(CAPACITY);
+            consumer = new Thread(() -> {
+                try {
+                    while (true) {
+                        work(queue.take());
+                        Blackhole.consumeCPU(flushTokens);
+                        count(1);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            consumer.start();
+        } else {
+            pipeline = new BatchPipeline<>(CAPACITY, 1, new BatchHandler<>() {
+                @Override
+                public void onEvent(Integer item) {
+                    work(item);
+                }
+
+                @Override
+                public void onEndOfBatch(int size) {
+                    Blackhole.consumeCPU(flushTokens);
+                    count(size);
+                }
+            });
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        if (consumer != null) {
+            consumer.interrupt();
+            consumer.join();
+        } else {
+            pipeline.close();
+        }
+    }
+
+    static void work(Integer item) {
+        Blackhole.consumeCPU(item & 7);
+    }
+
+    void count(int n) {
+        processed += n;
+        if (processed == target) {
+            done.countDown();
+        }
+    }
+
+    @Benchmark
+    public void transfer() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        done = latch;
+        target += ITEMS;
+        switch (mode) {
+            case "oneAtATime" -> {
+                for (Integer item : items) {
+                    queue.put(item);
+                }
+            }
+            case "batchDrain" -> {
+                for (Integer item : items) {
+                    pipeline.publish(item);
+                }
+            }
+            default -> {
+                for (int i = 0; i < ITEMS; i += CHUNK) {
+                    pipeline.publishAll(items.subList(i, Math.min(ITEMS, i + CHUNK)));
+                }
+            }
+        }
+        latch.await();
+    }
+}
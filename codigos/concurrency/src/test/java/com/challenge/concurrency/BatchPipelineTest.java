@@ -0,0 +1,96 @@
+package com.challenge.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class BatchPipelineTest {
+
+    @Test
+    public void deliversEveryItemInOrderAndEndsEachBatch() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> seen = new ArrayList<>();
+        List<Integer> batchSizes = new ArrayList<>();
+        BatchHandler<Integer> handler = new BatchHandler<>() {
+            @Override
+            public void onEvent(Integer item) throws InterruptedException {
+                release.await(); // segura o primeiro lote para a fila acumular
+                seen.add(item);
+            }
+
+            @Override
+            public void onEndOfBatch(int size) {
+                batchSizes.add(size);
+            }
+        };
+        int total = 5_000;
+        BatchPipeline<Integer> pipeline = new BatchPipeline<>(256, 1, handler);
+        pipeline.publish(0);
+        List<Integer> rest = IntStream.range(1, total).boxed().collect(Collectors.toList());
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < rest.size(); i += 100) {
+                    pipeline.publishAll(rest.subList(i, Math.min(rest.size(), i + 100)));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        Thread.sleep(50);
+        release.countDown();
+        producer.join();
+        pipeline.close();
+
+        assertEquals(IntStream.range(0, total).boxed().collect(Collectors.toList()), seen);
+        assertEquals(total, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(batchSizes.size(), pipeline.batchCount());
+        assertEquals(total, pipeline.eventCount());
+        assertTrue(pipeline.averageBatchSize() > 10, "média " + pipeline.averageBatchSize());
+        assertThrows(IllegalStateException.class, () -> pipeline.publish(1));
+    }
+
+    @Test
+    public void batchLimitGrowsUnderBacklogAndShrinksWhenBatchesRunLong() throws InterruptedException {
+        AtomicInteger slowFlushMillis = new AtomicInteger();
+        BatchHandler<Integer> handler = new BatchHandler<>() {
+            @Override
+            public void onEvent(Integer item) {
+            }
+
+            @Override
+            public void onEndOfBatch(int size) throws InterruptedException {
+                Thread.sleep(slowFlushMillis.get());
+            }
+        };
+        try (BatchPipeline<Integer> pipeline = new BatchPipeline<>(4_096, 1, 256, Duration.ofMillis(20),
+                () -> handler)) {
+            List<Integer> chunk = IntStream.range(0, 4_096).boxed().collect(Collectors.toList());
+            for (int i = 0; i < 10 && pipeline.batchLimit() < 256; i++) {
+                pipeline.publishAll(chunk);
+            }
+            assertEquals(256, pipeline.batchLimit());
+
+            // Cada lote agora passa do alvo de 20 ms: o limite cai pela metade a cada um
+            slowFlushMillis.set(30);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (pipeline.batchLimit() > 1 && System.nanoTime() < deadline) {
+                pipeline.publishAll(chunk.subList(0, 256));
+                Thread.sleep(30);
+            }
+            assertEquals(1, pipeline.batchLimit());
+            slowFlushMillis.set(0);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.challenge.concurrency;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@value #TASKS} tarefas que bloqueiam {@value #BLOCK_MILLIS} ms (simulando I/O), submetidas de
+ * uma vez: workers de plataforma ({@code SHARED_QUEUE}, {@code platformThreads} threads) contra
+ * uma virtual thread por tarefa ({@code VIRTUAL_THREADS}, até {@value #TASKS} simultâneas).
+ * Com N threads de plataforma o piso é {@code TASKS / N × BLOCK_MILLIS}; com virtual threads,
+ * todas bloqueiam ao mesmo tempo e o custo é criar e agendar as threads.
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.java=/caminho/jdk-21/bin/java -Djmh.args="BlockingTasksBenchmark"
+ * </pre>
+ *
+ * Em JDK 17 o modo {@code VIRTUAL_THREADS} falha no setup com {@link UnsupportedOperationException}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockingTasksBenchmark {
+    static final int TASKS = 100_000;
+    static final int BLOCK_MILLIS = 10;
+
+    @Param({ "SHARED_QUEUE", "VIRTUAL_THREADS" })
+    SimpleThreadPool.Mode mode;
+
+    @Param({ "1000" })
+    int platformThreads;
+
+    SimpleThreadPool pool;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        int poolSize = mode == SimpleThreadPool.Mode.VIRTUAL_THREADS ? TASKS : platformThreads;
+        pool = new SimpleThreadPool(poolSize, TASKS, mode);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Benchmark
+    public long blockingTasks() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            pool.execute(() -> {
+                try {
+                    Thread.sleep(BLOCK_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        return pool.pinnedEvents();
+    }
+}
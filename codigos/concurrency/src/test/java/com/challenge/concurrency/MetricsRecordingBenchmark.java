@@ -0,0 +1,83 @@
+package com.challenge.concurrency;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Custo por tarefa da instrumentação do {@link SimpleThreadPool} (meta: menos de 50 ns):
+ * <ul>
+ *   <li>{@code baseline}: só percorrer as amostras;
+ *   <li>{@code record}: {@link WorkerStats#record} (dois histogramas, tarefas e tempo ocupado);
+ *   <li>{@code recordWithClock}: o caminho completo de uma tarefa, com os três
+ *       {@code System.nanoTime()} (enfileirou, começou, terminou) mais o registro;
+ *   <li>{@code recordConcurrent}: o caminho com CAS do modo virtual.
+ * </ul>
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="MetricsRecordingBenchmark"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MetricsRecordingBenchmark {
+    private static final int SAMPLES = 1 << 12;
+
+    final long[] waits = new long[SAMPLES];
+    final long[] services = new long[SAMPLES];
+    WorkerStats stats;
+    int next;
+
+    @Setup
+    public void setUp() {
+        // Espera de µs a dezenas de ms e execução de centenas de ns a ms: espalha pelos buckets
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            waits[i] = (long) Math.exp(random.nextDouble(Math.log(1_000), Math.log(50_000_000)));
+            services[i] = (long) Math.exp(random.nextDouble(Math.log(200), Math.log(5_000_000)));
+        }
+        stats = new WorkerStats(System.nanoTime());
+    }
+
+    @Benchmark
+    public void baseline(Blackhole bh) {
+        int i = next++ & (SAMPLES - 1);
+        bh.consume(waits[i]);
+        bh.consume(services[i]);
+    }
+
+    @Benchmark
+    public void record() {
+        int i = next++ & (SAMPLES - 1);
+        stats.record(waits[i], services[i]);
+    }
+
+    @Benchmark
+    public void recordWithClock() {
+        long enqueuedAt = System.nanoTime();
+        long start = System.nanoTime();
+        long end = System.nanoTime();
+        stats.record(start - enqueuedAt, end - start);
+    }
+
+    @Benchmark
+    public void recordConcurrent() {
+        int i = next++ & (SAMPLES - 1);
+        stats.recordConcurrent(waits[i], services[i]);
+    }
+}
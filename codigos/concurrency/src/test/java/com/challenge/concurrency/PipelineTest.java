@@ -0,0 +1,192 @@
+package com.challenge.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class PipelineTest {
+
+    @Test
+    public void typedStagesTransformFilterAndReachTheSink() throws InterruptedException {
+        AtomicLong sum = new AtomicLong();
+        AtomicInteger count = new AtomicInteger();
+        Pipeline<String, Void> pipeline = Pipeline.<String>source()
+                .stage("parse", 2, 64, Integer::parseInt)
+                .stage("even", 3, 64, n -> n % 2 == 0 ? (long) n * n : null)
+                .sink("sum", 2, 64, square -> {
+                    sum.addAndGet(square);
+                    count.incrementAndGet();
+                });
+        int total = 10_000;
+        for (int i = 0; i < total; i++) {
+            pipeline.publish(Integer.toString(i));
+        }
+        pipeline.close();
+
+        assertEquals(total / 2, count.get());
+        assertEquals(IntStream.range(0, total).filter(n -> n % 2 == 0).mapToLong(n -> (long) n * n).sum(), sum.get());
+        List<StageMetrics> metrics = pipeline.metrics();
+        assertEquals(List.of("parse", "even", "sum"),
+                metrics.stream().map(StageMetrics::name).collect(Collectors.toList()));
+        assertEquals(List.of((long) total, (long) total, (long) total / 2),
+                metrics.stream().map(StageMetrics::processedCount).collect(Collectors.toList()));
+        assertThrows(IllegalStateException.class, () -> pipeline.publish("1"));
+        assertThrows(IllegalStateException.class, pipeline::publisher);
+    }
+
+    @Test
+    public void fullSinkBlocksTheSourceThroughEveryBuffer() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger delivered = new AtomicInteger();
+        Pipeline<Integer, Void> pipeline = Pipeline.<Integer>source()
+                .stage("a", 1, 4, n -> n + 1)
+                .stage("b", 2, 4, n -> n + 1)
+                .sink("slow", 1, 4, n -> {
+                    release.await();
+                    delivered.incrementAndGet();
+                });
+        AtomicInteger published = new AtomicInteger();
+        int total = 1_000;
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < total; i++) {
+                    pipeline.publish(i);
+                    published.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        Thread.sleep(200);
+
+        // Cada estágio segura no máximo o seu buffer e um lote em mãos por worker: dezenas, não mil
+        int stalled = published.get();
+        Thread.sleep(50);
+        assertEquals(stalled, published.get());
+        int held = 0;
+        for (StageMetrics m : pipeline.metrics()) {
+            assertEquals(1.0, m.occupancy(), m.toString());
+            held += m.capacity() + m.parallelism() * m.batchLimit();
+        }
+        assertTrue(stalled <= held, "publicados " + stalled + ", no máximo " + held);
+
+        release.countDown();
+        producer.join();
+        pipeline.close();
+        assertEquals(total, delivered.get());
+        assertTrue(pipeline.metrics().get(0).blockedTime().toMillis() > 100, pipeline.metrics().toString());
+    }
+
+    @Test
+    public void metricsPointAtTheSlowStage() throws InterruptedException {
+        Pipeline<Integer, Void> pipeline = Pipeline.<Integer>source()
+                .stage("fast", 1, 32, n -> n)
+                .stage("slow", 1, 32, n -> {
+                    sleepMillis(1);
+                    return n;
+                })
+                .sink("drain", 1, 32, n -> {
+                });
+        for (int i = 0; i < 300; i++) {
+            pipeline.publish(i);
+        }
+        List<StageMetrics> running = pipeline.metrics();
+        pipeline.close();
+
+        StageMetrics bottleneck = pipeline.bottleneck();
+        assertEquals("slow", bottleneck.name(), pipeline.metrics().toString());
+        assertTrue(bottleneck.utilization() > 0.5, bottleneck.toString());
+        assertTrue(running.get(1).occupancy() > 0.5, running.toString());
+        assertTrue(running.get(2).occupancy() < 0.5, running.toString());
+        assertTrue(pipeline.metrics().get(0).blockedTime().compareTo(pipeline.metrics().get(2).busyTime()) > 0,
+                pipeline.metrics().toString());
+    }
+
+    @Test
+    public void publisherDeliversInOrderOnlyAsSubscribersRequest() throws InterruptedException {
+        Pipeline<Integer, String> pipeline = Pipeline.<Integer>source()
+                .stage("double", 1, 16, n -> n * 2)
+                .stage("format", 1, 16, n -> "#" + n)
+                .toPublisher(16, ForkJoinPool.commonPool(), 32);
+        CountDownLatch subscribed = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(1);
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        Flow.Subscription[] subscription = new Flow.Subscription[1];
+        pipeline.publisher().subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+                subscribed.countDown();
+            }
+
+            @Override
+            public void onNext(String item) {
+                received.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+                completed.countDown();
+            }
+        });
+        assertTrue(subscribed.await(5, TimeUnit.SECONDS));
+
+        AtomicInteger published = new AtomicInteger();
+        int total = 2_000;
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < total; i++) {
+                    pipeline.publish(i);
+                    published.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        Thread.sleep(200);
+
+        // Sem request(n): o buffer do assinante enche e o resto da cadeia para atrás dele. O
+        // SubmissionPublisher arredonda e pode dobrar o buffer; cada estágio segura a fila cheia
+        // e mais um lote drenado dela no worker, esperando o estágio seguinte.
+        assertTrue(received.isEmpty());
+        int stalled = published.get();
+        int inFlight = 2 * 32 + 3 * (16 + 16) + 1;
+        assertTrue(stalled <= inFlight, "publicados " + stalled);
+        Thread.sleep(50);
+        assertEquals(stalled, published.get());
+
+        subscription[0].request(Long.MAX_VALUE);
+        producer.join();
+        pipeline.close();
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(IntStream.range(0, total).mapToObj(n -> "#" + n * 2).collect(Collectors.toList()), received);
+    }
+
+    private static void sleepMillis(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.challenge.concurrency;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Vazão de produtores e consumidores passando elementos por uma fila limitada: as duas do JDK
+ * contra o {@link RingBufferQueue} com cada {@link WaitStrategy}. {@code spsc} usa 1 produtor e
+ * 1 consumidor, {@code mpmc} 2 de cada. As operações são {@code offer}/{@code poll} com prazo
+ * curto, para o lado que sobra no fim da iteração não ficar preso num {@code take}.
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="RingBufferQueueBenchmark"
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="RingBufferQueueBenchmark.mpmc -p queue=ring-blocking,array"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class RingBufferQueueBenchmark {
+    private static final Integer ELEMENT = 42;
+
+    @Param({ "linked", "array", "ring-blocking", "ring-parking", "ring-yielding", "ring-busySpin" })
+    String queue;
+
+    @Param({ "1024" })
+    int capacity;
+
+    BlockingQueue<Integer> q;
+
+    @Setup
+    public void setUp() {
+        switch (queue) {
+            case "linked" -> q = new LinkedBlockingQueue<>(capacity);
+            case "array" -> q = new ArrayBlockingQueue<>(capacity);
+            case "ring-blocking" -> q = new RingBufferQueue<>(capacity, WaitStrategy::blocking);
+            case "ring-parking" -> q = new RingBufferQueue<>(capacity, WaitStrategy::parking);
+            case "ring-yielding" -> q = new RingBufferQueue<>(capacity, WaitStrategy::yielding);
+            case "ring-busySpin" -> q = new RingBufferQueue<>(capacity, WaitStrategy::busySpin);
+            default -> throw new IllegalArgumentException(queue);
+        }
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public boolean spscOffer() throws InterruptedException {
+        return q.offer(ELEMENT, 1, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("spsc")
+    @GroupThreads(1)
+    public Integer spscPoll() throws InterruptedException {
+        return q.poll(1, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("mpmc")
+    @GroupThreads(2)
+    public boolean mpmcOffer() throws InterruptedException {
+        return q.offer(ELEMENT, 1, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("mpmc")
+    @GroupThreads(2)
+    public Integer mpmcPoll() throws InterruptedException {
+        return q.poll(1, TimeUnit.MILLISECONDS);
+    }
+}
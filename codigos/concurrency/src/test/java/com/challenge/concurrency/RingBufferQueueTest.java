@@ -0,0 +1,279 @@
+package com.challenge.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class RingBufferQueueTest {
+
+    /** Menos elementos para as que giram: com poucos núcleos, cada espera pode custar um quantum do escalonador. */
+    static Stream<Arguments> waitStrategies() {
+        return Stream.of(
+                Arguments.of("busySpin", (Supplier<WaitStrategy>) WaitStrategy::busySpin, 500),
+                Arguments.of("yielding", (Supplier<WaitStrategy>) WaitStrategy::yielding, 2_000),
+                Arguments.of("parking", (Supplier<WaitStrategy>) WaitStrategy::parking, 2_000),
+                Arguments.of("blocking", (Supplier<WaitStrategy>) WaitStrategy::blocking, 20_000));
+    }
+
+    @Test
+    public void isFifoAndBoundedAcrossManyLaps() {
+        // Capacidade que não é potência de 2: índice pelo resto
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(3);
+        int next = 0;
+        for (int lap = 0; lap < 100; lap++) {
+            assertTrue(queue.offer(next++));
+            assertTrue(queue.offer(next++));
+            assertTrue(queue.offer(next++));
+            assertFalse(queue.offer(-1));
+            assertEquals(3, queue.size());
+            assertEquals(0, queue.remainingCapacity());
+            assertEquals(next - 3, queue.peek());
+            assertEquals(next - 3, queue.poll());
+            assertEquals(next - 2, queue.poll());
+            assertEquals(next - 1, queue.poll());
+            assertNull(queue.poll());
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test
+    public void removeLeavesATombstoneThatConsumersSkip() {
+        RingBufferQueue<String> queue = new RingBufferQueue<>(4);
+        queue.addAll(List.of("a", "b", "c", "d"));
+
+        assertTrue(queue.remove("b"));
+        assertFalse(queue.remove("b"));
+        assertFalse(queue.contains("b"));
+        assertEquals(List.of("a", "c", "d"), new ArrayList<>(queue));
+
+        var it = queue.iterator();
+        it.next();
+        it.remove(); // "a"
+        assertEquals("c", queue.poll());
+        List<String> drained = new ArrayList<>();
+        assertEquals(1, queue.drainTo(drained));
+        assertEquals(List.of("d"), drained);
+        // As lápides liberaram os slots: a fila aceita 4 de novo
+        assertTrue(queue.addAll(List.of("e", "f", "g", "h")));
+        assertFalse(queue.offer("i"));
+
+        // Igual não basta para removeInstance: só sai a mesma instância
+        queue.clear();
+        String first = new String("x");
+        String second = new String("x");
+        queue.addAll(List.of(first, second));
+        assertFalse(queue.removeInstance(new String("x")));
+        assertTrue(queue.removeInstance(second));
+        assertTrue(queue.peek() == first);
+    }
+
+    @Test
+    public void batchOperationsClaimManySlotsAtOnce() throws InterruptedException {
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(5);
+        assertEquals(5, queue.offerAll(List.of(0, 1, 2, 3, 4, 5, 6))); // só o prefixo que cabe
+        assertTrue(queue.remove(2));
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(4, queue.drainTo(drained, 4)); // a lápide não conta: reserva mais um slot
+        assertEquals(List.of(0, 1, 3, 4), drained);
+        assertThrows(NullPointerException.class, () -> queue.offerAll(Arrays.asList(7, null)));
+        assertTrue(queue.isEmpty());
+
+        // putAll maior que a capacidade: vai entrando conforme o consumidor libera espaço
+        List<Integer> many = IntStream.range(0, 1_000).boxed().collect(Collectors.toList());
+        List<Integer> received = new ArrayList<>();
+        Thread consumer = new Thread(() -> {
+            List<Integer> batch = new ArrayList<>();
+            while (received.size() < many.size()) {
+                if (queue.drainTo(batch, 3) == 0) {
+                    Thread.onSpinWait();
+                }
+                received.addAll(batch);
+                batch.clear();
+            }
+        });
+        consumer.start();
+        queue.putAll(many);
+        consumer.join(10_000);
+        assertEquals(many, received);
+    }
+
+    @Test
+    public void timedOperationsGiveUpAndTakeIsInterruptible() throws InterruptedException {
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(1);
+        assertNull(queue.poll(20, TimeUnit.MILLISECONDS));
+        queue.put(1);
+        assertFalse(queue.offer(2, 20, TimeUnit.MILLISECONDS));
+
+        queue.clear();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                queue.take();
+            } catch (Throwable e) {
+                error.set(e);
+            }
+        });
+        consumer.start();
+        Thread.sleep(50);
+        consumer.interrupt();
+        consumer.join(5_000);
+        assertTrue(error.get() instanceof InterruptedException, String.valueOf(error.get()));
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferQueue<>(0));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("waitStrategies")
+    public void everyElementIsTakenExactlyOnceWithManyProducersAndConsumers(String name,
+            Supplier<WaitStrategy> strategy, int perProducer) throws InterruptedException {
+        int producers = 3;
+        int consumers = 3;
+        int total = producers * perProducer;
+        // Anel pequeno: produtores e consumidores passam boa parte do tempo esperando
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(8, strategy);
+        AtomicIntegerArray taken = new AtomicIntegerArray(total);
+        CountDownLatch done = new CountDownLatch(producers + consumers);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int first = p * perProducer;
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = first; i < first + perProducer; i++) {
+                        queue.put(i);
+                    }
+                } catch (Throwable e) {
+                    error.set(e);
+                } finally {
+                    done.countDown();
+                }
+            }));
+        }
+        for (int c = 0; c < consumers; c++) {
+            int share = total / consumers;
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < share; i++) {
+                        taken.incrementAndGet(queue.take());
+                    }
+                } catch (Throwable e) {
+                    error.set(e);
+                } finally {
+                    done.countDown();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+
+        assertTrue(done.await(60, TimeUnit.SECONDS), name);
+        assertNull(error.get());
+        for (int i = 0; i < total; i++) {
+            assertEquals(1, taken.get(i), "elemento " + i);
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void takeIsNeverStrandedWhileTimedPollersGiveUp() throws InterruptedException {
+        // Um poll(timeout) que desiste deixa um nó cancelado na pilha de quem espera. O sinal que só
+        // acha cancelados não pode engolir o de um produtor que chegou no meio: ao fim de cada rodada,
+        // com os pollers parados, o que sobrou na fila tem de chegar a quem está em take()
+        RingBufferQueue<Integer> queue = new RingBufferQueue<>(16);
+        int rounds = 300;
+        int producers = 2;
+        int perProducer = 4;
+        int takers = 2;
+        int pollers = 2;
+        AtomicInteger consumed = new AtomicInteger();
+        AtomicBoolean polling = new AtomicBoolean();
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        List<Thread> consumers = new ArrayList<>();
+        for (int t = 0; t < takers; t++) {
+            consumers.add(new Thread(() -> {
+                try {
+                    while (queue.take() >= 0) {
+                        consumed.incrementAndGet();
+                    }
+                } catch (Throwable e) {
+                    error.set(e);
+                }
+            }));
+        }
+        for (int p = 0; p < pollers; p++) {
+            consumers.add(new Thread(() -> {
+                try {
+                    while (!stop.get()) {
+                        if (!polling.get()) {
+                            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+                        } else if (queue.poll(ThreadLocalRandom.current().nextLong(1, 50), TimeUnit.MICROSECONDS) != null) {
+                            consumed.incrementAndGet();
+                        }
+                    }
+                } catch (Throwable e) {
+                    error.set(e);
+                }
+            }));
+        }
+        consumers.forEach(Thread::start);
+
+        for (int round = 1; round <= rounds; round++) {
+            polling.set(true);
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                threads.add(new Thread(() -> {
+                    try {
+                        for (int i = 0; i < perProducer; i++) {
+                            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(20_000));
+                            queue.put(i);
+                        }
+                    } catch (Throwable e) {
+                        error.set(e);
+                    }
+                }));
+            }
+            threads.forEach(Thread::start);
+            for (Thread t : threads) {
+                t.join();
+            }
+            polling.set(false);
+            int expected = round * producers * perProducer;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (consumed.get() < expected && System.nanoTime() < deadline) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+            }
+            assertEquals(expected, consumed.get(), "rodada " + round + ", na fila " + queue.size());
+        }
+
+        stop.set(true);
+        for (int t = 0; t < takers; t++) {
+            queue.put(-1);
+        }
+        for (Thread t : consumers) {
+            t.join(5_000);
+        }
+        assertNull(error.get());
+    }
+}
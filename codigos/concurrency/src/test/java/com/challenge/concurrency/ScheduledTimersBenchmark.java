@@ -0,0 +1,99 @@
+package com.challenge.concurrency;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Agendar e cancelar um timer (o padrão de um timeout que quase nunca vence) com
+ * {@code pending} timers já agendados para daqui a 1–2 horas: o {@link SimpleThreadPool}
+ * (timing wheel) contra o {@link ScheduledThreadPoolExecutor} (heap), este com
+ * {@code removeOnCancel} para o cancelado sair do heap em vez de ficar até o prazo.
+ * {@code scheduleMillion} agenda e cancela um milhão de uma vez.
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="ScheduledTimersBenchmark"
+ * </pre>
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ScheduledTimersBenchmark {
+    static final int MILLION = 1_000_000;
+    private static final Runnable NOOP = () -> {
+    };
+
+    @Param({ "wheel", "stpe" })
+    String executor;
+
+    @Param({ "0", "1000000" })
+    int pending;
+
+    ScheduledExecutorService scheduler;
+    ScheduledFuture<?>[] batch = new ScheduledFuture<?>[MILLION];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (executor.equals("wheel")) {
+            scheduler = new SimpleThreadPool(1, 1024);
+        } else {
+            ScheduledThreadPoolExecutor stpe = new ScheduledThreadPoolExecutor(1);
+            stpe.setRemoveOnCancelPolicy(true);
+            scheduler = stpe;
+        }
+        for (int i = 0; i < pending; i++) {
+            scheduler.schedule(NOOP, 3_600_000 + ThreadLocalRandom.current().nextLong(3_600_000), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    static long delayMillis() {
+        return 1_000 + ThreadLocalRandom.current().nextLong(59_000);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean scheduleAndCancel() {
+        return scheduler.schedule(NOOP, delayMillis(), TimeUnit.MILLISECONDS).cancel(false);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, batchSize = 1)
+    @Measurement(iterations = 5, batchSize = 1)
+    public int scheduleMillion() {
+        for (int i = 0; i < MILLION; i++) {
+            batch[i] = scheduler.schedule(NOOP, delayMillis(), TimeUnit.MILLISECONDS);
+        }
+        int cancelled = 0;
+        for (int i = 0; i < MILLION; i++) {
+            cancelled += batch[i].cancel(false) ? 1 : 0;
+            batch[i] = null;
+        }
+        return cancelled;
+    }
+}
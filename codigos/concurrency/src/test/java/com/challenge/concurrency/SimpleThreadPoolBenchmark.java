@@ -0,0 +1,90 @@
+package com.challenge.concurrency;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Muitas tarefas curtas nos dois modos do {@link SimpleThreadPool}. Cada operação submete
+ * {@value #TASKS} tarefas e espera todas terminarem:
+ * <ul>
+ *   <li>{@code external}: todas submetidas pela thread do benchmark (fila de entrada);
+ *   <li>{@code forked}: {@value #ROOTS} tarefas raiz, cada uma submetendo as suas filhas de
+ *       dentro do worker (deque local no modo work stealing).
+ * </ul>
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="SimpleThreadPoolBenchmark"
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="SimpleThreadPoolBenchmark -p poolSize=8"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SimpleThreadPoolBenchmark {
+    static final int TASKS = 10_000;
+    static final int ROOTS = 100;
+
+    @Param({ "SHARED_QUEUE", "WORK_STEALING" })
+    SimpleThreadPool.Mode mode;
+
+    @Param({ "4" })
+    int poolSize;
+
+    SimpleThreadPool pool;
+
+    @Setup
+    public void setUp() {
+        // Fila com espaço para tudo: no modo compartilhado, workers bloqueados no próprio pool travariam o forked
+        pool = new SimpleThreadPool(poolSize, TASKS + ROOTS, mode);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Benchmark
+    public void external() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            pool.execute(() -> work(done));
+        }
+        done.await();
+    }
+
+    @Benchmark
+    public void forked() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(TASKS);
+        for (int r = 0; r < ROOTS; r++) {
+            pool.execute(() -> {
+                for (int i = 0; i < TASKS / ROOTS; i++) {
+                    pool.execute(() -> work(done));
+                }
+            });
+        }
+        done.await();
+    }
+
+    /** Tarefa curta: algumas dezenas de ns de CPU. */
+    private static void work(CountDownLatch done) {
+        Blackhole.consumeCPU(50);
+        done.countDown();
+    }
+}
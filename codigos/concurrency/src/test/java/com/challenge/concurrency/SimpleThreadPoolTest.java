@@ -0,0 +1,430 @@
+package com.challenge.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class SimpleThreadPoolTest {
+
+    @ParameterizedTest
+    @EnumSource(SimpleThreadPool.Mode.class)
+    public void shouldRunEverySubmittedTask(SimpleThreadPool.Mode mode) throws InterruptedException {
+        assumeTrue(mode != SimpleThreadPool.Mode.VIRTUAL_THREADS || SimpleThreadPool.virtualThreadsSupported());
+        int tasks = 10_000;
+        CountDownLatch done = new CountDownLatch(tasks);
+        AtomicInteger runs = new AtomicInteger();
+        try (SimpleThreadPool pool = new SimpleThreadPool(4, 64, mode)) {
+            for (int i = 0; i < tasks; i++) {
+                pool.submit(() -> {
+                    runs.incrementAndGet();
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        }
+        assertEquals(tasks, runs.get());
+    }
+
+    @Test
+    public void subtasksSubmittedFromWorkerGoToLocalDequeAndNeverBlock() throws InterruptedException {
+        // Fila de entrada com 1 vaga: no modo compartilhado o worker bloquearia no próprio pool
+        int subtasks = 1_000;
+        CountDownLatch done = new CountDownLatch(subtasks);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        try (SimpleThreadPool pool = new SimpleThreadPool(2, 1, SimpleThreadPool.Mode.WORK_STEALING)) {
+            pool.submit(() -> {
+                for (int i = 0; i < subtasks; i++) {
+                    pool.execute(() -> {
+                        threads.add(Thread.currentThread().getName());
+                        done.countDown();
+                    });
+                }
+            });
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        }
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("simple-pool-")), threads.toString());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SimpleThreadPool.Mode.class, names = { "SHARED_QUEUE", "WORK_STEALING" })
+    public void shouldReturnFuturesAndInvokeAll(SimpleThreadPool.Mode mode) throws Exception {
+        try (SimpleThreadPool pool = new SimpleThreadPool(3, 16, mode)) {
+            Future<String> future = pool.submit(() -> Thread.currentThread().getName());
+            assertTrue(future.get(5, TimeUnit.SECONDS).startsWith("simple-pool-"));
+
+            List<Callable<Integer>> batch = IntStream.range(0, 100)
+                    .<Callable<Integer>>mapToObj(i -> () -> i * i)
+                    .collect(Collectors.toList());
+            int sum = 0;
+            for (Future<Integer> square : pool.invokeAll(batch)) {
+                sum += square.get();
+            }
+            assertEquals(328_350, sum);
+
+            Future<?> failing = pool.submit(() -> {
+                throw new IllegalStateException("boom");
+            });
+            ExecutionException error = assertThrows(ExecutionException.class, failing::get);
+            assertTrue(error.getCause() instanceof IllegalStateException);
+            assertEquals("fast", pool.invokeAny(List.of(() -> {
+                Thread.sleep(5_000);
+                return "slow";
+            }, () -> "fast")));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SimpleThreadPool.Mode.class, names = { "SHARED_QUEUE", "WORK_STEALING" })
+    public void shutdownShouldDrainQueuedTasksBeforeTerminating(SimpleThreadPool.Mode mode) throws Exception {
+        SimpleThreadPool pool = new SimpleThreadPool(2, 100, mode);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        for (int i = 0; i < 50; i++) {
+            pool.execute(() -> {
+                await(release);
+                runs.incrementAndGet();
+            });
+        }
+        pool.shutdown();
+        assertThrows(RejectedExecutionException.class, () -> pool.execute(runs::incrementAndGet));
+        assertFalse(pool.awaitTermination(50, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(pool.isTerminated());
+        assertEquals(50, runs.get());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SimpleThreadPool.Mode.class, names = { "SHARED_QUEUE", "WORK_STEALING" })
+    public void errorFromExecutedTaskShouldNotKillTheWorker(SimpleThreadPool.Mode mode) throws Exception {
+        SimpleThreadPool pool = new SimpleThreadPool(1, 10, mode);
+        AtomicInteger runs = new AtomicInteger();
+        pool.execute(() -> {
+            throw new AssertionError("boom"); // vai para o UncaughtExceptionHandler (stderr)
+        });
+        for (int i = 0; i < 5; i++) {
+            pool.execute(runs::incrementAndGet);
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(5, runs.get());
+    }
+
+    @Test
+    public void shutdownNowShouldReturnPendingTasksAndInterruptRunningOnes() throws Exception {
+        SimpleThreadPool pool = new SimpleThreadPool(1, 10);
+        CountDownLatch started = new CountDownLatch(1);
+        Future<?> running = pool.submit(() -> {
+            started.countDown();
+            Thread.sleep(10_000);
+            return null;
+        });
+        started.await();
+        for (int i = 0; i < 5; i++) {
+            pool.execute(() -> { });
+        }
+
+        assertEquals(5, pool.shutdownNow().size());
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        ExecutionException error = assertThrows(ExecutionException.class, running::get);
+        assertTrue(error.getCause() instanceof InterruptedException);
+    }
+
+    @ParameterizedTest
+    @EnumSource(SimpleThreadPool.Mode.class)
+    public void scheduledTasksShouldRunAfterTheirDelayUnlessCancelled(SimpleThreadPool.Mode mode) throws Exception {
+        assumeTrue(mode != SimpleThreadPool.Mode.VIRTUAL_THREADS || SimpleThreadPool.virtualThreadsSupported());
+        try (SimpleThreadPool pool = new SimpleThreadPool(2, 100, mode)) {
+            AtomicInteger cancelledRuns = new AtomicInteger();
+            long start = System.nanoTime();
+            ScheduledFuture<String> later = pool.schedule(() -> "feito", 50, TimeUnit.MILLISECONDS);
+            ScheduledFuture<?> cancelled = pool.schedule(cancelledRuns::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+            assertEquals(2, pool.scheduledTaskCount());
+            assertTrue(cancelled.cancel(false));
+            assertTrue(later.getDelay(TimeUnit.MILLISECONDS) > 0);
+            assertTrue(cancelled.compareTo(later) < 0);
+
+            assertEquals("feito", later.get(5, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+            assertEquals(0, cancelledRuns.get());
+            assertEquals(0, pool.scheduledTaskCount());
+        }
+    }
+
+    @Test
+    public void periodicTasksShouldRepeatUntilCancelledOrFailed() throws Exception {
+        try (SimpleThreadPool pool = new SimpleThreadPool(2, 100)) {
+            AtomicInteger ticks = new AtomicInteger();
+            ScheduledFuture<?> rate = pool.scheduleAtFixedRate(ticks::incrementAndGet, 0, 10, TimeUnit.MILLISECONDS);
+            Thread.sleep(200);
+            rate.cancel(false);
+            int seen = ticks.get();
+            assertTrue(seen >= 5 && seen <= 25, "execuções " + seen);
+            Thread.sleep(50);
+            assertTrue(ticks.get() <= seen + 1); // no máximo uma que já estava rodando
+            assertThrows(CancellationException.class, rate::get);
+
+            AtomicInteger attempts = new AtomicInteger();
+            ScheduledFuture<?> failing = pool.scheduleWithFixedDelay(() -> {
+                if (attempts.incrementAndGet() == 3) {
+                    throw new IllegalStateException("falhou");
+                }
+            }, 0, 5, TimeUnit.MILLISECONDS);
+            ExecutionException error = assertThrows(ExecutionException.class, () -> failing.get(5, TimeUnit.SECONDS));
+            assertTrue(error.getCause() instanceof IllegalStateException);
+            Thread.sleep(50);
+            assertEquals(3, attempts.get());
+            assertEquals(0, pool.scheduledTaskCount());
+        }
+    }
+
+    @Test
+    public void shutdownShouldCancelScheduledTasksAndShutdownNowReturnThem() throws Exception {
+        SimpleThreadPool pool = new SimpleThreadPool(1, 10);
+        ScheduledFuture<?> delayed = pool.schedule(() -> { }, 1, TimeUnit.HOURS);
+        ScheduledFuture<?> periodic = pool.scheduleAtFixedRate(() -> { }, 1, 1, TimeUnit.HOURS);
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(delayed.isCancelled());
+        assertTrue(periodic.isCancelled());
+        assertThrows(RejectedExecutionException.class, () -> pool.schedule(() -> { }, 1, TimeUnit.SECONDS));
+
+        SimpleThreadPool other = new SimpleThreadPool(1, 10);
+        ScheduledFuture<?> pending = other.schedule(() -> { }, 1, TimeUnit.HOURS);
+        List<Runnable> unrun = other.shutdownNow();
+        assertEquals(List.of(pending), unrun);
+        assertTrue(other.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void saturatedPoolShouldNotStallUnrelatedTimers() throws Exception {
+        Map<String, RejectionPolicy> policies = Map.of("block", RejectionPolicy.block(),
+                "callerRuns", RejectionPolicy.callerRuns());
+        for (Map.Entry<String, RejectionPolicy> policy : policies.entrySet()) {
+            CountDownLatch release = new CountDownLatch(1);
+            try (SimpleThreadPool pool = saturated(policy.getValue(), release)) {
+                Set<String> ranOn = ConcurrentHashMap.newKeySet();
+                Runnable record = () -> ranOn.add(Thread.currentThread().getName());
+                ScheduledFuture<?> first = pool.schedule(record, 0, TimeUnit.MILLISECONDS);
+                ScheduledFuture<?> unrelated;
+                try {
+                    sleep(20); // venceu com a fila cheia
+
+                    // Os outros timers seguem vencendo e sendo cancelados no seu tick
+                    unrelated = pool.schedule(record, 20, TimeUnit.MILLISECONDS);
+                    ScheduledFuture<?> cancelled = pool.schedule(record, 20, TimeUnit.MILLISECONDS);
+                    assertTrue(cancelled.cancel(false));
+                    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                    while (pool.scheduledTaskCount() > 0 && System.nanoTime() < deadline) {
+                        sleep(5);
+                    }
+                    assertEquals(0, pool.scheduledTaskCount(), policy.getKey() + ": a roda parou");
+                    assertFalse(first.isDone());
+                } finally {
+                    release.countDown();
+                }
+                first.get(5, TimeUnit.SECONDS);
+                unrelated.get(5, TimeUnit.SECONDS);
+                assertEquals(Set.of("simple-pool-0"), ranOn, policy.getKey()); // nunca na thread da roda
+            }
+        }
+    }
+
+    @Test
+    public void queueCapacityBeyondThePreallocatedLimitShouldBeRejected() {
+        // A fila é pré-alocada: o "sem limite" da LinkedBlockingQueue viraria um OutOfMemoryError
+        assertThrows(IllegalArgumentException.class, () -> new SimpleThreadPool(2, Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SimpleThreadPool(2, SimpleThreadPool.MAX_QUEUE_CAPACITY + 1, SimpleThreadPool.Mode.WORK_STEALING));
+        assertThrows(IllegalArgumentException.class, () -> new SimpleThreadPool(2, 0));
+    }
+
+    @Test
+    public void rejectionPoliciesShouldApplyWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (SimpleThreadPool pool = saturated(RejectionPolicy.abort(), release)) {
+            assertThrows(RejectedExecutionException.class, () -> pool.execute(() -> { }));
+            release.countDown();
+        }
+
+        CountDownLatch release2 = new CountDownLatch(1);
+        try (SimpleThreadPool pool = saturated(RejectionPolicy.callerRuns(), release2)) {
+            Future<String> ranBy = pool.submit(() -> Thread.currentThread().getName());
+            assertTrue(ranBy.isDone()); // rodou no produtor, dentro do submit
+            assertEquals(Thread.currentThread().getName(), ranBy.get());
+            release2.countDown();
+        }
+
+        CountDownLatch release3 = new CountDownLatch(1);
+        try (SimpleThreadPool pool = saturated(RejectionPolicy.dropOldest(), release3)) {
+            Future<?> oldest = pool.submit(() -> { });
+            Future<String> newest = pool.submit(() -> "newest");
+            assertTrue(oldest.isCancelled());
+            release3.countDown();
+            assertEquals("newest", newest.get(5, TimeUnit.SECONDS));
+        }
+
+        CountDownLatch release4 = new CountDownLatch(1);
+        try (SimpleThreadPool pool = saturated(RejectionPolicy.block(50, TimeUnit.MILLISECONDS), release4)) {
+            long start = System.nanoTime();
+            assertThrows(RejectedExecutionException.class, () -> pool.execute(() -> { }));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+            release4.countDown();
+        }
+    }
+
+    /** Um worker preso até {@code release} e a fila (de 1) já ocupada. */
+    private static SimpleThreadPool saturated(RejectionPolicy policy, CountDownLatch release)
+            throws InterruptedException {
+        SimpleThreadPool pool = new SimpleThreadPool(1, 1, SimpleThreadPool.Mode.SHARED_QUEUE, policy);
+        CountDownLatch started = new CountDownLatch(1);
+        pool.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        started.await();
+        pool.execute(() -> { });
+        return pool;
+    }
+
+    @Test
+    public void elasticPoolShouldGrowWhenQueueWaitRisesAndShrinkAfterKeepAlive() throws Exception {
+        try (SimpleThreadPool pool = new SimpleThreadPool(1, 4, Duration.ofMillis(200), Duration.ofMillis(20), 100,
+                RejectionPolicy.abort())) {
+            CountDownLatch done = new CountDownLatch(40);
+            for (int i = 0; i < 40; i++) {
+                pool.execute(() -> {
+                    sleep(10);
+                    done.countDown();
+                });
+                sleep(1);
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertTrue(pool.poolSize() > 1, "poolSize=" + pool.poolSize());
+            assertTrue(pool.poolSize() <= 4);
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (pool.poolSize() > 1 && System.nanoTime() < deadline) {
+                sleep(50);
+            }
+            assertEquals(1, pool.poolSize());
+        }
+    }
+
+    @Test
+    public void elasticPoolShouldNotGrowForFullQueueOfFastTasks() throws Exception {
+        // Fila de 8 sempre cheia, mas cada tarefa leva microssegundos: a espera prevista é ínfima
+        try (SimpleThreadPool pool = new SimpleThreadPool(1, 4, Duration.ofSeconds(1), Duration.ofMillis(50), 8,
+                RejectionPolicy.block())) {
+            CountDownLatch done = new CountDownLatch(20_000);
+            for (int i = 0; i < 20_000; i++) {
+                pool.execute(done::countDown);
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(1, pool.poolSize());
+            assertTrue(pool.averageServiceTime().toMillis() < 50);
+        }
+    }
+
+    @Test
+    public void virtualThreadModeShouldBoundConcurrencyWithSemaphore() throws InterruptedException {
+        assumeTrue(SimpleThreadPool.virtualThreadsSupported(), "requer JDK 21+");
+        int tasks = 200;
+        AtomicInteger inFlight = new AtomicInteger();
+        LongAccumulator maxInFlight = new LongAccumulator(Math::max, 0);
+        Set<Boolean> virtual = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(tasks);
+        try (SimpleThreadPool pool = new SimpleThreadPool(8, 0, SimpleThreadPool.Mode.VIRTUAL_THREADS)) {
+            for (int i = 0; i < tasks; i++) {
+                pool.submit(() -> {
+                    maxInFlight.accumulate(inFlight.incrementAndGet());
+                    virtual.add(isVirtual(Thread.currentThread()));
+                    sleep(5);
+                    inFlight.decrementAndGet();
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        }
+        assertTrue(maxInFlight.get() <= 8, "max=" + maxInFlight.get());
+        assertEquals(Set.of(true), virtual);
+    }
+
+    @Test
+    public void virtualThreadModeShouldReportPinning() throws InterruptedException {
+        assumeTrue(SimpleThreadPool.virtualThreadsSupported(), "requer JDK 21+");
+        Object lock = new Object();
+        try (SimpleThreadPool pool = new SimpleThreadPool(4, 0, SimpleThreadPool.Mode.VIRTUAL_THREADS)) {
+            for (int i = 0; i < 4; i++) {
+                pool.submit(() -> {
+                    synchronized (lock) {
+                        sleep(20); // bloqueia segurando o monitor: prende o carrier
+                    }
+                });
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (pool.pinnedEvents() == 0 && System.nanoTime() < deadline) {
+                sleep(100);
+            }
+            assertTrue(pool.pinnedEvents() > 0);
+            assertTrue(pool.pinnedTime().toMillis() >= 20, pool.pinnedTime().toString());
+        }
+    }
+
+    @Test
+    public void virtualThreadModeShouldFailFastOnOlderJdks() {
+        assumeTrue(!SimpleThreadPool.virtualThreadsSupported());
+        assertThrows(UnsupportedOperationException.class,
+                () -> new SimpleThreadPool(8, 0, SimpleThreadPool.Mode.VIRTUAL_THREADS));
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.challenge.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+public class ThreadPoolMetricsTest {
+
+    @Test
+    public void histogramPercentilesShouldStayWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 100_000; nanos++) {
+            histogram.record(nanos * 1_000);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertEquals(100_000, snapshot.count());
+        assertEquals(50_000_500, snapshot.mean().toNanos());
+        assertEquals(100_000_000, snapshot.max().toNanos());
+        assertEquals(50_000_000, snapshot.percentile(50).toNanos(), 50_000_000 * 0.125);
+        assertEquals(99_000_000, snapshot.percentile(99).toNanos(), 99_000_000 * 0.125);
+    }
+
+    @Test
+    public void shouldRecordQueueWaitServiceTimeAndUtilization() throws InterruptedException {
+        try (SimpleThreadPool pool = new SimpleThreadPool(2, 100)) {
+            CountDownLatch done = new CountDownLatch(40);
+            for (int i = 0; i < 40; i++) {
+                pool.execute(() -> {
+                    busy(TimeUnit.MILLISECONDS.toNanos(2));
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            waitUntilCompleted(pool, 40);
+
+            ThreadPoolMetrics metrics = pool.metrics();
+            assertEquals(40, metrics.submittedCount());
+            assertEquals(40, metrics.serviceTime().count());
+            assertEquals(40, metrics.queueWait().count());
+            assertTrue(metrics.serviceTime().percentile(50).toNanos() >= TimeUnit.MILLISECONDS.toNanos(2) * 7 / 8);
+            // 40 tarefas de 2 ms para 2 workers: as últimas esperam dezenas de ms na fila
+            assertTrue(metrics.queueWait().max().toMillis() >= 10, metrics.toString());
+            assertEquals(2, metrics.workers().size());
+            assertEquals(40, metrics.workers().stream().mapToLong(ThreadPoolMetrics.WorkerMetrics::completedCount).sum());
+            assertTrue(metrics.utilization() > 0 && metrics.utilization() <= 1, metrics.toString());
+            assertEquals(0, metrics.queuedCount());
+        }
+    }
+
+    @Test
+    public void shouldCountSaturationAndRejections() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        SimpleThreadPool pool = new SimpleThreadPool(1, 1, SimpleThreadPool.Mode.SHARED_QUEUE, RejectionPolicy.abort());
+        pool.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        started.await();
+        pool.execute(() -> { });
+        assertThrows(RejectedExecutionException.class, () -> pool.execute(() -> { }));
+
+        ThreadPoolMetrics metrics = pool.metrics();
+        assertEquals(3, metrics.submittedCount());
+        assertEquals(1, metrics.saturatedCount());
+        assertEquals(1, metrics.rejectedCount());
+        assertEquals(1, metrics.activeCount());
+        assertEquals(1, metrics.queuedCount());
+        release.countDown();
+        pool.close();
+        assertThrows(RejectedExecutionException.class, () -> pool.execute(() -> { }));
+        assertEquals(2, pool.metrics().rejectedCount());
+    }
+
+    @Test
+    public void retiredWorkersShouldKeepTheirCounts() throws InterruptedException {
+        try (SimpleThreadPool pool = new SimpleThreadPool(1, 3, Duration.ofMillis(50), Duration.ofMillis(5), 100,
+                RejectionPolicy.block())) {
+            CountDownLatch done = new CountDownLatch(30);
+            for (int i = 0; i < 30; i++) {
+                pool.execute(() -> {
+                    sleep(5);
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            // O latch desce dentro da tarefa, antes de o worker registrar a execução
+            while ((pool.poolSize() > 1 || pool.metrics().completedCount() < 30) && System.nanoTime() < deadline) {
+                sleep(20);
+            }
+            assertEquals(1, pool.poolSize());
+            assertEquals(30, pool.metrics().completedCount());
+        }
+    }
+
+    @Test
+    public void shouldExposeMetricsThroughJmx() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name;
+        try (SimpleThreadPool pool = new SimpleThreadPool(2, 10)) {
+            name = pool.registerMBean("jmx-test");
+            CountDownLatch done = new CountDownLatch(5);
+            for (int i = 0; i < 5; i++) {
+                pool.execute(done::countDown);
+            }
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            waitUntilCompleted(pool, 5);
+
+            assertTrue(server.isRegistered(name));
+            assertEquals(5L, server.getAttribute(name, "CompletedTaskCount"));
+            assertEquals(2, server.getAttribute(name, "PoolSize"));
+            assertEquals("SHARED_QUEUE", server.getAttribute(name, "Mode"));
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+    /** O latch conta antes de o worker registrar a tarefa: espera os contadores alcançarem. */
+    private static void waitUntilCompleted(SimpleThreadPool pool, long tasks) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pool.metrics().completedCount() < tasks && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void busy(long nanos) {
+        long end = System.nanoTime() + nanos;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
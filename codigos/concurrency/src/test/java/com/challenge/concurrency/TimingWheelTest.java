@@ -0,0 +1,152 @@
+package com.challenge.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class TimingWheelTest {
+    private static final Runnable NOOP = () -> {
+    };
+    private static final TimingWheel.Dispatcher RUN = task -> {
+        task.run();
+        return true;
+    };
+
+    @Test
+    public void timersFireAfterTheirDeadlineAcrossCascadingLevels() throws InterruptedException {
+        // Tick de 50 µs: 400 ms são 8000 ticks, então os prazos passam pelas rodas 0, 1 e 2
+        long tick = TimeUnit.MICROSECONDS.toNanos(50);
+        int count = 300;
+        CountDownLatch fired = new CountDownLatch(count);
+        CountDownLatch exited = new CountDownLatch(1);
+        TimingWheel wheel = new TimingWheel("wheel-test", tick, RUN, exited::countDown);
+        Map<Integer, Long> deadlines = new ConcurrentHashMap<>();
+        Map<Integer, Long> firedAt = new ConcurrentHashMap<>();
+        for (int i = 0; i < count; i++) {
+            int id = i;
+            long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(ThreadLocalRandom.current().nextLong(400_000));
+            deadlines.put(id, deadline);
+            wheel.schedule(() -> {
+                firedAt.put(id, System.nanoTime());
+                fired.countDown();
+            }, deadline);
+        }
+        assertTrue(fired.await(5, TimeUnit.SECONDS), "faltaram " + fired.getCount());
+        for (int i = 0; i < count; i++) {
+            long early = deadlines.get(i) - firedAt.get(i);
+            assertTrue(early <= 0, "timer " + i + " disparou " + early + " ns antes do prazo");
+        }
+        assertEquals(0, wheel.pendingCount());
+        wheel.stop();
+        assertTrue(exited.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void cancelledTimersNeverFire() throws InterruptedException {
+        AtomicInteger fired = new AtomicInteger();
+        TimingWheel wheel = new TimingWheel("wheel-test", TimeUnit.MILLISECONDS.toNanos(1), RUN, NOOP);
+        List<TimingWheel.Timeout> timeouts = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+        for (int i = 0; i < 100_000; i++) {
+            timeouts.add(wheel.schedule(fired::incrementAndGet, deadline + i * 1_000L));
+        }
+        Thread.sleep(10); // parte já entrou nos slots, parte pode estar ainda na pilha de novos
+        for (TimingWheel.Timeout t : timeouts) {
+            assertTrue(t.cancel());
+        }
+        assertFalse(timeouts.get(0).cancel());
+        assertEquals(0, wheel.pendingCount());
+
+        CountDownLatch kept = new CountDownLatch(1);
+        TimingWheel.Timeout timeout = wheel.schedule(kept::countDown, System.nanoTime());
+        assertTrue(kept.await(5, TimeUnit.SECONDS));
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+        Thread.sleep(400); // passa de todos os prazos
+        assertEquals(0, fired.get());
+        wheel.stop();
+    }
+
+    @Test
+    public void aFullDispatcherDoesNotHoldBackOtherTimers() throws InterruptedException {
+        AtomicBoolean full = new AtomicBoolean(true);
+        List<String> delivered = new CopyOnWriteArrayList<>();
+        CountDownLatch both = new CountDownLatch(2);
+        TimingWheel wheel = new TimingWheel("wheel-test", TimeUnit.MILLISECONDS.toNanos(1), task -> {
+            if (full.get()) {
+                return false;
+            }
+            task.run();
+            return true;
+        }, NOOP);
+        wheel.schedule(() -> {
+            delivered.add("primeiro");
+            both.countDown();
+        }, System.nanoTime());
+        Thread.sleep(20); // venceu e espera no transbordo
+
+        TimingWheel.Timeout second = wheel.schedule(() -> {
+            delivered.add("segundo");
+            both.countDown();
+        }, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10));
+        TimingWheel.Timeout cancelled = wheel.schedule(NOOP, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10));
+        assertTrue(cancelled.cancel());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!second.isExpired() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(second.isExpired(), "o ticker parou no dispatcher cheio");
+        assertEquals(0, wheel.pendingCount());
+
+        full.set(false);
+        assertTrue(both.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("primeiro", "segundo"), delivered);
+
+        full.set(true);
+        FutureTask<Void> waiting = new FutureTask<>(NOOP, null);
+        wheel.schedule(waiting, System.nanoTime());
+        Thread.sleep(20);
+        assertEquals(List.of(waiting), wheel.stopNow()); // o vencido no transbordo volta, não é perdido
+        assertFalse(waiting.isCancelled());
+    }
+
+    @Test
+    public void stopCancelsFuturesAndStopNowReturnsThem() throws InterruptedException {
+        long later = System.nanoTime() + TimeUnit.HOURS.toNanos(1);
+        CountDownLatch exited = new CountDownLatch(1);
+        TimingWheel wheel = new TimingWheel("wheel-test", TimeUnit.MILLISECONDS.toNanos(1), RUN,
+                exited::countDown);
+        FutureTask<Void> future = new FutureTask<>(NOOP, null);
+        wheel.schedule(future, later);
+        wheel.stop();
+        assertTrue(exited.await(5, TimeUnit.SECONDS));
+        assertTrue(future.isCancelled());
+        assertThrows(RejectedExecutionException.class, () -> wheel.schedule(NOOP, later));
+
+        TimingWheel other = new TimingWheel("wheel-test", TimeUnit.MILLISECONDS.toNanos(1), RUN, NOOP);
+        FutureTask<Void> kept = new FutureTask<>(NOOP, null);
+        other.schedule(kept, later);
+        other.schedule(NOOP, later + 1);
+        List<Runnable> unfired = other.stopNow();
+        assertEquals(2, unfired.size());
+        assertTrue(unfired.contains(kept));
+        assertFalse(kept.isCancelled());
+        assertEquals(0, other.pendingCount());
+    }
+}
@@ -0,0 +1,78 @@
+package com.challenge.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Test;
+
+public class WorkStealingDequeTest {
+
+    @Test
+    public void ownerPopsLifoAndThievesStealFifo() {
+        WorkStealingDeque deque = new WorkStealingDeque(2);
+        Runnable[] tasks = new Runnable[10];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i] = () -> { };
+            deque.push(tasks[i]); // cresce além da capacidade inicial
+        }
+
+        assertSame(tasks[9], deque.pop());
+        assertSame(tasks[0], deque.steal());
+        assertSame(tasks[1], deque.steal());
+        assertEquals(7, deque.size());
+        for (int i = 8; i >= 2; i--) {
+            assertSame(tasks[i], deque.pop());
+        }
+        assertNull(deque.pop());
+        assertNull(deque.steal());
+    }
+
+    @Test
+    public void everyTaskIsTakenExactlyOnceUnderContention() throws InterruptedException {
+        int total = 200_000;
+        AtomicIntegerArray taken = new AtomicIntegerArray(total);
+        WorkStealingDeque deque = new WorkStealingDeque(16);
+        List<Thread> thieves = new ArrayList<>();
+        Thread owner = new Thread(() -> {
+            for (int i = 0; i < total; i++) {
+                int id = i;
+                deque.push(() -> taken.incrementAndGet(id));
+                if ((i & 3) == 0) {
+                    Runnable task = deque.pop();
+                    if (task != null) {
+                        task.run();
+                    }
+                }
+            }
+            Runnable task;
+            while ((task = deque.pop()) != null) {
+                task.run();
+            }
+        });
+        for (int t = 0; t < 3; t++) {
+            thieves.add(new Thread(() -> {
+                while (owner.isAlive() || !deque.isEmpty()) {
+                    Runnable task = deque.steal();
+                    if (task != null) {
+                        task.run();
+                    }
+                }
+            }));
+        }
+        owner.start();
+        thieves.forEach(Thread::start);
+        owner.join();
+        for (Thread thief : thieves) {
+            thief.join();
+        }
+
+        for (int i = 0; i < total; i++) {
+            assertEquals(1, taken.get(i), "tarefa " + i);
+        }
+    }
+}
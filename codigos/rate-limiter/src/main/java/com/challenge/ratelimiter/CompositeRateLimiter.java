@@ -0,0 +1,82 @@
+package com.challenge.ratelimiter;
+
+/**
+ * Vários limites avaliados como um só: por usuário, por tenant, global, burst e sustentado.
+ * A requisição passa só se <em>todos</em> os tiers admitem; se um rejeita, os que já tinham
+ * consumido são reembolsados. Os tiers {@link TokenBucket} não têm lock (cada um é um CAS) e
+ * nada é alocado: os tiers ficam num array fixo e a verificação é um laço. O tier por chave de
+ * {@link #tryAcquire(KeyedRateLimiter, Object, int)} é a exceção: ele trava o segmento da chave.
+ *
+ * <p>Antes de consumir, uma leitura de todos os tiers descarta o caso comum de rejeição sem
+ * escrever nada. Entre a leitura e o consumo outra thread pode esgotar um tier; aí o
+ * reembolso desfaz o que foi consumido. Nesse intervalo, outra requisição pode ver um tier
+ * momentaneamente mais vazio (rejeição a mais, nunca admissão a mais).
+ *
+ * <pre>
+ * TokenBucket global = new TokenBucket(10_000, 10_000, 1000);
+ * TokenBucket tenant = new TokenBucket(1_000, 1_000, 1000);   // um por tenant
+ * CompositeRateLimiter tenantLimiter = new CompositeRateLimiter(tenant, global);
+ * tenantLimiter.tryAcquire(perUser, userId, 1);               // + o balde do usuário
+ * </pre>
+ */
+public class CompositeRateLimiter implements RateLimiter {
+    private final TokenBucket[] tiers;
+
+    /** Tiers em ordem de avaliação: o mais provável de rejeitar primeiro evita reembolsos. */
+    public CompositeRateLimiter(TokenBucket... tiers) {
+        if (tiers.length == 0) {
+            throw new IllegalArgumentException("Informe ao menos um tier");
+        }
+        this.tiers = tiers.clone();
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    /** Consome {@code permits} de todos os tiers, ou de nenhum. */
+    public boolean tryAcquire(int permits) {
+        return available(permits) && consumeAll(permits);
+    }
+
+    /**
+     * Como {@link #tryAcquire(int)}, com um tier por chave na frente (ex.: o usuário),
+     * vindo de um {@link KeyedRateLimiter}. Esse tier não é lock-free: consumir trava o
+     * segmento da chave (lock striping), e se um tier compartilhado rejeitar depois, o
+     * reembolso o trava de novo. São uma ou duas aquisições de um lock de segmento por chamada,
+     * disputado só por chaves do mesmo segmento.
+     */
+    public <K> boolean tryAcquire(KeyedRateLimiter<K> perKey, K key, int permits) {
+        if (!available(permits) || !perKey.tryAcquire(key, permits)) {
+            return false;
+        }
+        if (consumeAll(permits)) {
+            return true;
+        }
+        perKey.refund(key, permits);
+        return false;
+    }
+
+    /** Leitura sem escrita: todos os tiers têm tokens agora? */
+    private boolean available(int permits) {
+        for (TokenBucket tier : tiers) {
+            if (tier.availableTokens() < permits) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean consumeAll(int permits) {
+        for (int i = 0; i < tiers.length; i++) {
+            if (!tiers[i].tryAcquire(permits)) {
+                for (int j = 0; j < i; j++) {
+                    tiers[j].refund(permits);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,287 @@
+package com.challenge.ratelimiter;
+
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate‑Limiter por chave (API key, IP, usuário...) para milhões de clientes.
+ * Cada chave tem seu próprio Token Bucket em GCRA, mas sem um objeto por chave: o estado
+ * vive em arrays paralelos de tabelas hash de endereçamento aberto ({@code keys},
+ * {@code hashes}, {@code tats}), ~16 bytes por slot além da própria chave.
+ * As tabelas são divididas em segmentos com lock próprio (lock striping) e pré-alocadas
+ * para {@code maxKeys}: a memória é limitada desde a construção.
+ *
+ * <p>Chaves ociosas (TAT ≤ agora, ou seja, balde cheio) são indistinguíveis de chaves novas
+ * e são removidas de forma preguiçosa, por um ponteiro de varredura que avança a cada
+ * inserção. Se um segmento lota mesmo assim, sai a chave com o TAT mais antigo de uma
+ * pequena amostra — a mais próxima de estar cheia; o preço é esquecer parte do consumo dela.
+ */
+public class KeyedRateLimiter<K> {
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 64;
+    private static final int MAX_SEGMENTS = 1 << 16;
+
+    private final long capacity;
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final LongSupplier ticker;
+    private final Segment[] segments;
+    private final int segmentShift;
+
+    public KeyedRateLimiter(long capacity, long refillTokens, long refillIntervalMillis, int maxKeys) {
+        this(capacity, refillTokens, refillIntervalMillis, maxKeys, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    public KeyedRateLimiter(long capacity, long refillTokens, long refillIntervalMillis, int maxKeys,
+            int concurrencyLevel) {
+        this(capacity, refillTokens, refillIntervalMillis, maxKeys, concurrencyLevel, System::nanoTime);
+    }
+
+    KeyedRateLimiter(long capacity, long refillTokens, long refillIntervalMillis, int maxKeys,
+            int concurrencyLevel, LongSupplier ticker) {
+        if (capacity <= 0 || refillTokens <= 0 || refillIntervalMillis <= 0) {
+            throw new IllegalArgumentException("capacity, refillTokens e refillIntervalMillis devem ser positivos");
+        }
+        if (maxKeys <= 0 || maxKeys > 1 << 30 || concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("maxKeys e concurrencyLevel fora do intervalo");
+        }
+        this.capacity = capacity;
+        this.nanosPerToken = Math.max(1, refillIntervalMillis * 1_000_000L / refillTokens);
+        this.burstNanos = Math.multiplyExact(capacity, nanosPerToken);
+        this.maxKeys = maxKeys;
+        this.ticker = ticker;
+
+        // Potência de 2 ≤ maxKeys, para que nenhum segmento fique sem espaço
+        int segmentCount = Math.min(
+                ceilingPowerOfTwo(Math.min(concurrencyLevel, MAX_SEGMENTS)),
+                Integer.highestOneBit(maxKeys));
+        int segmentKeys = (maxKeys + segmentCount - 1) / segmentCount;
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentKeys);
+        }
+    }
+
+    /** Tenta consumir 1 token do balde da chave. */
+    public boolean tryAcquire(K key) {
+        return tryAcquire(key, 1);
+    }
+
+    /** Consome {@code permits} tokens do balde da chave de uma vez, ou nenhum. */
+    public boolean tryAcquire(K key, int permits) {
+        return tryConsume(key, permits) >= 0;
+    }
+
+    /**
+     * Como {@link #tryAcquire(Object, int)}, mas devolve o estado do balde na mesma consulta
+     * (para headers como {@code X-RateLimit-Remaining} e {@code Retry-After}), sem alocar:
+     * os tokens restantes (≥ 0) se conseguiu, ou {@code -(nanos até haver tokens) - 1} se não.
+     */
+    public long tryConsume(K key, int permits) {
+        Objects.requireNonNull(key, "key");
+        if (permits <= 0) {
+            throw new IllegalArgumentException("permits deve ser positivo");
+        }
+        if (permits > capacity) {
+            return Long.MIN_VALUE; // nunca haverá tokens suficientes
+        }
+        int hash = spread(key.hashCode());
+        long cost = permits * nanosPerToken;
+        long now = ticker.getAsLong();
+        long newTat = segmentFor(hash).tryAcquire(key, hash, cost, burstNanos, now);
+        long backlog = newTat - now;
+        if (backlog > burstNanos) {
+            return -(backlog - burstNanos) - 1;
+        }
+        return (burstNanos - backlog) / nanosPerToken;
+    }
+
+    /**
+     * Devolve tokens consumidos e não usados (ex.: um tier seguinte de um
+     * {@link CompositeRateLimiter} rejeitou). Se a chave já foi removida, não há o que devolver.
+     */
+    void refund(K key, int permits) {
+        int hash = spread(key.hashCode());
+        segmentFor(hash).refund(key, hash, permits * nanosPerToken);
+    }
+
+    /** Tokens disponíveis agora para a chave; {@code capacity} se ela não está sendo rastreada. */
+    public long availableTokens(K key) {
+        Objects.requireNonNull(key, "key");
+        int hash = spread(key.hashCode());
+        long now = ticker.getAsLong();
+        long tat = segmentFor(hash).theoreticalArrivalTime(key, hash, now);
+        long backlog = tat - now > 0 ? tat - now : 0;
+        return (burstNanos - backlog) / nanosPerToken;
+    }
+
+    /** Número de chaves rastreadas; soma dos segmentos, não é um snapshot atômico. */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size;
+            }
+        }
+        return size;
+    }
+
+    public int maxKeys() {
+        return maxKeys;
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    private Segment segmentFor(int hash) {
+        // segmentShift == 32 (um só segmento) não desloca nada em Java: a máscara resolve
+        return segments[(hash >>> segmentShift) & (segments.length - 1)];
+    }
+
+    private static int spread(int hashCode) {
+        return hashCode * 0x9E3779B9;
+    }
+
+    private static int ceilingPowerOfTwo(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    /**
+     * Tabela de endereçamento aberto (linear probing, remoção com backward shift) com
+     * capacidade fixa. O hash guardado evita {@code equals} nos slots de outras chaves e
+     * permite recalcular a posição de origem na remoção.
+     */
+    private static final class Segment {
+        private static final int SWEEP_PER_INSERT = 2;
+        private static final int EVICTION_SAMPLE = 8;
+
+        private final Object[] keys;
+        private final int[] hashes;
+        private final long[] tats;
+        private final int mask;
+        private final int maxSize;
+        private int size;
+        private int hand;
+
+        Segment(int maxSize) {
+            // Fator de carga ≤ 0.75
+            int length = ceilingPowerOfTwo(maxSize + maxSize / 3 + 1);
+            this.keys = new Object[length];
+            this.hashes = new int[length];
+            this.tats = new long[length];
+            this.mask = length - 1;
+            this.maxSize = maxSize;
+        }
+
+        /** Retorna o TAT resultante; se ele passa de {@code now + burstNanos}, nada foi consumido. */
+        synchronized long tryAcquire(Object key, int hash, long cost, long burstNanos, long now) {
+            int slot = find(key, hash);
+            if (slot >= 0) {
+                long tat = tats[slot];
+                long newTat = (tat - now > 0 ? tat : now) + cost;
+                if (newTat - now <= burstNanos) {
+                    tats[slot] = newTat;
+                }
+                return newTat;
+            }
+            // Chave nova equivale a um balde cheio; cost ≤ burstNanos já foi garantido
+            sweep(now);
+            if (size >= maxSize) {
+                evictOldest();
+            }
+            insert(key, hash, now + cost);
+            return now + cost;
+        }
+
+        synchronized void refund(Object key, int hash, long cost) {
+            int slot = find(key, hash);
+            if (slot >= 0) {
+                tats[slot] -= cost;
+            }
+        }
+
+        synchronized long theoreticalArrivalTime(Object key, int hash, long now) {
+            int slot = find(key, hash);
+            return slot >= 0 ? tats[slot] : now;
+        }
+
+        /** Índice do slot da chave, ou um valor negativo se ausente. */
+        private int find(Object key, int hash) {
+            int i = indexFor(hash);
+            Object k;
+            while ((k = keys[i]) != null) {
+                if (hashes[i] == hash && k.equals(key)) {
+                    return i;
+                }
+                i = (i + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void insert(Object key, int hash, long tat) {
+            int i = indexFor(hash);
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            hashes[i] = hash;
+            tats[i] = tat;
+            size++;
+        }
+
+        /** Remoção preguiçosa: examina alguns slots a partir do ponteiro e descarta chaves ociosas. */
+        private void sweep(long now) {
+            for (int n = 0; n < SWEEP_PER_INSERT; n++) {
+                int slot = hand;
+                if (keys[slot] != null && tats[slot] - now <= 0) {
+                    delete(slot); // o backward shift pode trazer outra chave para este slot: não avança
+                } else {
+                    hand = (hand + 1) & mask;
+                }
+            }
+        }
+
+        /** Segmento lotado: remove a chave de menor TAT entre as próximas ocupadas a partir do ponteiro. */
+        private void evictOldest() {
+            int victim = -1;
+            int seen = 0;
+            int sample = Math.min(EVICTION_SAMPLE, size);
+            for (int i = hand; seen < sample; i = (i + 1) & mask) {
+                if (keys[i] != null) {
+                    if (victim < 0 || tats[i] - tats[victim] < 0) {
+                        victim = i;
+                    }
+                    seen++;
+                }
+            }
+            hand = (victim + 1) & mask;
+            delete(victim);
+        }
+
+        private void delete(int slot) {
+            int hole = slot;
+            int i = slot;
+            while (true) {
+                i = (i + 1) & mask;
+                if (keys[i] == null) {
+                    break;
+                }
+                int home = indexFor(hashes[i]);
+                if (((i - home) & mask) >= ((i - hole) & mask)) {
+                    keys[hole] = keys[i];
+                    hashes[hole] = hashes[i];
+                    tats[hole] = tats[i];
+                    hole = i;
+                }
+            }
+            keys[hole] = null;
+            size--;
+        }
+
+        private int indexFor(int hash) {
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.challenge.ratelimiter;
+
+/** Contrato comum dos rate limiters deste módulo. */
+public interface RateLimiter {
+
+    /**
+     * Retorna true se a chamada pode prosseguir; false se excedeu o limite.
+     */
+    boolean tryAcquire();
+}
@@ -7,7 +7,7 @@ import java.util.Deque;
 /**
  * Rate‑Limiter Sliding Window simples (contagem de requisições por segundo).
  */
-public class SlidingWindow {
+public class SlidingWindow implements RateLimiter {
     private final int windowSizeSeconds;
     private final int maxRequests;
     private final Deque<Long> timestamps = new ArrayDeque<>();
@@ -20,6 +20,7 @@ public class SlidingWindow {
     /**
      * Retorna true se a chamada pode prosseguir; false se excedeu o limite.
      */
+    @Override
     public synchronized boolean tryAcquire() {
         long now = Instant.now().getEpochSecond();
         long boundary = now - windowSizeSeconds;
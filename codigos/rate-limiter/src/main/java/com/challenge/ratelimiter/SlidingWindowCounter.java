@@ -0,0 +1,125 @@
+package com.challenge.ratelimiter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate‑Limiter Sliding Window Counter: em vez de um timestamp por requisição, a janela é
+ * dividida em {@code buckets} sub-janelas com um contador cada, num anel fixo.
+ * A contagem da janela é a soma dos buckets inteiros mais a fração do bucket mais antigo
+ * que ainda se sobrepõe à janela (interpolação linear). Memória O(buckets), independente
+ * de {@code maxRequests}, e resolução de {@code windowSizeMillis / buckets}.
+ * Lock-free: cada slot do anel é um {@code long} com (número do bucket << 32 | contagem)
+ * atualizado por CAS.
+ */
+public class SlidingWindowCounter implements RateLimiter {
+    private static final long COUNT_MASK = 0xFFFF_FFFFL;
+
+    private final int buckets;
+    private final long bucketNanos;
+    private final int maxRequests;
+    private final AtomicLongArray ring;
+    private final LongSupplier ticker;
+    private final long origin;
+
+    public SlidingWindowCounter(long windowSizeMillis, int buckets, int maxRequests) {
+        this(windowSizeMillis, buckets, maxRequests, System::nanoTime);
+    }
+
+    SlidingWindowCounter(long windowSizeMillis, int buckets, int maxRequests, LongSupplier ticker) {
+        if (windowSizeMillis <= 0 || buckets <= 0 || maxRequests <= 0) {
+            throw new IllegalArgumentException("windowSizeMillis, buckets e maxRequests devem ser positivos");
+        }
+        this.buckets = buckets;
+        this.bucketNanos = Math.max(1, windowSizeMillis * 1_000_000L / buckets);
+        this.maxRequests = maxRequests;
+        // Um slot extra para o bucket que está saindo da janela (parcialmente sobreposto)
+        this.ring = new AtomicLongArray(buckets + 1);
+        this.ticker = ticker;
+        this.origin = ticker.getAsLong();
+    }
+
+    /**
+     * Retorna true se a chamada pode prosseguir; false se excedeu o limite.
+     * Incrementa antes de verificar e desfaz se passou do limite: corridas entre threads
+     * podem rejeitar a mais, nunca aceitar a mais.
+     */
+    @Override
+    public boolean tryAcquire() {
+        long elapsed;
+        long current;
+        int slot;
+        do {
+            elapsed = ticker.getAsLong() - origin;
+            current = elapsed / bucketNanos;
+            slot = slotOf(current);
+        } while (!increment(slot, current));
+        long offset = elapsed - current * bucketNanos;
+
+        if (estimate(current, offset) > maxRequests) {
+            decrement(slot, current);
+            return false;
+        }
+        return true;
+    }
+
+    /** Contagem estimada na janela que termina agora. */
+    public double currentCount() {
+        long elapsed = ticker.getAsLong() - origin;
+        long current = elapsed / bucketNanos;
+        return estimate(current, elapsed - current * bucketNanos);
+    }
+
+    private double estimate(long current, long offset) {
+        long full = 0;
+        for (long bucket = current - buckets + 1; bucket <= current; bucket++) {
+            full += countOf(bucket);
+        }
+        double overlap = (double) (bucketNanos - offset) / bucketNanos;
+        return full + countOf(current - buckets) * overlap;
+    }
+
+    private long countOf(long bucket) {
+        if (bucket < 0) {
+            return 0;
+        }
+        long value = ring.get(slotOf(bucket));
+        return (int) (value >>> 32) == (int) bucket ? value & COUNT_MASK : 0;
+    }
+
+    /**
+     * Retorna false se o slot já guarda um bucket mais novo: a thread leu o relógio e ficou
+     * parada por mais de uma janela. Zerar o slot apagaria a contagem atual; quem chama relê o relógio.
+     */
+    private boolean increment(int slot, long bucket) {
+        while (true) {
+            long value = ring.get(slot);
+            int age = (int) bucket - (int) (value >>> 32);
+            if (age < 0) {
+                return false;
+            }
+            long next = age == 0
+                    ? value + 1
+                    : (bucket << 32) | 1; // slot ainda guarda um bucket antigo: recomeça a contagem
+            if (ring.compareAndSet(slot, value, next)) {
+                return true;
+            }
+        }
+    }
+
+    private void decrement(int slot, long bucket) {
+        while (true) {
+            long value = ring.get(slot);
+            if ((int) (value >>> 32) != (int) bucket || (value & COUNT_MASK) == 0) {
+                return;
+            }
+            if (ring.compareAndSet(slot, value, value - 1)) {
+                return;
+            }
+        }
+    }
+
+    private int slotOf(long bucket) {
+        return (int) (bucket % ring.length());
+    }
+}
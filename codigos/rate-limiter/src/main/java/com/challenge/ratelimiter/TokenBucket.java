@@ -1,43 +1,218 @@
 package com.challenge.ratelimiter;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
-/** Rate‑Limiter estilo Token Bucket. */
-public class TokenBucket {
+/**
+ * Rate‑Limiter estilo Token Bucket, lock-free.
+ * Implementado como GCRA (Generic Cell Rate Algorithm): em vez de guardar tokens e o
+ * instante do último refill, guarda um único {@code long} — o "theoretical arrival time"
+ * (TAT) — atualizado por CAS. Cada token custa {@code refillIntervalMillis / refillTokens};
+ * a requisição passa se o TAT, somado ao custo, não ultrapassar {@code now + capacity × custo}.
+ * O reabastecimento é contínuo (na mesma taxa média), não em blocos por intervalo.
+ *
+ * <p>{@link #acquire(int, long, TimeUnit)} e {@link #acquireAsync(int)} esperam sem polling:
+ * quem não conseguiu tokens entra numa fila FIFO e um único tick agendado, no instante em que
+ * os tokens do primeiro da fila estarão disponíveis, atende os que couberem. A espera usa
+ * {@link CompletableFuture} (sem {@code synchronized}), então virtual threads não prendem a
+ * carrier thread. O tick só consome os tokens: os futures são completados no pool assíncrono
+ * padrão do {@code CompletableFuture}, em ordem, para que um {@code thenRun} lento não segure a
+ * thread de ticks que todos os buckets compartilham.
+ */
+public class TokenBucket implements RateLimiter {
     private final long capacity;
-    private final long refillTokens;
-    private final long refillIntervalNanos;
-    private final AtomicLong availableTokens = new AtomicLong();
-    private volatile long lastRefillTimestamp;
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final LongSupplier ticker;
+    private final AtomicLong theoreticalArrivalTime;
+    private final ConcurrentLinkedQueue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean tickScheduled = new AtomicBoolean();
+    /** Waiters que já têm os tokens, à espera de ter o future completado fora do scheduler. */
+    private final ConcurrentLinkedQueue<Waiter> granted = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean completing = new AtomicBoolean();
 
     public TokenBucket(long capacity, long refillTokens, long refillIntervalMillis) {
+        this(capacity, refillTokens, refillIntervalMillis, System::nanoTime);
+    }
+
+    TokenBucket(long capacity, long refillTokens, long refillIntervalMillis, LongSupplier ticker) {
+        if (capacity <= 0 || refillTokens <= 0 || refillIntervalMillis <= 0) {
+            throw new IllegalArgumentException("capacity, refillTokens e refillIntervalMillis devem ser positivos");
+        }
         this.capacity = capacity;
-        this.refillTokens = refillTokens;
-        this.refillIntervalNanos = refillIntervalMillis * 1_000_000L;
-        this.availableTokens.set(capacity);
-        this.lastRefillTimestamp = System.nanoTime();
+        this.nanosPerToken = Math.max(1, refillIntervalMillis * 1_000_000L / refillTokens);
+        this.burstNanos = Math.multiplyExact(capacity, nanosPerToken);
+        this.ticker = ticker;
+        // TAT = agora: o balde começa cheio
+        this.theoreticalArrivalTime = new AtomicLong(ticker.getAsLong());
     }
 
     /**
      * Tenta consumir 1 token; retorna true se permitido, false se rate‑limitado.
      */
-    public synchronized boolean tryAcquire() {
-        refill();
-        if (availableTokens.get() > 0) {
-            availableTokens.decrementAndGet();
+    @Override
+    public boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    /** Consome {@code permits} tokens de uma vez, ou nenhum. */
+    public boolean tryAcquire(int permits) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("permits deve ser positivo");
+        }
+        if (permits > capacity) {
+            return false;
+        }
+        long cost = permits * nanosPerToken;
+        while (true) {
+            long now = ticker.getAsLong();
+            long tat = theoreticalArrivalTime.get();
+            long newTat = (tat - now > 0 ? tat : now) + cost;
+            if (newTat - now > burstNanos) {
+                return false; // caminho de rejeição só lê: sem escrita, sem disputa de cache line
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Bloqueia até conseguir {@code permits} tokens ou até o timeout.
+     * Retorna false se o tempo acabou; os tokens não são consumidos nesse caso.
+     */
+    public boolean acquire(int permits, long timeout, TimeUnit unit) throws InterruptedException {
+        CompletableFuture<Void> future = acquireAsync(permits);
+        try {
+            future.get(timeout, unit);
             return true;
+        } catch (TimeoutException e) {
+            // Se o tick completou o future entre o timeout e o cancel, os tokens já são nossos
+            return !future.cancel(false);
+        } catch (InterruptedException e) {
+            if (!future.cancel(false)) {
+                refund(permits);
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Future completado quando {@code permits} tokens forem consumidos, em ordem de chegada.
+     * Cancelar o future desiste da espera. Se foi preciso esperar, o future é completado (e os
+     * callbacks encadeados nele rodam) no pool assíncrono padrão, nunca na thread de ticks.
+     */
+    public CompletableFuture<Void> acquireAsync(int permits) {
+        if (permits <= 0 || permits > capacity) {
+            throw new IllegalArgumentException("permits deve estar entre 1 e capacity");
+        }
+        // Sem fila, tenta direto; com fila, não fura a vez de quem já espera
+        if (waiters.isEmpty() && tryAcquire(permits)) {
+            return CompletableFuture.completedFuture(null);
         }
-        return false;
+        Waiter waiter = new Waiter(permits);
+        waiters.add(waiter);
+        scheduleTick();
+        return waiter.future;
     }
 
-    private void refill() {
-        long now = System.nanoTime();
-        long elapsed = now - lastRefillTimestamp;
-        if (elapsed >= refillIntervalNanos) {
-            long tokensToAdd = (elapsed / refillIntervalNanos) * refillTokens;
-            long newCount = Math.min(capacity, availableTokens.get() + tokensToAdd);
-            availableTokens.set(newCount);
-            lastRefillTimestamp = now;
+    /** Devolve tokens consumidos mas não usados (ex.: o waiter desistiu depois de atendido). */
+    void refund(int permits) {
+        theoreticalArrivalTime.addAndGet(-permits * nanosPerToken);
+    }
+
+    /** Atende, em ordem, os waiters cujos tokens já estão disponíveis e agenda o próximo tick. */
+    private void drain() {
+        Waiter head;
+        while ((head = waiters.peek()) != null) {
+            if (head.future.isDone()) {
+                waiters.poll(); // cancelado ou com timeout
+            } else if (tryAcquire(head.permits)) {
+                waiters.poll();
+                grant(head);
+            } else {
+                break;
+            }
+        }
+        tickScheduled.set(false);
+        // Um waiter que chegou depois do laço e antes do set(false) não conseguiu agendar
+        if (!waiters.isEmpty()) {
+            scheduleTick();
         }
     }
-}
\ No newline at end of file
+
+    private void grant(Waiter waiter) {
+        granted.add(waiter);
+        if (completing.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(this::completeGranted);
+        }
+    }
+
+    /** Um completador por vez por bucket: os futures saem na ordem em que os tokens foram consumidos. */
+    private void completeGranted() {
+        do {
+            Waiter waiter;
+            while ((waiter = granted.poll()) != null) {
+                if (!waiter.future.complete(null)) {
+                    refund(waiter.permits); // cancelado depois de atendido
+                }
+            }
+            completing.set(false);
+            // Um grant entre o último poll e o set(false) não conseguiu disparar outro completador
+        } while (!granted.isEmpty() && completing.compareAndSet(false, true));
+    }
+
+    private void scheduleTick() {
+        Waiter head = waiters.peek();
+        if (head != null && tickScheduled.compareAndSet(false, true)) {
+            Scheduler.INSTANCE.schedule(this::drain, nanosUntilAvailable(head.permits), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private long nanosUntilAvailable(int permits) {
+        long now = ticker.getAsLong();
+        long tat = theoreticalArrivalTime.get();
+        long wait = (tat - now > 0 ? tat - now : 0) + permits * nanosPerToken - burstNanos;
+        return Math.max(0, wait);
+    }
+
+    /** Tokens disponíveis agora (estimativa instantânea). */
+    public long availableTokens() {
+        long now = ticker.getAsLong();
+        long tat = theoreticalArrivalTime.get();
+        long backlog = tat - now > 0 ? tat - now : 0;
+        return (burstNanos - backlog) / nanosPerToken;
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    private static final class Waiter {
+        final int permits;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Waiter(int permits) {
+            this.permits = permits;
+        }
+    }
+
+    /** Uma única thread daemon compartilhada por todos os buckets para os ticks. */
+    private static final class Scheduler {
+        static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-bucket-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
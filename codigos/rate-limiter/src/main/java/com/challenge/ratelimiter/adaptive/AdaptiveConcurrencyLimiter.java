@@ -0,0 +1,85 @@
+package com.challenge.ratelimiter.adaptive;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Limita requisições simultâneas (em voo), não requisições por segundo: pela Lei de Little,
+ * concorrência = vazão × latência, então um limite de concorrência se ajusta sozinho quando
+ * o backend fica mais lento. O limite vem de um {@link LimitAlgorithm} alimentado com o RTT
+ * de cada requisição.
+ *
+ * <pre>
+ * Permit permit = limiter.tryAcquire();
+ * if (permit == null) { return 503; }
+ * try { chamarBackend(); permit.release(); } catch (TimeoutException e) { permit.drop(); }
+ * </pre>
+ *
+ * {@code tryAcquire} é lock-free (CAS no contador em voo); a amostra é registrada na liberação.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private final LimitAlgorithm algorithm;
+    private final LongSupplier ticker;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public AdaptiveConcurrencyLimiter(LimitAlgorithm algorithm) {
+        this(algorithm, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(LimitAlgorithm algorithm, LongSupplier ticker) {
+        this.algorithm = algorithm;
+        this.ticker = ticker;
+    }
+
+    /** Retorna uma permissão a ser liberada ao fim da requisição, ou null se o limite foi atingido. */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= algorithm.limit()) {
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(ticker.getAsLong(), current + 1);
+            }
+        }
+    }
+
+    public int limit() {
+        return algorithm.limit();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /** Permissão de uma requisição admitida; deve ser liberada uma única vez. */
+    public final class Permit {
+        private final long startNanos;
+        private final int inFlightAtStart;
+        private boolean completed;
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /** A requisição terminou normalmente: o RTT entra na amostra. */
+        public void release() {
+            complete(false);
+        }
+
+        /** A requisição deu timeout ou foi rejeitada por sobrecarga: sinal para reduzir o limite. */
+        public void drop() {
+            complete(true);
+        }
+
+        private void complete(boolean dropped) {
+            if (completed) {
+                throw new IllegalStateException("Permit já liberado");
+            }
+            completed = true;
+            inFlight.decrementAndGet();
+            algorithm.onSample(ticker.getAsLong() - startNanos, inFlightAtStart, dropped);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.challenge.ratelimiter.adaptive;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AIMD (Additive Increase, Multiplicative Decrease), como o controle de congestionamento do TCP:
+ * cada amostra boa soma {@code 1 / limite} (≈ +1 por "janela" de requisições); um descarte ou
+ * um RTT acima de {@code timeout} multiplica o limite por {@code backoffRatio}.
+ * Só cresce quando o limite está sendo usado: com menos da metade em voo, o limite atual
+ * não foi o que segurou a vazão.
+ */
+public class AimdLimit implements LimitAlgorithm {
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long timeoutNanos;
+    private double estimate;
+    private volatile int limit;
+
+    /** Começa em 20, entre 1 e 1000, recua 10% e considera descarte RTT acima de 5 s. */
+    public AimdLimit() {
+        this(20, 1, 1_000, 0.9, 5, TimeUnit.SECONDS);
+    }
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long timeout, TimeUnit unit) {
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Esperado 0 < minLimit <= initialLimit <= maxLimit");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio deve estar entre 0 e 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.timeoutNanos = unit.toNanos(timeout);
+        this.estimate = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    @Override
+    public int limit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (dropped || rttNanos > timeoutNanos) {
+            estimate = Math.max(minLimit, estimate * backoffRatio);
+        } else if (inFlight * 2 >= limit) {
+            estimate = Math.min(maxLimit, estimate + 1.0 / estimate);
+        } else {
+            return;
+        }
+        limit = (int) estimate;
+    }
+}
@@ -0,0 +1,182 @@
+package com.challenge.ratelimiter.adaptive;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Simulação de eventos discretos (relógio simulado, determinística): clientes chegam a uma
+ * taxa fixa (Poisson) num backend com {@code WORKERS} workers e fila FIFO. No meio da
+ * simulação o backend fica 4× mais lento; a capacidade cai abaixo da taxa de chegada e,
+ * sem limite adaptativo, a fila (e a latência) cresce até o limite fixo.
+ * Para cada algoritmo, reporta p50/p99 da latência, vazão e rejeições em cada fase.
+ *
+ * <pre>
+ * java com.challenge.ratelimiter.adaptive.ConcurrencyLimitSimulation
+ * </pre>
+ */
+public class ConcurrencyLimitSimulation {
+    static final int WORKERS = 10;
+    static final double ARRIVALS_PER_SECOND = 700;
+    static final long SERVICE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    static final long PHASE_NANOS = TimeUnit.SECONDS.toNanos(30);
+    static final String[] PHASES = { "normal", "lento (4x)", "recuperado" };
+    static final double[] SLOWDOWN = { 1, 4, 1 };
+
+    public static void main(String[] args) {
+        System.out.printf("Backend: %d workers, serviço médio %d ms (4x mais lento na fase 2), %.0f req/s%n",
+                WORKERS, TimeUnit.NANOSECONDS.toMillis(SERVICE_NANOS), ARRIVALS_PER_SECOND);
+        System.out.printf("%-14s %-11s %9s %9s %10s %10s %7s%n",
+                "Algoritmo", "Fase", "p50 (ms)", "p99 (ms)", "Vazão/s", "Rejeitadas", "Limite");
+        for (Map.Entry<String, Supplier<LimitAlgorithm>> algorithm : algorithms().entrySet()) {
+            for (Phase phase : simulate(algorithm.getValue().get(), 42)) {
+                System.out.printf("%-14s %-11s %9.1f %9.1f %10.0f %9.1f%% %7d%n",
+                        algorithm.getKey(), phase.name, phase.p50Millis, phase.p99Millis,
+                        phase.throughputPerSecond, 100 * phase.rejectedRatio, phase.finalLimit);
+            }
+        }
+    }
+
+    public static Map<String, Supplier<LimitAlgorithm>> algorithms() {
+        Map<String, Supplier<LimitAlgorithm>> algorithms = new LinkedHashMap<>();
+        algorithms.put("Fixo (200)", () -> LimitAlgorithm.fixed(200));
+        // Timeout de 100 ms: o AIMD só reage a descartes, então o timeout é o seu SLA
+        algorithms.put("AIMD", () -> new AimdLimit(20, 1, 1_000, 0.9, 100, TimeUnit.MILLISECONDS));
+        algorithms.put("Gradient", LimitAlgorithm::gradient);
+        return algorithms;
+    }
+
+    /** Estatísticas de uma fase da simulação. */
+    public static final class Phase {
+        public final String name;
+        public final double p50Millis;
+        public final double p99Millis;
+        public final double throughputPerSecond;
+        public final double rejectedRatio;
+        public final int finalLimit;
+
+        Phase(String name, double p50Millis, double p99Millis, double throughputPerSecond, double rejectedRatio,
+                int finalLimit) {
+            this.name = name;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.throughputPerSecond = throughputPerSecond;
+            this.rejectedRatio = rejectedRatio;
+            this.finalLimit = finalLimit;
+        }
+    }
+
+    /** Roda as três fases com o algoritmo dado e retorna as estatísticas de cada uma. */
+    public static Phase[] simulate(LimitAlgorithm algorithm, long seed) {
+        Random random = new Random(seed);
+        long[] clock = { 0 };
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(algorithm, () -> clock[0]);
+        PriorityQueue<Request> completions = new PriorityQueue<>((a, b) -> Long.compare(a.completion, b.completion));
+        ArrayDeque<Request> queue = new ArrayDeque<>();
+        int busy = 0;
+
+        Phase[] phases = new Phase[PHASES.length];
+        LatencyRecorder latencies = new LatencyRecorder();
+        long arrivals = 0;
+        long rejected = 0;
+        int phase = 0;
+        long nextArrival = exponential(random, 1e9 / ARRIVALS_PER_SECOND);
+
+        while (phase < PHASES.length) {
+            Request done = completions.peek();
+            long phaseEnd = (phase + 1) * PHASE_NANOS;
+            long next = Math.min(nextArrival, done != null ? done.completion : Long.MAX_VALUE);
+
+            if (next >= phaseEnd) {
+                clock[0] = phaseEnd;
+                phases[phase] = latencies.toPhase(PHASES[phase], arrivals, rejected, algorithm.limit());
+                latencies = new LatencyRecorder();
+                arrivals = 0;
+                rejected = 0;
+                phase++;
+                continue;
+            }
+
+            clock[0] = next;
+            if (done != null && done.completion == next) {
+                completions.poll();
+                latencies.record(next - done.arrival);
+                done.permit.release();
+                busy--;
+                Request waiting = queue.poll();
+                if (waiting != null) {
+                    waiting.completion = next + serviceTime(random, phase);
+                    completions.add(waiting);
+                    busy++;
+                }
+            } else {
+                arrivals++;
+                nextArrival = next + exponential(random, 1e9 / ARRIVALS_PER_SECOND);
+                AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+                if (permit == null) {
+                    rejected++;
+                    continue;
+                }
+                Request request = new Request(next, permit);
+                if (busy < WORKERS) {
+                    request.completion = next + serviceTime(random, phase);
+                    completions.add(request);
+                    busy++;
+                } else {
+                    queue.add(request);
+                }
+            }
+        }
+        return phases;
+    }
+
+    private static long serviceTime(Random random, int phase) {
+        return exponential(random, SERVICE_NANOS * SLOWDOWN[phase]);
+    }
+
+    private static long exponential(Random random, double mean) {
+        return Math.max(1, (long) (-Math.log(1 - random.nextDouble()) * mean));
+    }
+
+    private static final class Request {
+        final long arrival;
+        final AdaptiveConcurrencyLimiter.Permit permit;
+        long completion;
+
+        Request(long arrival, AdaptiveConcurrencyLimiter.Permit permit) {
+            this.arrival = arrival;
+            this.permit = permit;
+        }
+    }
+
+    private static final class LatencyRecorder {
+        private long[] samples = new long[1024];
+        private int size;
+
+        void record(long latencyNanos) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = latencyNanos;
+        }
+
+        Phase toPhase(String name, long arrivals, long rejected, int limit) {
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            return new Phase(name, percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99),
+                    size * 1e9 / PHASE_NANOS, arrivals == 0 ? 0 : (double) rejected / arrivals, limit);
+        }
+
+        private static double percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.ceil(percentile * sorted.length) - 1] / 1e6;
+        }
+    }
+}
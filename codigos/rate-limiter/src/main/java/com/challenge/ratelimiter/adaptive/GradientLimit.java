@@ -0,0 +1,91 @@
+package com.challenge.ratelimiter.adaptive;
+
+/**
+ * Limite por gradiente de RTT, no estilo TCP Vegas / Gradient2: compara o RTT recente
+ * ({@code shortRtt}, média curta) com a linha de base ({@code longRtt}, média longa).
+ * Se o recente sobe além de {@code tolerance × base}, há fila se formando e o limite
+ * encolhe na proporção; senão cresce por uma folga de fila de √limite.
+ *
+ * <pre>
+ * gradiente = clamp(tolerance × longRtt / shortRtt, 0.5, 1)
+ * novo      = limite × gradiente + √limite
+ * limite    = limite × (1 − smoothing) + novo × smoothing
+ * </pre>
+ *
+ * A base sobe 10× mais devagar do que desce: se acompanhasse o RTT na mesma velocidade,
+ * seguiria a própria fila que deveria detectar e o limite cresceria sem parar. Quando a
+ * latência cai muito abaixo da base (o backend se recuperou), a base decai ainda mais rápido
+ * para não manter o limite baixo à toa.
+ */
+public class GradientLimit implements LimitAlgorithm {
+    private static final int SHORT_WINDOW = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final int longWindow;
+    private double estimate;
+    private double shortRtt;
+    private double longRtt;
+    private volatile int limit;
+
+    /** Começa em 20, entre 1 e 1000, tolera RTT 1.5× a base, suavização 0.2, base de 600 amostras. */
+    public GradientLimit() {
+        this(20, 1, 1_000, 1.5, 0.2, 600);
+    }
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+            int longWindow) {
+        if (minLimit <= 0 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Esperado 0 < minLimit <= initialLimit <= maxLimit");
+        }
+        if (tolerance < 1 || smoothing <= 0 || smoothing > 1 || longWindow <= SHORT_WINDOW) {
+            throw new IllegalArgumentException("tolerance >= 1, 0 < smoothing <= 1 e longWindow > " + SHORT_WINDOW);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.longWindow = longWindow;
+        this.estimate = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    @Override
+    public int limit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return;
+        }
+        shortRtt = ewma(shortRtt, rttNanos, SHORT_WINDOW);
+        // A base sobe devagar (senão acompanha a própria fila que deveria detectar) e desce rápido
+        longRtt = shortRtt > longRtt ? ewma(longRtt, rttNanos, longWindow * 10) : ewma(longRtt, rttNanos, longWindow);
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95; // latência caiu bem abaixo da base: deixa a base acompanhar
+        }
+
+        double gradient;
+        if (dropped) {
+            gradient = 0.5;
+        } else if (inFlight * 2 < estimate) {
+            return; // limite não foi usado: a amostra não diz nada sobre ele
+        } else {
+            gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        }
+        double next = estimate * gradient + Math.sqrt(estimate);
+        estimate = Math.max(minLimit, Math.min(maxLimit, estimate * (1 - smoothing) + next * smoothing));
+        limit = (int) estimate;
+    }
+
+    private static double ewma(double average, long sample, int window) {
+        double alpha = 2.0 / (window + 1);
+        return average + alpha * (sample - average);
+    }
+}
@@ -0,0 +1,46 @@
+package com.challenge.ratelimiter.adaptive;
+
+/**
+ * Algoritmo que decide o limite de requisições simultâneas de um
+ * {@link AdaptiveConcurrencyLimiter} a partir das amostras de RTT.
+ * {@link #limit()} é lido a cada requisição e deve ser barato (um campo volatile);
+ * {@link #onSample} é chamado ao fim de cada requisição admitida.
+ */
+public interface LimitAlgorithm {
+
+    /** Limite atual de requisições simultâneas. */
+    int limit();
+
+    /**
+     * Registra o resultado de uma requisição: o RTT medido, quantas estavam em voo quando ela
+     * começou e se ela foi descartada (timeout, erro de sobrecarga).
+     */
+    void onSample(long rttNanos, int inFlight, boolean dropped);
+
+    /** AIMD com os padrões de {@link AimdLimit}. */
+    static LimitAlgorithm aimd() {
+        return new AimdLimit();
+    }
+
+    /** Gradient com os padrões de {@link GradientLimit}. */
+    static LimitAlgorithm gradient() {
+        return new GradientLimit();
+    }
+
+    /** Limite fixo, para comparação. */
+    static LimitAlgorithm fixed(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("limit deve ser positivo");
+        }
+        return new LimitAlgorithm() {
+            @Override
+            public int limit() {
+                return limit;
+            }
+
+            @Override
+            public void onSample(long rttNanos, int inFlight, boolean dropped) {
+            }
+        };
+    }
+}
@@ -0,0 +1,182 @@
+package com.challenge.ratelimiter.distributed;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import com.challenge.ratelimiter.RateLimiter;
+
+/**
+ * Rate‑Limiter global para várias réplicas: no máximo {@code limit} requisições por janela
+ * fixa de {@code windowMillis}, somando todos os nós.
+ * Cada nó reserva (lease) lotes de {@code batchSize} tokens no {@link SharedCounterStore} e os
+ * gasta localmente com um CAS; quando o saldo local cai abaixo da metade do lote, o próximo
+ * lote é buscado em background. No regime normal, {@code tryAcquire} não faz round trip.
+ *
+ * <p>O store nunca concede mais que {@code limit} por janela, então o total admitido não passa
+ * do limite. O erro é para baixo: tokens reservados e não gastos quando a janela vira se
+ * perdem (até {@code nós × batchSize} por janela). Se o store falhar, o nó só gasta o que
+ * já tinha reservado (fail-closed).
+ */
+public class DistributedRateLimiter implements RateLimiter {
+
+    private final SharedCounterStore store;
+    private final String key;
+    private final long limit;
+    private final long windowMillis;
+    private final int batchSize;
+    private final Executor executor;
+    private final LongSupplier clockMillis;
+    private final AtomicReference<Lease> current;
+    private final ReentrantLock leaseLock = new ReentrantLock();
+    private final AtomicLong leases = new AtomicLong();
+    private final AtomicLong blockingLeases = new AtomicLong();
+    private final AtomicLong failedLeases = new AtomicLong();
+
+    public DistributedRateLimiter(SharedCounterStore store, String key, long limit, long windowMillis, int batchSize) {
+        this(store, key, limit, windowMillis, batchSize, Prefetcher.INSTANCE, System::currentTimeMillis);
+    }
+
+    DistributedRateLimiter(SharedCounterStore store, String key, long limit, long windowMillis, int batchSize,
+            Executor executor, LongSupplier clockMillis) {
+        if (limit <= 0 || windowMillis <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("limit, windowMillis e batchSize devem ser positivos");
+        }
+        this.store = store;
+        this.key = key;
+        this.limit = limit;
+        this.windowMillis = windowMillis;
+        this.batchSize = (int) Math.min(batchSize, limit);
+        this.executor = executor;
+        this.clockMillis = clockMillis;
+        this.current = new AtomicReference<>(new Lease(clockMillis.getAsLong() / windowMillis));
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        Lease lease = leaseFor(clockMillis.getAsLong() / windowMillis);
+        if (spend(lease)) {
+            return true;
+        }
+        if (lease.exhausted) {
+            return false; // o limite global da janela já foi todo reservado
+        }
+        // Sem saldo local: início da janela ou o prefetch não chegou a tempo. Só aqui há round trip.
+        leaseLock.lock();
+        try {
+            if (lease.remaining.get() <= 0 && !lease.exhausted) {
+                blockingLeases.incrementAndGet();
+                lease(lease);
+            }
+        } finally {
+            leaseLock.unlock();
+        }
+        return spend(lease);
+    }
+
+    /** Lotes reservados no store. */
+    public long leases() {
+        return leases.get();
+    }
+
+    /** Reservas feitas no caminho da requisição (o saldo local tinha acabado). */
+    public long blockingLeases() {
+        return blockingLeases.get();
+    }
+
+    /** Reservas que falharam por erro do store. */
+    public long failedLeases() {
+        return failedLeases.get();
+    }
+
+    private Lease leaseFor(long window) {
+        Lease lease = current.get();
+        while (lease.window < window) {
+            Lease next = new Lease(window);
+            if (current.compareAndSet(lease, next)) {
+                return next;
+            }
+            lease = current.get();
+        }
+        return lease;
+    }
+
+    private boolean spend(Lease lease) {
+        while (true) {
+            long remaining = lease.remaining.get();
+            if (remaining <= 0) {
+                return false;
+            }
+            if (lease.remaining.compareAndSet(remaining, remaining - 1)) {
+                if (remaining - 1 <= batchSize / 2) {
+                    prefetch(lease);
+                }
+                return true;
+            }
+        }
+    }
+
+    private void prefetch(Lease lease) {
+        if (!lease.exhausted && lease.prefetching.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                leaseLock.lock();
+                try {
+                    if (current.get() == lease) {
+                        lease(lease);
+                    }
+                } finally {
+                    lease.prefetching.set(false);
+                    leaseLock.unlock();
+                }
+            });
+        }
+    }
+
+    /** Reserva um lote no store; chamado com {@code leaseLock}. */
+    private void lease(Lease lease) {
+        if (lease.exhausted) {
+            return;
+        }
+        long total;
+        try {
+            // Expira depois de duas janelas: relógios dos nós podem divergir um pouco
+            total = store.incrementBy(key + ":" + lease.window, batchSize, 2 * windowMillis);
+        } catch (RuntimeException e) {
+            failedLeases.incrementAndGet();
+            return;
+        }
+        leases.incrementAndGet();
+        long alreadyReserved = total - batchSize;
+        long granted = Math.max(0, Math.min(batchSize, limit - alreadyReserved));
+        if (granted < batchSize) {
+            lease.exhausted = true;
+        }
+        lease.remaining.addAndGet(granted);
+    }
+
+    /** Saldo local de uma janela. */
+    private static final class Lease {
+        final long window;
+        final AtomicLong remaining = new AtomicLong();
+        final AtomicBoolean prefetching = new AtomicBoolean();
+        volatile boolean exhausted;
+
+        Lease(long window) {
+            this.window = window;
+        }
+    }
+
+    /** Uma thread daemon compartilhada para as reservas em background. */
+    private static final class Prefetcher {
+        static final ExecutorService INSTANCE = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "distributed-rate-limiter-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
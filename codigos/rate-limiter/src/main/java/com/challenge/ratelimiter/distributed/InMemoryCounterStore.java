@@ -0,0 +1,48 @@
+package com.challenge.ratelimiter.distributed;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link SharedCounterStore} num único processo: útil para testes e para simular vários
+ * nós dentro da mesma JVM. Contadores expirados são removidos a cada {@code PURGE_INTERVAL}
+ * chamadas.
+ */
+public class InMemoryCounterStore implements SharedCounterStore {
+    private static final int PURGE_INTERVAL = 1024;
+
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final AtomicLong calls = new AtomicLong();
+    private final LongSupplier clockMillis;
+
+    public InMemoryCounterStore() {
+        this(System::currentTimeMillis);
+    }
+
+    InMemoryCounterStore(LongSupplier clockMillis) {
+        this.clockMillis = clockMillis;
+    }
+
+    @Override
+    public long incrementBy(String key, long delta, long ttlMillis) {
+        long now = clockMillis.getAsLong();
+        if (calls.incrementAndGet() % PURGE_INTERVAL == 0) {
+            counters.values().removeIf(counter -> counter.expiresAtMillis <= now);
+        }
+        Counter counter = counters.compute(key,
+                (k, existing) -> existing == null || existing.expiresAtMillis <= now
+                        ? new Counter(now + ttlMillis)
+                        : existing);
+        return counter.value.addAndGet(delta);
+    }
+
+    private static final class Counter {
+        final AtomicLong value = new AtomicLong();
+        final long expiresAtMillis;
+
+        Counter(long expiresAtMillis) {
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
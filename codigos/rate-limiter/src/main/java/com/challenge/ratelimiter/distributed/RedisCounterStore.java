@@ -0,0 +1,201 @@
+package com.challenge.ratelimiter.distributed;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link SharedCounterStore} sobre o protocolo do Redis (RESP2), sem dependências externas.
+ * Cada {@code incrementBy} é um único round trip com dois comandos em pipeline:
+ * {@code SET key 0 PX ttl NX} (cria o contador com expiração só se ele não existe) e
+ * {@code INCRBY key delta}. Uma conexão por instância, protegida por um {@link ReentrantLock}
+ * (e não {@code synchronized}, para não prender a carrier de uma virtual thread durante o I/O).
+ * Um timeout ou erro de I/O no meio da troca deixaria respostas pendentes no socket, que a
+ * próxima chamada leria como suas: a conexão é descartada e a próxima chamada abre outra.
+ */
+public class RedisCounterStore implements SharedCounterStore {
+    private static final byte[] CRLF = { '\r', '\n' };
+
+    private final String host;
+    private final int port;
+    private final int timeoutMillis;
+    private final ReentrantLock lock = new ReentrantLock();
+    // null depois de uma falha: a próxima chamada reconecta. Volátil para o close, que não pega o lock
+    private volatile Socket socket;
+    private InputStream in;
+    private OutputStream out;
+    private volatile boolean closed;
+
+    public RedisCounterStore(String host, int port) {
+        this(host, port, 2_000);
+    }
+
+    public RedisCounterStore(String host, int port, int timeoutMillis) {
+        this.host = host;
+        this.port = port;
+        this.timeoutMillis = timeoutMillis;
+        connect();
+    }
+
+    private void connect() {
+        Socket s = new Socket();
+        try {
+            s.setTcpNoDelay(true);
+            s.setSoTimeout(timeoutMillis);
+            s.connect(new InetSocketAddress(host, port), timeoutMillis);
+            in = new BufferedInputStream(s.getInputStream());
+            out = new BufferedOutputStream(s.getOutputStream());
+        } catch (IOException e) {
+            closeQuietly(s);
+            throw new UncheckedIOException("Falha ao conectar no Redis em " + host + ":" + port, e);
+        }
+        socket = s;
+        if (closed) {
+            disconnect(); // correu com o close
+        }
+    }
+
+    private void disconnect() {
+        Socket s = socket;
+        socket = null;
+        if (s != null) {
+            closeQuietly(s);
+        }
+    }
+
+    private static void closeQuietly(Socket s) {
+        try {
+            s.close();
+        } catch (IOException e) {
+            // a conexão já está sendo descartada
+        }
+    }
+
+    @Override
+    public long incrementBy(String key, long delta, long ttlMillis) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("RedisCounterStore fechado");
+            }
+            if (socket == null) {
+                connect();
+            }
+            boolean inSync = false;
+            Object created;
+            Object total;
+            try {
+                writeCommand("SET", key, "0", "PX", Long.toString(ttlMillis), "NX");
+                writeCommand("INCRBY", key, Long.toString(delta));
+                out.flush();
+                // Lê as duas respostas antes de tratar erros, para a conexão não sair de sincronia
+                created = readReply(); // +OK ou nil (o contador já existia)
+                total = readReply();
+                inSync = true;
+            } finally {
+                if (!inSync) {
+                    disconnect(); // timeout, I/O ou resposta ilegível: pode haver resposta pendente
+                }
+            }
+            if (created instanceof RuntimeException) {
+                throw (RuntimeException) created;
+            }
+            if (total instanceof RuntimeException) {
+                throw (RuntimeException) total;
+            }
+            if (!(total instanceof Long)) {
+                throw new IllegalStateException("Resposta inesperada do Redis para INCRBY: " + total);
+            }
+            return (Long) total;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Fecha a conexão; uma chamada em andamento falha com {@link UncheckedIOException}. */
+    @Override
+    public void close() {
+        closed = true;
+        Socket s = socket;
+        if (s != null) {
+            try {
+                s.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void writeCommand(String... args) throws IOException {
+        out.write('*');
+        writeAscii(Integer.toString(args.length));
+        out.write(CRLF);
+        for (String arg : args) {
+            byte[] bytes = arg.getBytes(StandardCharsets.UTF_8);
+            out.write('$');
+            writeAscii(Integer.toString(bytes.length));
+            out.write(CRLF);
+            out.write(bytes);
+            out.write(CRLF);
+        }
+    }
+
+    private void writeAscii(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            out.write(value.charAt(i));
+        }
+    }
+
+    /**
+     * Lê uma resposta RESP: String (simple/bulk), Long (integer), null (bulk nulo) ou, para
+     * respostas de erro, a exceção a ser lançada pelo chamador.
+     */
+    private Object readReply() throws IOException {
+        int type = in.read();
+        String line = readLine();
+        switch (type) {
+            case '+':
+                return line;
+            case ':':
+                return Long.parseLong(line);
+            case '$': {
+                int length = Integer.parseInt(line);
+                if (length < 0) {
+                    return null;
+                }
+                byte[] bytes = in.readNBytes(length);
+                readLine();
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            case '-':
+                return new IllegalStateException("Erro do Redis: " + line);
+            case -1:
+                throw new EOFException("Conexão com o Redis encerrada");
+            default:
+                throw new IllegalStateException("Tipo de resposta RESP não suportado: " + (char) type);
+        }
+    }
+
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\r') {
+            if (c == -1) {
+                throw new EOFException("Conexão com o Redis encerrada");
+            }
+            line.append((char) c);
+        }
+        in.read(); // '\n'
+        return line.toString();
+    }
+}
@@ -0,0 +1,19 @@
+package com.challenge.ratelimiter.distributed;
+
+/**
+ * SPI do estado compartilhado entre as réplicas de um {@link DistributedRateLimiter}.
+ * Basta um contador atômico com expiração: cada nó soma ao contador da janela o lote
+ * que quer reservar e descobre, pelo total, quanto do lote ainda cabia no limite.
+ */
+public interface SharedCounterStore extends AutoCloseable {
+
+    /**
+     * Soma {@code delta} ao contador {@code key}, criando-o com expiração de {@code ttlMillis}
+     * se ainda não existe, e retorna o novo total.
+     */
+    long incrementBy(String key, long delta, long ttlMillis);
+
+    @Override
+    default void close() {
+    }
+}
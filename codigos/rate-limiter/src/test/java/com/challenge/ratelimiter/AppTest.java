@@ -1,4 +1,4 @@
-package com.challenge.rate-limiter;
+package com.challenge.ratelimiter;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
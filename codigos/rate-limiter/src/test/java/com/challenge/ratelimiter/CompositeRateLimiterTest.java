@@ -0,0 +1,90 @@
+package com.challenge.ratelimiter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class CompositeRateLimiterTest {
+    private final AtomicLong nanos = new AtomicLong();
+
+    private TokenBucket bucket(long capacity, long refillTokens, long refillIntervalMillis) {
+        return new TokenBucket(capacity, refillTokens, refillIntervalMillis, nanos::get);
+    }
+
+    @Test
+    public void shouldConsumeFromAllTiersOrNone() {
+        TokenBucket wide = bucket(10, 10, 1000);
+        TokenBucket narrow = bucket(3, 3, 1000);
+        CompositeRateLimiter limiter = new CompositeRateLimiter(wide, narrow);
+
+        assertTrue(limiter.tryAcquire(2));
+        assertFalse(limiter.tryAcquire(2));
+        assertEquals(8, wide.availableTokens());
+        assertEquals(1, narrow.availableTokens());
+    }
+
+    @Test
+    public void shouldCombineBurstAndSustainedRates() {
+        // Burst: 5 de uma vez, 5/s; sustentado: 20 por minuto
+        TokenBucket burst = bucket(5, 5, 1000);
+        TokenBucket sustained = bucket(20, 20, 60_000);
+        CompositeRateLimiter limiter = new CompositeRateLimiter(burst, sustained);
+
+        int admitted = 0;
+        for (int second = 0; second < 10; second++) {
+            for (int i = 0; i < 10; i++) {
+                admitted += limiter.tryAcquire() ? 1 : 0;
+            }
+            nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        }
+        // 5 por segundo até esgotar o sustentado (20 + o que ele reabasteceu em 10 s)
+        assertEquals(23, admitted);
+    }
+
+    @Test
+    public void shouldRefundPerKeyTierWhenSharedTierRejects() {
+        KeyedRateLimiter<String> perUser = new KeyedRateLimiter<>(5, 5, 1000, 16, 1, nanos::get);
+        TokenBucket tenant = bucket(4, 4, 1000);
+        CompositeRateLimiter limiter = new CompositeRateLimiter(tenant);
+
+        assertTrue(limiter.tryAcquire(perUser, "alice", 3));
+        assertFalse(limiter.tryAcquire(perUser, "bob", 3)); // o tenant só tem 1
+        assertEquals(5, perUser.availableTokens("bob"));
+        assertEquals(2, perUser.availableTokens("alice"));
+    }
+
+    @Test
+    public void shouldNeverLeakTokensUnderContention() throws InterruptedException {
+        // Tempo parado: passam exatamente 50 (o tier menor) e o maior fica com 100 - 50
+        TokenBucket global = bucket(100, 1, 1000);
+        TokenBucket tenant = bucket(50, 1, 1000);
+        CompositeRateLimiter limiter = new CompositeRateLimiter(global, tenant);
+        AtomicInteger admitted = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    if (limiter.tryAcquire()) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(50, admitted.get());
+        assertEquals(50, global.availableTokens());
+        assertEquals(0, tenant.availableTokens());
+    }
+}
@@ -0,0 +1,76 @@
+package com.challenge.ratelimiter;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link KeyedRateLimiter} com 10 milhões de chaves distintas, acessadas aleatoriamente.
+ * {@code SampleTime} reporta a distribuição de latência de {@code tryAcquire(key)} (p99 em
+ * {@code ·p0.99}); o setup imprime o heap ocupado pelo limiter, total e por chave.
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="KeyedRateLimiterBenchmark"}
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms3g", "-Xmx3g" })
+@State(Scope.Benchmark)
+public class KeyedRateLimiterBenchmark {
+
+    @Param({ "10000000" })
+    int keyCount;
+
+    Long[] keys;
+    KeyedRateLimiter<Long> limiter;
+
+    @Setup
+    public void setUp() {
+        keys = new Long[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            // Espalha as chaves como IDs de clientes reais, não sequenciais
+            keys[i] = i * 0x9E3779B97F4A7C15L;
+        }
+        long before = usedHeap();
+
+        // 100 req/s por chave, burst de 100
+        limiter = new KeyedRateLimiter<>(100, 100, 1000, keyCount);
+        for (Long key : keys) {
+            limiter.tryAcquire(key);
+        }
+        // As tabelas são pré-alocadas para maxKeys; chaves já reabastecidas durante o preenchimento
+        // podem ter sido descartadas, por isso size() pode ser menor que keyCount
+        long used = usedHeap() - before;
+        System.out.printf("%nKeyedRateLimiter: maxKeys=%d, rastreadas=%d, %.1f MB de heap, %.1f bytes/chave%n",
+                keyCount, limiter.size(), used / 1048576.0, (double) used / keyCount);
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadIndex {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+    }
+
+    @Benchmark
+    public boolean tryAcquire(ThreadIndex index) {
+        return limiter.tryAcquire(keys[index.random.nextInt(keyCount)]);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,100 @@
+package com.challenge.ratelimiter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class KeyedRateLimiterTest {
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    public void shouldLimitEachKeyIndependently() {
+        // 3 tokens por chave, 1 a cada 100 ms
+        KeyedRateLimiter<String> limiter = new KeyedRateLimiter<>(3, 1, 100, 1_000, 4, nanos::get);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("alice"));
+        }
+        assertFalse(limiter.tryAcquire("alice"));
+        assertTrue(limiter.tryAcquire("bob", 3));
+        assertFalse(limiter.tryAcquire("bob"));
+        assertEquals(3, limiter.availableTokens("carol"));
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(limiter.tryAcquire("alice"));
+        assertFalse(limiter.tryAcquire("alice"));
+        assertEquals(1, limiter.availableTokens("bob"));
+    }
+
+    @Test
+    public void shouldStayBoundedAndLazilyDropIdleKeys() {
+        KeyedRateLimiter<Integer> limiter = new KeyedRateLimiter<>(10, 10, 1000, 64, 1, nanos::get);
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(limiter.tryAcquire(i));
+            assertTrue(limiter.size() <= 64);
+        }
+
+        // Depois de reabastecer, todas as chaves estão ociosas e saem conforme novas chegam
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        for (int i = 0; i < 256; i++) {
+            assertTrue(limiter.tryAcquire(-i - 1));
+        }
+        assertTrue(limiter.size() <= 64);
+    }
+
+    @Test
+    public void shouldEvictKeyClosestToFullBucketWhenSegmentIsFull() {
+        KeyedRateLimiter<String> limiter = new KeyedRateLimiter<>(4, 1, 1000, 2, 1, nanos::get);
+        assertTrue(limiter.tryAcquire("light"));
+        assertTrue(limiter.tryAcquire("heavy", 4));
+
+        // Segmento lotado: sai "light" (menor TAT); "heavy" continua sem tokens
+        assertTrue(limiter.tryAcquire("new"));
+        assertEquals(2, limiter.size());
+        assertFalse(limiter.tryAcquire("heavy"));
+        assertEquals(4, limiter.availableTokens("light"));
+    }
+
+    @Test
+    public void shouldNotOverAdmitUnderContention() throws InterruptedException {
+        // Tempo parado: cada chave admite exatamente capacity aquisições
+        KeyedRateLimiter<Integer> limiter = new KeyedRateLimiter<>(100, 1, 1000, 1_000, 16, nanos::get);
+        AtomicInteger admitted = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    if (limiter.tryAcquire(i % 50)) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(50 * 100, admitted.get());
+    }
+
+    @Test
+    public void shouldReportRemainingTokensOrWaitTime() {
+        // 5 tokens, 1 a cada 200 ms
+        KeyedRateLimiter<String> limiter = new KeyedRateLimiter<>(5, 1, 200, 16, 1, nanos::get);
+        assertEquals(3, limiter.tryConsume("client", 2));
+        assertEquals(0, limiter.tryConsume("client", 3));
+
+        long result = limiter.tryConsume("client", 2);
+        assertTrue(result < 0);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(400), -result - 1);
+        assertEquals(0, limiter.availableTokens("client"));
+    }
+}
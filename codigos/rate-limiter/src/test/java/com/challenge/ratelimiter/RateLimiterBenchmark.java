@@ -0,0 +1,160 @@
+package com.challenge.ratelimiter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.challenge.ratelimiter.distributed.DistributedRateLimiter;
+import com.challenge.ratelimiter.distributed.InMemoryCounterStore;
+
+/**
+ * Todas as implementações lado a lado, com 1, 4 e 16 threads, 1 ou 8 permits por chamada e
+ * dois padrões de disputa: {@code shared} (todas as threads no mesmo limiter) e
+ * {@code perThread} (cada thread com o seu). Os limites são altos (≈ 10 M/s), então a maior
+ * parte das chamadas é admitida; o caminho de rejeição está em {@link TokenBucketBenchmark}.
+ * A exceção é o {@link SlidingWindow}, que guarda um timestamp em boxing por requisição: com
+ * 10 M por segundo seriam centenas de MB por instância, e o benchmark mediria o GC. Ele fica
+ * em {@value #LOG_MAX_REQUESTS} por segundo, e passado isso mede o caminho de rejeição.
+ * Implementações sem {@code tryAcquire(permits)} fazem {@code permits} chamadas de 1.
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="RateLimiterBenchmark"
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="RateLimiterBenchmark -p limiter=TokenBucket,SlidingWindowCounter"
+ * </pre>
+ *
+ * O resultado vai para {@code target/jmh-result.json} (com {@code gc.alloc.rate.norm} do profiler de GC).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+    private static final long RATE = 10_000_000;
+    static final int LOG_MAX_REQUESTS = 100_000;
+
+    @Param({ "TokenBucket", "SlidingWindow", "SlidingWindowCounter", "KeyedRateLimiter",
+            "CompositeRateLimiter", "DistributedRateLimiter" })
+    String limiter;
+
+    @Param({ "1", "8" })
+    int permits;
+
+    @Param({ "shared", "perThread" })
+    String contention;
+
+    Acquirer shared;
+
+    @Setup
+    public void setUp() {
+        shared = create(limiter);
+    }
+
+    /** Limiter usado por uma thread: o compartilhado ou um só dela. */
+    @State(Scope.Thread)
+    public static class ThreadLimiter {
+        Acquirer acquirer;
+
+        @Setup
+        public void setUp(RateLimiterBenchmark benchmark) {
+            acquirer = "shared".equals(benchmark.contention) ? benchmark.shared : create(benchmark.limiter);
+        }
+    }
+
+    /** Interface comum para o benchmark: nem todo limiter aceita vários permits. */
+    interface Acquirer {
+        boolean tryAcquire(int permits);
+    }
+
+    static Acquirer create(String limiter) {
+        switch (limiter) {
+            case "TokenBucket": {
+                TokenBucket bucket = new TokenBucket(RATE, RATE, 1000);
+                return bucket::tryAcquire;
+            }
+            case "SlidingWindow":
+                return repeated(new SlidingWindow(1, LOG_MAX_REQUESTS));
+            case "SlidingWindowCounter":
+                return repeated(new SlidingWindowCounter(1000, 10, (int) RATE));
+            case "KeyedRateLimiter":
+                return new KeyedAcquirer(new KeyedRateLimiter<>(RATE, RATE, 1000, 1 << 16));
+            case "CompositeRateLimiter": {
+                // Burst, sustentado e global
+                CompositeRateLimiter composite = new CompositeRateLimiter(
+                        new TokenBucket(RATE / 10, RATE, 1000),
+                        new TokenBucket(RATE * 60, RATE * 60, 60_000),
+                        new TokenBucket(RATE, RATE, 1000));
+                return composite::tryAcquire;
+            }
+            case "DistributedRateLimiter":
+                return repeated(new DistributedRateLimiter(new InMemoryCounterStore(), "bench", RATE, 1000, 10_000));
+            default:
+                throw new IllegalArgumentException("Limiter desconhecido: " + limiter);
+        }
+    }
+
+    private static Acquirer repeated(RateLimiter limiter) {
+        return permits -> {
+            for (int i = 0; i < permits; i++) {
+                if (!limiter.tryAcquire()) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /** Percorre 1024 chaves (IDs de clientes) já em boxing, como um tráfego de muitos usuários. */
+    static final class KeyedAcquirer implements Acquirer {
+        private static final Integer[] KEYS = new Integer[1024];
+
+        static {
+            for (int i = 0; i < KEYS.length; i++) {
+                KEYS[i] = 100_000 + i;
+            }
+        }
+
+        private final KeyedRateLimiter<Integer> limiter;
+        private int next;
+
+        KeyedAcquirer(KeyedRateLimiter<Integer> limiter) {
+            this.limiter = limiter;
+        }
+
+        @Override
+        public boolean tryAcquire(int permits) {
+            // Corrida benigna em next quando compartilhado: só muda qual chave é usada
+            return limiter.tryAcquire(KEYS[next++ & (KEYS.length - 1)], permits);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean threads1(ThreadLimiter thread) {
+        return thread.acquirer.tryAcquire(permits);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean threads4(ThreadLimiter thread) {
+        return thread.acquirer.tryAcquire(permits);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean threads16(ThreadLimiter thread) {
+        return thread.acquirer.tryAcquire(permits);
+    }
+}
@@ -0,0 +1,76 @@
+package com.challenge.ratelimiter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class SlidingWindowCounterTest {
+    private final AtomicLong nanos = new AtomicLong();
+
+    private int acquireAll(RateLimiter limiter, int attempts) {
+        int admitted = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (limiter.tryAcquire()) {
+                admitted++;
+            }
+        }
+        return admitted;
+    }
+
+    private void advanceMillis(long millis) {
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    public void shouldLimitRequestsWithinWindow() {
+        // 10 requisições por 1000 ms, em 10 buckets de 100 ms
+        SlidingWindowCounter limiter = new SlidingWindowCounter(1000, 10, 10, nanos::get);
+        assertEquals(10, acquireAll(limiter, 20));
+
+        advanceMillis(500);
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    public void shouldInterpolateOldestBucket() {
+        SlidingWindowCounter limiter = new SlidingWindowCounter(1000, 10, 10, nanos::get);
+        assertEquals(10, acquireAll(limiter, 10));
+
+        // Em t = 1050 ms, metade do bucket [0, 100) ainda se sobrepõe à janela: conta como 5
+        advanceMillis(1050);
+        assertEquals(5, acquireAll(limiter, 20));
+
+        // Em t = 2050 ms as 5 do bucket [1000, 1100) contam pela metade: 2,5 + 7 ≤ 10
+        advanceMillis(1000);
+        assertEquals(7, acquireAll(limiter, 20));
+    }
+
+    @Test
+    public void staleClockReadShouldNotResetANewerBucket() {
+        // 11 slots de 100 ms: t = 0 e t = 1100 ms caem no mesmo slot
+        AtomicLong stale = new AtomicLong(-1);
+        SlidingWindowCounter limiter = new SlidingWindowCounter(1000, 10, 10, () -> {
+            long t = stale.getAndSet(-1);
+            return t >= 0 ? t : nanos.get();
+        });
+        advanceMillis(1100);
+        assertEquals(10, acquireAll(limiter, 10));
+
+        // Uma thread que leu o relógio em t = 0 e só agora incrementa não zera o bucket de 1100 ms
+        stale.set(0);
+        assertFalse(limiter.tryAcquire());
+        assertEquals(0, acquireAll(limiter, 10));
+        assertEquals(10.0, limiter.currentCount());
+    }
+
+    @Test
+    public void shouldUseConstantMemoryForLargeLimits() {
+        SlidingWindowCounter limiter = new SlidingWindowCounter(1000, 20, 100_000, nanos::get);
+        assertEquals(100_000, acquireAll(limiter, 150_000));
+        assertEquals(100_000.0, limiter.currentCount());
+    }
+}
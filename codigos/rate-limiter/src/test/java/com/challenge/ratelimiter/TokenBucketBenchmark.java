@@ -0,0 +1,96 @@
+package com.challenge.ratelimiter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link TokenBucket} lock-free (GCRA) contra a versão {@code synchronized} original,
+ * com 1, 4, 16 e 64 threads disputando o mesmo balde.
+ * {@code admitting}: taxa altíssima, quase tudo passa (exercita o CAS).
+ * {@code saturated}: 1000 req/s, quase tudo é rejeitado (exercita o caminho de leitura).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenBucketBenchmark {
+
+    @Param({ "admitting", "saturated" })
+    String load;
+
+    TokenBucket lockFree;
+    SynchronizedTokenBucket synchronizedBucket;
+
+    @Setup
+    public void setUp() {
+        if ("admitting".equals(load)) {
+            lockFree = new TokenBucket(Long.MAX_VALUE / 2, 1_000_000, 1);
+            synchronizedBucket = new SynchronizedTokenBucket(Long.MAX_VALUE / 2, 1_000_000, 1);
+        } else {
+            lockFree = new TokenBucket(1_000, 1_000, 1_000);
+            synchronizedBucket = new SynchronizedTokenBucket(1_000, 1_000, 1_000);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean lockFree01() {
+        return lockFree.tryAcquire();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean lockFree04() {
+        return lockFree.tryAcquire();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean lockFree16() {
+        return lockFree.tryAcquire();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean lockFree64() {
+        return lockFree.tryAcquire();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean synchronized01() {
+        return synchronizedBucket.tryAcquire();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean synchronized04() {
+        return synchronizedBucket.tryAcquire();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean synchronized16() {
+        return synchronizedBucket.tryAcquire();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean synchronized64() {
+        return synchronizedBucket.tryAcquire();
+    }
+}
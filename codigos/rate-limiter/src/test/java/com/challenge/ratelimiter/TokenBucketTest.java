@@ -0,0 +1,135 @@
+package com.challenge.ratelimiter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketTest {
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    public void shouldAllowBurstUpToCapacityThenRefill() {
+        // 10 tokens, 2 a cada 1000 ms
+        TokenBucket bucket = new TokenBucket(10, 2, 1000, nanos::get);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(bucket.tryAcquire());
+        }
+        assertFalse(bucket.tryAcquire());
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+        assertTrue(bucket.tryAcquire(2));
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    public void shouldAcquireMultiplePermitsAtomically() {
+        TokenBucket bucket = new TokenBucket(5, 1, 100, nanos::get);
+        assertTrue(bucket.tryAcquire(3));
+        assertFalse(bucket.tryAcquire(3));
+        assertEquals(2, bucket.availableTokens());
+        assertFalse(bucket.tryAcquire(6));
+    }
+
+    @Test
+    public void shouldNotOverAdmitUnderContention() throws InterruptedException {
+        // Tempo parado: exatamente capacity aquisições podem passar
+        TokenBucket bucket = new TokenBucket(1_000, 1, 1000, nanos::get);
+        AtomicInteger admitted = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    if (bucket.tryAcquire()) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1_000, admitted.get());
+    }
+
+    @Test
+    public void shouldBlockUntilTokensRefill() throws InterruptedException {
+        // Relógio real: 1 token a cada 50 ms
+        TokenBucket bucket = new TokenBucket(2, 1, 50);
+        assertTrue(bucket.tryAcquire(2));
+
+        long start = System.nanoTime();
+        assertTrue(bucket.acquire(1, 1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(40));
+    }
+
+    @Test
+    public void shouldTimeOutWithoutConsumingTokens() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(2, 1, 10_000);
+        assertTrue(bucket.tryAcquire());
+
+        assertFalse(bucket.acquire(2, 50, TimeUnit.MILLISECONDS));
+        assertEquals(1, bucket.availableTokens());
+    }
+
+    @Test
+    public void shouldServeAsyncWaitersInArrivalOrder() {
+        TokenBucket bucket = new TokenBucket(3, 1, 20);
+        assertTrue(bucket.tryAcquire(3));
+
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int id = i;
+            // Pedidos maiores não são ultrapassados pelos menores que chegaram depois
+            futures.add(bucket.acquireAsync(id % 2 == 0 ? 2 : 1).thenRun(() -> order.add(id)));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        assertEquals(List.of(0, 1, 2, 3, 4), order);
+    }
+
+    @Test
+    public void slowCallbackShouldNotStallOtherBuckets() throws Exception {
+        TokenBucket slow = new TokenBucket(1, 1, 10);
+        TokenBucket other = new TokenBucket(1, 1, 10);
+        assertTrue(slow.tryAcquire());
+        assertTrue(other.tryAcquire());
+
+        CountDownLatch insideCallback = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<String> callbackThread = new AtomicReference<>();
+        CompletableFuture<Void> blocked = slow.acquireAsync(1).thenRun(() -> {
+            callbackThread.set(Thread.currentThread().getName());
+            insideCallback.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try {
+            assertTrue(insideCallback.await(5, TimeUnit.SECONDS));
+            assertFalse("token-bucket-scheduler".equals(callbackThread.get()));
+
+            // O callback preso não segura os ticks dos outros buckets
+            other.acquireAsync(1).get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+        }
+        blocked.get(5, TimeUnit.SECONDS);
+    }
+}
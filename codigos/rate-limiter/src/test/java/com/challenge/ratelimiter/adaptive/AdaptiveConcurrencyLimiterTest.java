@@ -0,0 +1,89 @@
+package com.challenge.ratelimiter.adaptive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveConcurrencyLimiterTest {
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    public void shouldRejectWhenInFlightReachesLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(LimitAlgorithm.fixed(2), nanos::get);
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+        assertNotNull(first);
+        assertNotNull(limiter.tryAcquire());
+        assertNull(limiter.tryAcquire());
+
+        first.release();
+        assertEquals(1, limiter.inFlight());
+        assertNotNull(limiter.tryAcquire());
+        assertThrows(IllegalStateException.class, first::release);
+    }
+
+    @Test
+    public void aimdShouldGrowWhileSaturatedAndBackOffOnDrop() {
+        AimdLimit aimd = new AimdLimit(10, 1, 100, 0.5, 1, TimeUnit.SECONDS);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(aimd, nanos::get);
+
+        // Uma "janela" cheia de respostas boas com o limite todo em uso: +1
+        for (int round = 0; round < 10; round++) {
+            List<AdaptiveConcurrencyLimiter.Permit> permits = acquireAll(limiter);
+            nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+            permits.forEach(AdaptiveConcurrencyLimiter.Permit::release);
+        }
+        assertTrue(limiter.limit() > 10, "limit=" + limiter.limit());
+
+        int before = limiter.limit();
+        limiter.tryAcquire().drop();
+        assertEquals(before / 2, limiter.limit(), 1);
+    }
+
+    @Test
+    public void gradientShouldShrinkWhenLatencyRises() {
+        GradientLimit gradient = new GradientLimit(50, 1, 1_000, 1.5, 0.2, 600);
+        for (int i = 0; i < 1_000; i++) {
+            gradient.onSample(TimeUnit.MILLISECONDS.toNanos(10), 50, false);
+        }
+        int healthy = gradient.limit();
+
+        // RTT 4× maior com o limite em uso: fila se formando
+        for (int i = 0; i < 100; i++) {
+            gradient.onSample(TimeUnit.MILLISECONDS.toNanos(40), healthy, false);
+        }
+        assertTrue(gradient.limit() < healthy / 2, "healthy=" + healthy + ", now=" + gradient.limit());
+    }
+
+    @Test
+    public void adaptiveLimitsShouldKeepTailLatencyBoundedWhenBackendSlowsDown() {
+        ConcurrencyLimitSimulation.Phase fixed = ConcurrencyLimitSimulation.simulate(LimitAlgorithm.fixed(200), 7)[1];
+        ConcurrencyLimitSimulation.Phase gradient = ConcurrencyLimitSimulation.simulate(LimitAlgorithm.gradient(), 7)[1];
+        ConcurrencyLimitSimulation.Phase aimd = ConcurrencyLimitSimulation.simulate(
+                new AimdLimit(20, 1, 1_000, 0.9, 100, TimeUnit.MILLISECONDS), 7)[1];
+
+        // Limite fixo: a fila enche até 200 e a latência vai a centenas de ms
+        assertTrue(fixed.p99Millis > 500, "fixed p99=" + fixed.p99Millis);
+        assertTrue(gradient.p99Millis < fixed.p99Millis / 2, "gradient p99=" + gradient.p99Millis);
+        assertTrue(aimd.p99Millis < fixed.p99Millis / 2, "aimd p99=" + aimd.p99Millis);
+        // Sem desperdiçar a capacidade (≈ 250 req/s na fase lenta)
+        assertTrue(gradient.throughputPerSecond > 150 && aimd.throughputPerSecond > 150);
+    }
+
+    private static List<AdaptiveConcurrencyLimiter.Permit> acquireAll(AdaptiveConcurrencyLimiter limiter) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        AdaptiveConcurrencyLimiter.Permit permit;
+        while ((permit = limiter.tryAcquire()) != null) {
+            permits.add(permit);
+        }
+        return permits;
+    }
+}
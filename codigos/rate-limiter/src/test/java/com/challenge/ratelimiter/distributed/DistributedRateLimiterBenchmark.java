@@ -0,0 +1,102 @@
+package com.challenge.ratelimiter.distributed;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Vários nós de {@link DistributedRateLimiter}, cada um com sua conexão RESP ao {@link RespServer},
+ * sob carga acima do limite global. O score é a vazão de {@code tryAcquire}; no fim do trial
+ * é impressa a precisão: admitidas / (limite × janelas), e quantas reservas bloquearam a requisição.
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="DistributedRateLimiterBenchmark"}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class DistributedRateLimiterBenchmark {
+    private static final long LIMIT = 20_000;
+    private static final long WINDOW_MILLIS = 100;
+
+    @Param({ "1", "2", "4", "8" })
+    int nodes;
+
+    /** Lotes maiores: menos round trips, mais tokens perdidos na virada da janela. */
+    @Param({ "64", "1024" })
+    int batchSize;
+
+    RespServer server;
+    RedisCounterStore[] stores;
+    DistributedRateLimiter[] limiters;
+    final AtomicInteger nextNode = new AtomicInteger();
+    final LongAdder admitted = new LongAdder();
+    long firstWindow;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new RespServer();
+        stores = new RedisCounterStore[nodes];
+        limiters = new DistributedRateLimiter[nodes];
+        for (int i = 0; i < nodes; i++) {
+            stores[i] = new RedisCounterStore("localhost", server.port());
+            limiters[i] = new DistributedRateLimiter(stores[i], "bench", LIMIT, WINDOW_MILLIS, batchSize);
+        }
+        firstWindow = System.currentTimeMillis() / WINDOW_MILLIS;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        long windows = System.currentTimeMillis() / WINDOW_MILLIS - firstWindow + 1;
+        long leases = 0;
+        long blocking = 0;
+        for (DistributedRateLimiter limiter : limiters) {
+            leases += limiter.leases();
+            blocking += limiter.blockingLeases();
+        }
+        System.out.printf("%nnodes=%d, batchSize=%d: admitidas=%d, limite=%d, precisão=%.1f%%, reservas=%d (bloqueantes=%d)%n",
+                nodes, batchSize, admitted.sum(), LIMIT * windows, 100.0 * admitted.sum() / (LIMIT * windows),
+                leases, blocking);
+        for (RedisCounterStore store : stores) {
+            store.close();
+        }
+        server.close();
+    }
+
+    /** Cada thread do benchmark fica presa a um nó, como requisições chegando em réplicas. */
+    @State(Scope.Thread)
+    public static class Node {
+        DistributedRateLimiter limiter;
+
+        @Setup
+        public void setUp(DistributedRateLimiterBenchmark cluster) {
+            limiter = cluster.limiters[cluster.nextNode.getAndIncrement() % cluster.nodes];
+        }
+    }
+
+    @Benchmark
+    public boolean tryAcquire(Node node) {
+        boolean acquired = node.limiter.tryAcquire();
+        if (acquired) {
+            admitted.increment();
+        }
+        return acquired;
+    }
+}
@@ -0,0 +1,102 @@
+package com.challenge.ratelimiter.distributed;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class DistributedRateLimiterTest {
+    private final AtomicLong millis = new AtomicLong(1_000_000);
+
+    private DistributedRateLimiter node(SharedCounterStore store, long limit, int batchSize) {
+        // Executor direto: o prefetch acontece na hora, o teste fica determinístico
+        return new DistributedRateLimiter(store, "api", limit, 1000, batchSize, Runnable::run, millis::get);
+    }
+
+    private static int acquireAll(DistributedRateLimiter limiter, int attempts) {
+        int admitted = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (limiter.tryAcquire()) {
+                admitted++;
+            }
+        }
+        return admitted;
+    }
+
+    @Test
+    public void singleNodeShouldAdmitExactlyTheLimitPerWindow() {
+        DistributedRateLimiter limiter = node(new InMemoryCounterStore(millis::get), 100, 10);
+        assertEquals(100, acquireAll(limiter, 500));
+        assertFalse(limiter.tryAcquire());
+
+        millis.addAndGet(1000);
+        assertEquals(100, acquireAll(limiter, 500));
+        // Só a primeira reserva de cada janela foi feita no caminho da requisição
+        assertEquals(2, limiter.blockingLeases());
+    }
+
+    @Test
+    public void nodesShouldShareTheGlobalLimit() {
+        InMemoryCounterStore store = new InMemoryCounterStore(millis::get);
+        List<DistributedRateLimiter> nodes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            nodes.add(node(store, 100, 8));
+        }
+
+        int admitted = 0;
+        for (int round = 0; round < 100; round++) {
+            for (DistributedRateLimiter node : nodes) {
+                admitted += node.tryAcquire() ? 1 : 0;
+            }
+        }
+        // Nunca passa do limite; perde no máximo os lotes ainda não gastos
+        assertTrue(admitted <= 100);
+        assertTrue(admitted >= 100 - 4 * 8, "admitted=" + admitted);
+    }
+
+    @Test
+    public void shouldLeaseThroughRedisProtocol() throws IOException {
+        try (RespServer server = new RespServer();
+                RedisCounterStore first = new RedisCounterStore("localhost", server.port());
+                RedisCounterStore second = new RedisCounterStore("localhost", server.port())) {
+            assertEquals(5, first.incrementBy("k", 5, 10_000));
+            assertEquals(12, second.incrementBy("k", 7, 10_000));
+
+            DistributedRateLimiter a = node(first, 50, 10);
+            DistributedRateLimiter b = node(second, 50, 10);
+            assertEquals(50, acquireAll(a, 30) + acquireAll(b, 30) + acquireAll(a, 30));
+        }
+    }
+
+    @Test
+    public void shouldReconnectAfterATimedOutReply() throws IOException {
+        try (RespServer server = new RespServer();
+                RedisCounterStore store = new RedisCounterStore("localhost", server.port(), 200)) {
+            assertEquals(1, store.incrementBy("k", 1, 10_000));
+            server.stallNextReply(500);
+            assertThrows(UncheckedIOException.class, () -> store.incrementBy("k", 1, 10_000));
+
+            // O INCRBY do timeout foi aplicado; as respostas dele não podem ser lidas como desta chamada
+            assertEquals(3, store.incrementBy("k", 1, 10_000));
+            assertEquals(4, store.incrementBy("k", 1, 10_000));
+        }
+    }
+
+    @Test
+    public void shouldFailClosedWhenStoreIsDown() {
+        SharedCounterStore broken = (key, delta, ttl) -> {
+            throw new IllegalStateException("store indisponível");
+        };
+        DistributedRateLimiter limiter = node(broken, 100, 10);
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.failedLeases());
+    }
+}
@@ -0,0 +1,199 @@
+package com.challenge.ratelimiter.distributed;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servidor mínimo que fala RESP2, no lugar de um Redis real nos testes e benchmarks.
+ * Entende só o que o {@link RedisCounterStore} usa ({@code SET ... PX ... NX}, {@code INCRBY},
+ * {@code GET}, {@code PING}); uma thread por conexão e um mapa sincronizado como dados.
+ */
+final class RespServer implements AutoCloseable {
+    private final ServerSocket serverSocket;
+    private final Map<String, Entry> data = new HashMap<>();
+    private final List<Socket> clients = new ArrayList<>();
+    private final AtomicLong stallMillis = new AtomicLong();
+    private volatile boolean running = true;
+
+    RespServer() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptLoop, "resp-server-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    /** O próximo pipeline é executado na hora, mas as respostas só saem depois de {@code millis}. */
+    void stallNextReply(long millis) {
+        stallMillis.set(millis);
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                synchronized (clients) {
+                    clients.add(socket);
+                }
+                Thread handler = new Thread(() -> serve(socket), "resp-server-client");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                return; // servidor fechado
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+            while (true) {
+                List<String> command = readCommand(in);
+                if (command == null) {
+                    return;
+                }
+                out.write(execute(command).getBytes(StandardCharsets.UTF_8));
+                if (in.available() == 0) {
+                    long stall = stallMillis.getAndSet(0);
+                    if (stall > 0) {
+                        Thread.sleep(stall);
+                    }
+                    out.flush(); // responde o pipeline inteiro de uma vez
+                }
+            }
+        } catch (IOException e) {
+            // cliente desconectou
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String execute(List<String> command) {
+        String name = command.get(0).toUpperCase(Locale.ROOT);
+        long now = System.currentTimeMillis();
+        synchronized (data) {
+            switch (name) {
+                case "PING":
+                    return "+PONG\r\n";
+                case "GET": {
+                    Entry entry = live(command.get(1), now);
+                    return entry == null ? "$-1\r\n" : bulk(Long.toString(entry.value));
+                }
+                case "SET": {
+                    String key = command.get(1);
+                    long ttl = -1;
+                    boolean nx = false;
+                    for (int i = 3; i < command.size(); i++) {
+                        String option = command.get(i).toUpperCase(Locale.ROOT);
+                        if (option.equals("PX")) {
+                            ttl = Long.parseLong(command.get(++i));
+                        } else if (option.equals("NX")) {
+                            nx = true;
+                        }
+                    }
+                    if (nx && live(key, now) != null) {
+                        return "$-1\r\n";
+                    }
+                    data.put(key, new Entry(Long.parseLong(command.get(2)), ttl < 0 ? Long.MAX_VALUE : now + ttl));
+                    return "+OK\r\n";
+                }
+                case "INCRBY": {
+                    String key = command.get(1);
+                    Entry entry = live(key, now);
+                    if (entry == null) {
+                        entry = new Entry(0, Long.MAX_VALUE);
+                        data.put(key, entry);
+                    }
+                    entry.value += Long.parseLong(command.get(2));
+                    return ":" + entry.value + "\r\n";
+                }
+                default:
+                    return "-ERR unknown command '" + name + "'\r\n";
+            }
+        }
+    }
+
+    private Entry live(String key, long now) {
+        Entry entry = data.get(key);
+        if (entry != null && entry.expiresAtMillis <= now) {
+            data.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private static String bulk(String value) {
+        return "$" + value.length() + "\r\n" + value + "\r\n";
+    }
+
+    private static List<String> readCommand(InputStream in) throws IOException {
+        int type = in.read();
+        if (type == -1) {
+            return null;
+        }
+        if (type != '*') {
+            throw new IOException("Esperava um array RESP");
+        }
+        int count = Integer.parseInt(readLine(in));
+        List<String> args = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            in.read(); // '$'
+            int length = Integer.parseInt(readLine(in));
+            args.add(new String(in.readNBytes(length), StandardCharsets.UTF_8));
+            readLine(in);
+        }
+        return args;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\r') {
+            if (c == -1) {
+                throw new IOException("Conexão encerrada");
+            }
+            line.append((char) c);
+        }
+        in.read();
+        return line.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        synchronized (clients) {
+            for (Socket client : clients) {
+                client.close();
+            }
+        }
+    }
+
+    private static final class Entry {
+        long value;
+        final long expiresAtMillis;
+
+        Entry(long value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.restapi.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limites de requisições configurados em {@code application.yml} (prefixo {@code rate-limit}).
+ *
+ * Cada rota tem seu próprio Token Bucket por cliente; a primeira rota cujo prefixo
+ * (e método, se informado) casar com a requisição é a que vale.
+ */
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Máximo de clientes rastreados por rota (memória limitada)
+    private int maxClients = 100_000;
+
+    // Endereços exatos dos proxies reversos na frente da aplicação; vazio usa só o IP da conexão
+    private List<String> trustedProxies = new ArrayList<>();
+
+    // Lido apenas em conexões vindas de um proxy confiável
+    private String clientIpHeader = "X-Forwarded-For";
+
+    private List<Route> routes = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxClients() {
+        return maxClients;
+    }
+
+    public void setMaxClients(int maxClients) {
+        this.maxClients = maxClients;
+    }
+
+    public List<String> getTrustedProxies() {
+        return trustedProxies;
+    }
+
+    public void setTrustedProxies(List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies;
+    }
+
+    public String getClientIpHeader() {
+        return clientIpHeader;
+    }
+
+    public void setClientIpHeader(String clientIpHeader) {
+        this.clientIpHeader = clientIpHeader;
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(List<Route> routes) {
+        this.routes = routes;
+    }
+
+    public static class Route {
+
+        // Prefixo do caminho, ex.: /api/v1/users
+        private String path;
+
+        // Método HTTP; vazio vale para todos
+        private String method;
+
+        private long capacity;
+
+        private long refillTokens;
+
+        private Duration refillPeriod = Duration.ofSeconds(1);
+
+        public Route() {
+        }
+
+        public Route(String path, String method, long capacity, long refillTokens, Duration refillPeriod) {
+            this.path = path;
+            this.method = method;
+            this.capacity = capacity;
+            this.refillTokens = refillTokens;
+            this.refillPeriod = refillPeriod;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public long getRefillTokens() {
+            return refillTokens;
+        }
+
+        public void setRefillTokens(long refillTokens) {
+            this.refillTokens = refillTokens;
+        }
+
+        public Duration getRefillPeriod() {
+            return refillPeriod;
+        }
+
+        public void setRefillPeriod(Duration refillPeriod) {
+            this.refillPeriod = refillPeriod;
+        }
+    }
+}
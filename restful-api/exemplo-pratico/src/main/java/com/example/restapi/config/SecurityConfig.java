@@ -1,5 +1,6 @@
 package com.example.restapi.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -8,24 +9,40 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.example.restapi.filter.RateLimitFilter;
+
 import java.util.Arrays;
 
 /**
  * Configuração de segurança da aplicação
  * 
- * Define políticas de segurança, CORS e encoding de senhas
+ * Define políticas de segurança, CORS, rate limiting e encoding de senhas
  * para a API RESTful seguindo boas práticas.
  */
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
+    private final RateLimitProperties rateLimitProperties;
+
+    public SecurityConfig(RateLimitProperties rateLimitProperties) {
+        this.rateLimitProperties = rateLimitProperties;
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        // Rate limiting antes da autenticação: requisições em excesso não chegam a ela.
+        // Não é um @Bean para o Spring Boot não registrá-lo também no container de servlets.
+        if (rateLimitProperties.isEnabled()) {
+            http.addFilterBefore(new RateLimitFilter(rateLimitProperties), UsernamePasswordAuthenticationFilter.class);
+        }
+
         return http
             // Desabilitar CSRF para APIs REST stateless
             .csrf(csrf -> csrf.disable())
@@ -86,7 +103,8 @@ public class SecurityConfig {
         
         // Expor headers de resposta
         configuration.setExposedHeaders(Arrays.asList(
-            "X-Total-Count", "X-Total-Pages", "Location"
+            "X-Total-Count", "X-Total-Pages", "Location",
+            RateLimitFilter.LIMIT_HEADER, RateLimitFilter.REMAINING_HEADER, RateLimitFilter.RETRY_AFTER_HEADER
         ));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
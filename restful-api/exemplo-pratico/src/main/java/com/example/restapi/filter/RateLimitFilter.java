@@ -0,0 +1,143 @@
+package com.example.restapi.filter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.challenge.ratelimiter.KeyedRateLimiter;
+import com.example.restapi.config.RateLimitProperties;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro de rate limiting por cliente e por rota
+ *
+ * Cada rota configurada tem um {@link KeyedRateLimiter} (Token Bucket por cliente, sem
+ * objeto por cliente). O cliente é o IP de origem da conexão; nunca um header enviado pelo
+ * próprio cliente, que trocaria de valor a cada requisição para ganhar um balde novo.
+ *
+ * Atrás de um proxy reverso o IP de origem é sempre o do proxy, e todos os clientes dividiriam
+ * um balde. Por isso, só quando a conexão vem de um dos {@code trusted-proxies} configurados, o
+ * cliente é lido do {@code client-ip-header} (por padrão {@code X-Forwarded-For}): o primeiro
+ * endereço, da direita para a esquerda, que não é de um proxy confiável. Os saltos à esquerda
+ * dele vêm do cliente e são ignorados.
+ * Requisições dentro do limite recebem {@code X-RateLimit-Limit} e {@code X-RateLimit-Remaining};
+ * as que excedem recebem 429 com {@code Retry-After}.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private static final byte[] TOO_MANY_REQUESTS_BODY =
+            "{\"status\":429,\"error\":\"Too Many Requests\",\"message\":\"Limite de requisições excedido\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    // Endereços encaminhados maiores são truncados: a chave não cresce com o que o cliente envia
+    private static final int MAX_KEY_LENGTH = 64;
+
+    private final RouteLimiter[] routes;
+    private final Set<String> trustedProxies;
+    private final String clientIpHeader;
+
+    public RateLimitFilter(RateLimitProperties properties) {
+        List<RateLimitProperties.Route> configured = properties.getRoutes();
+        this.routes = new RouteLimiter[configured.size()];
+        for (int i = 0; i < routes.length; i++) {
+            routes[i] = new RouteLimiter(configured.get(i), properties.getMaxClients());
+        }
+        this.trustedProxies = Set.copyOf(properties.getTrustedProxies());
+        this.clientIpHeader = properties.getClientIpHeader();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        RouteLimiter route = match(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long result = route.limiter.tryConsume(clientKey(request), 1);
+        response.setHeader(LIMIT_HEADER, route.limitHeader);
+
+        if (result >= 0) {
+            response.setHeader(REMAINING_HEADER, Long.toString(result));
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // result = -(nanos até haver token) - 1; Retry-After é em segundos, arredondado para cima
+        long waitNanos = -(result + 1);
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setHeader(REMAINING_HEADER, "0");
+        response.setHeader(RETRY_AFTER_HEADER, Long.toString(retryAfterSeconds));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setContentLength(TOO_MANY_REQUESTS_BODY.length);
+        response.getOutputStream().write(TOO_MANY_REQUESTS_BODY);
+    }
+
+    private RouteLimiter match(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String method = request.getMethod();
+        for (RouteLimiter route : routes) {
+            if (uri.startsWith(route.path) && (route.method == null || route.method.equalsIgnoreCase(method))) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String client = request.getRemoteAddr();
+        if (!trustedProxies.contains(client)) {
+            return client;
+        }
+        // Cada proxy acrescenta à direita quem o chamou; várias linhas do header valem como uma lista só
+        String forwarded = String.join(",", Collections.list(request.getHeaders(clientIpHeader)));
+        int end = forwarded.length();
+        while (end >= 0) {
+            int comma = forwarded.lastIndexOf(',', end - 1);
+            String hop = forwarded.substring(comma + 1, end).trim();
+            if (hop.isEmpty()) {
+                break;
+            }
+            client = hop;
+            if (!trustedProxies.contains(hop)) {
+                break;
+            }
+            end = comma;
+        }
+        return client.length() > MAX_KEY_LENGTH ? client.substring(0, MAX_KEY_LENGTH) : client;
+    }
+
+    private static final class RouteLimiter {
+        final String path;
+        final String method;
+        final String limitHeader;
+        final KeyedRateLimiter<String> limiter;
+
+        RouteLimiter(RateLimitProperties.Route route, int maxClients) {
+            this.path = route.getPath();
+            this.method = route.getMethod() == null || route.getMethod().isBlank() ? null : route.getMethod();
+            this.limitHeader = Long.toString(route.getCapacity());
+            this.limiter = new KeyedRateLimiter<>(route.getCapacity(), route.getRefillTokens(),
+                    route.getRefillPeriod().toMillis(), maxClients);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.restapi.filter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.restapi.config.RateLimitProperties;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Overhead por requisição do {@link RateLimitFilter} (alvo: menos de 1 µs).
+ * {@code baseline} chama só a FilterChain vazia; a diferença para os demais é o custo do filtro.
+ * A resposta descarta headers e corpo: os setters do {@code MockHttpServletResponse} custam
+ * mais que o próprio filtro e esconderiam o que se quer medir.
+ * {@code mvn -Pjmh test-compile exec:exec -Djmh.args="RateLimitFilterBenchmark"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RateLimitFilterBenchmark {
+
+    RateLimitFilter filter;
+    FilterChain chain;
+    MockHttpServletRequest admittedRequest;
+    MockHttpServletRequest rejectedRequest;
+    MockHttpServletRequest unmatchedRequest;
+    HttpServletResponse response;
+
+    @Setup
+    public void setUp() throws ServletException, IOException {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(List.of(
+                new RateLimitProperties.Route("/api/v1/users", "POST", 10, 10, Duration.ofMinutes(1)),
+                // Limite altíssimo: a requisição sempre passa
+                new RateLimitProperties.Route("/api/v1/", null, Long.MAX_VALUE / 4, 1_000_000, Duration.ofMillis(1))));
+        filter = new RateLimitFilter(properties);
+        chain = (request, response) -> { };
+
+        admittedRequest = request("GET", "/api/v1/users/42", "10.0.0.1");
+        rejectedRequest = request("POST", "/api/v1/users", "10.0.0.2");
+        unmatchedRequest = request("GET", "/swagger-ui/index.html", "10.0.0.1");
+        response = new DiscardingResponse();
+
+        // Esgota o balde do cliente rejeitado
+        for (int i = 0; i < 10; i++) {
+            filter.doFilter(rejectedRequest, response, chain);
+        }
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    @Benchmark
+    public HttpServletResponse baseline() throws ServletException, IOException {
+        chain.doFilter(admittedRequest, response);
+        return response;
+    }
+
+    @Benchmark
+    public HttpServletResponse admitted() throws ServletException, IOException {
+        filter.doFilter(admittedRequest, response, chain);
+        return response;
+    }
+
+    @Benchmark
+    public HttpServletResponse unmatchedRoute() throws ServletException, IOException {
+        filter.doFilter(unmatchedRequest, response, chain);
+        return response;
+    }
+
+    @Benchmark
+    public HttpServletResponse rejected() throws ServletException, IOException {
+        filter.doFilter(rejectedRequest, response, chain);
+        return response;
+    }
+
+    /** Resposta que aceita tudo e não guarda nada, como um container com buffers já alocados. */
+    static final class DiscardingResponse extends HttpServletResponseWrapper {
+        private final ServletOutputStream output = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        };
+
+        DiscardingResponse() {
+            super(new MockHttpServletResponse());
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+        }
+
+        @Override
+        public void setStatus(int sc) {
+        }
+
+        @Override
+        public void setContentType(String type) {
+        }
+
+        @Override
+        public void setCharacterEncoding(String charset) {
+        }
+
+        @Override
+        public void setContentLength(int len) {
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return output;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.restapi.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.restapi.config.RateLimitProperties;
+
+class RateLimitFilterTest {
+
+    private static final String PROXY = "10.0.0.100";
+
+    private final RateLimitFilter filter = new RateLimitFilter(properties());
+
+    private static RateLimitProperties properties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setTrustedProxies(List.of(PROXY));
+        properties.setRoutes(List.of(
+                new RateLimitProperties.Route("/api/v1/users", "POST", 2, 1, Duration.ofMinutes(1)),
+                new RateLimitProperties.Route("/api/v1/", null, 100, 100, Duration.ofSeconds(1))));
+        return properties;
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String remoteAddr) throws Exception {
+        return send(method, uri, remoteAddr, null);
+    }
+
+    private MockHttpServletResponse send(String method, String uri, String remoteAddr, String forwardedFor)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    void shouldRejectWith429AndRetryAfterWhenRouteLimitIsExceeded() throws Exception {
+        assertEquals("1", send("POST", "/api/v1/users", "10.0.0.1").getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertEquals("0", send("POST", "/api/v1/users", "10.0.0.1").getHeader(RateLimitFilter.REMAINING_HEADER));
+
+        MockHttpServletResponse rejected = send("POST", "/api/v1/users", "10.0.0.1");
+        assertEquals(429, rejected.getStatus());
+        assertEquals("2", rejected.getHeader(RateLimitFilter.LIMIT_HEADER));
+        assertEquals("60", rejected.getHeader(RateLimitFilter.RETRY_AFTER_HEADER));
+    }
+
+    @Test
+    void shouldLimitEachClientAndRouteIndependently() throws Exception {
+        send("POST", "/api/v1/users", "10.0.0.2");
+        send("POST", "/api/v1/users", "10.0.0.2");
+        assertEquals(429, send("POST", "/api/v1/users", "10.0.0.2").getStatus());
+
+        // Outro cliente e outra rota não são afetados
+        assertEquals(200, send("POST", "/api/v1/users", "10.0.0.3").getStatus());
+        MockHttpServletResponse get = send("GET", "/api/v1/users/1", "10.0.0.2");
+        assertEquals(200, get.getStatus());
+        assertEquals("100", get.getHeader(RateLimitFilter.LIMIT_HEADER));
+    }
+
+    @Test
+    void shouldNotKeyOnHeadersTheClientControls() throws Exception {
+        // Um X-API-Key novo a cada requisição não vale um balde novo
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/users");
+            request.setRemoteAddr("10.0.0.4");
+            request.addHeader("X-API-Key", "key-" + i);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(i < 2 ? 200 : 429, response.getStatus());
+        }
+    }
+
+    @Test
+    void shouldIgnoreForwardedForFromUntrustedPeers() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = send("POST", "/api/v1/users", "10.0.0.5", "203.0.113." + i);
+            assertEquals(i < 2 ? 200 : 429, response.getStatus());
+        }
+    }
+
+    @Test
+    void shouldKeyOnTheForwardedClientBehindATrustedProxy() throws Exception {
+        send("POST", "/api/v1/users", PROXY, "203.0.113.10");
+        send("POST", "/api/v1/users", PROXY, "203.0.113.10");
+        assertEquals(429, send("POST", "/api/v1/users", PROXY, "203.0.113.10").getStatus());
+
+        // Outro cliente atrás do mesmo proxy tem o seu balde
+        assertEquals(200, send("POST", "/api/v1/users", PROXY, "203.0.113.11").getStatus());
+    }
+
+    @Test
+    void shouldSkipForgedHopsLeftOfTheLastUntrustedAddress() throws Exception {
+        // O cliente prefixa endereços inventados; o proxy acrescenta o IP real à direita
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletResponse response = send("POST", "/api/v1/users", PROXY,
+                    "198.51.100." + i + ", 203.0.113.20, " + PROXY);
+            assertEquals(i < 2 ? 200 : 429, response.getStatus());
+        }
+    }
+
+    @Test
+    void shouldIgnoreUnconfiguredRoutes() throws Exception {
+        MockHttpServletResponse response = send("GET", "/swagger-ui/index.html", "10.0.0.1");
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(RateLimitFilter.LIMIT_HEADER));
+    }
+}